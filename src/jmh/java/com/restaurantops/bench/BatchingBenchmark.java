@@ -0,0 +1,81 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.core.BatchSettings;
+import com.restaurantops.core.DispatchThread;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.scheduling.DispatchPolicy;
+import com.restaurantops.scheduling.DispatchQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end throughput under a burst arrival: a burst of orders is queued
+ * at once and the invocation ends when the last of them has been cooked.
+ * The dispatcher and station workers run with the given batch size;
+ * {@code batchSize=1} is the unbatched baseline. Scores are orders/ms.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class BatchingBenchmark {
+
+    private static final int BURST = 256;
+
+    @Param({"1", "16", "64"})
+    public int batchSize;
+
+    BenchFixture fixture;
+    DispatchQueue queue;
+    Thread dispatcher;
+
+    private final AtomicLong finished = new AtomicLong();
+    private long expected;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchFixture fixture) {
+        this.fixture = fixture;
+        fixture.orderTracker.addSyncListener(o -> {
+            if (o.getStatus() == OrderStatus.COMPLETED || o.getStatus() == OrderStatus.REJECTED) {
+                finished.incrementAndGet();
+            }
+        });
+
+        BatchSettings batch = new BatchSettings(batchSize, 0);
+        queue = new DispatchQueue(DispatchPolicy.fromSystemProperty().create(fixture.router));
+        fixture.router.setBatchSettings(batch);
+        fixture.router.startAllStations();
+
+        dispatcher = new Thread(new DispatchThread(queue, fixture.router, fixture.logger, batch), "Bench-Dispatch");
+        dispatcher.start();
+    }
+
+    // Bills only grow; the fixture resets stock and the log
+    @Setup(Level.Iteration)
+    public void reset() {
+        fixture.billingService.clearBills();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        dispatcher.interrupt();
+        dispatcher.join();
+        fixture.router.stopAllStations();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void burst(BenchFixture.Orders orders) {
+        expected += BURST;
+        for (int i = 0; i < BURST; i++) {
+            queue.put(orders.next());
+        }
+        while (finished.get() < expected) Thread.onSpinWait();
+    }
+}
@@ -0,0 +1,108 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.billing.BillingService;
+import com.restaurantops.inventory.InventoryService;
+import com.restaurantops.model.MenuItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.service.KitchenRouterService;
+import com.restaurantops.service.MenuService;
+import com.restaurantops.service.RecipeService;
+import com.restaurantops.tracking.OrderTracker;
+import com.restaurantops.util.LoggerService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wires the backend services the same way RestaurantEngine does, without
+ * starting any of the engine's background threads. Stock is effectively
+ * unlimited and station prep time is switched off so benchmarks measure
+ * framework overhead only.
+ *
+ * Benchmarks take the fixture as their shared state and draw orders from
+ * a per-thread {@link Orders} cursor. Stock and the log are reset before
+ * every iteration.
+ */
+@State(Scope.Benchmark)
+public class BenchFixture {
+
+    static final int TABLES = 16;
+    static final int ORDER_POOL = 1024;
+    private static final int STOCK = 100_000_000;
+    private static final long NEVER_EXPIRES = Long.MAX_VALUE;
+
+    final LoggerService logger = new LoggerService();
+    final RecipeService recipeService = new RecipeService();
+    final MenuService menuService = new MenuService(recipeService);
+    final InventoryService inventoryService = new InventoryService(recipeService, logger);
+    final BillingService billingService = new BillingService(logger);
+    final OrderTracker orderTracker = new OrderTracker();
+    final KitchenRouterService router;
+    final List<MenuItem> menu;
+
+    public BenchFixture() {
+        menu = menuService.getAllItems();
+        inventoryService.compileMenu(menu);
+        restock();
+        router = new KitchenRouterService(inventoryService, billingService, orderTracker, logger);
+        router.setPrepTimeEnabled(false);
+        router.rebuildRoutes(menu);
+    }
+
+    // Stock and the log only grow, so start each iteration fresh
+    @Setup(Level.Iteration)
+    public void reset() {
+        restock();
+        logger.clear();
+    }
+
+    void restock() {
+        Set<String> ingredients = new HashSet<>();
+        for (MenuItem m : menu) {
+            if (m.getRecipe() != null) ingredients.addAll(m.getRecipe().getIngredients().keySet());
+        }
+        for (String ingredient : ingredients) {
+            inventoryService.addItem(ingredient, STOCK, NEVER_EXPIRES);
+        }
+    }
+
+    /** Builds a reusable pool of orders spread over every menu item and table. */
+    Order[] orders(int count) {
+        Order[] out = new Order[count];
+        for (int i = 0; i < count; i++) {
+            out[i] = new Order(1 + i % TABLES, menu.get(i % menu.size()), 1);
+        }
+        return out;
+    }
+
+    /**
+     * A thread's own pool of orders, handed out round-robin. {@link #pinned}
+     * is one dish per thread, spread so threads get different dishes.
+     */
+    @State(Scope.Thread)
+    public static class Orders {
+        private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+
+        Order[] pool;
+        Order pinned;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchFixture fixture) {
+            pool = fixture.orders(ORDER_POOL);
+            pinned = pool[THREAD_INDEX.getAndIncrement() % fixture.menu.size()];
+        }
+
+        Order next() {
+            Order o = pool[next];
+            next = (next + 1) & (pool.length - 1);
+            return o;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.model.Bill;
+import com.restaurantops.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BillingService.addOrderToBill. Every table's bill and line is created up
+ * front so concurrent callers only update existing lines. Each call records
+ * a billing event in the fixture's log, which is part of the measured cost.
+ *
+ * The {@code billing} group adds orders from three threads while a fourth
+ * reads every table's running total, as the dashboard and billing panel do.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BillingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Bills {
+        @Setup(Level.Trial)
+        public void setUp(BenchFixture fixture) {
+            for (Order o : fixture.orders(BenchFixture.TABLES * fixture.menu.size())) {
+                fixture.billingService.addOrderToBill(o);
+            }
+        }
+    }
+
+    @Benchmark
+    public void addOrderToBill(BenchFixture fixture, Bills bills, BenchFixture.Orders orders) {
+        fixture.billingService.addOrderToBill(orders.next());
+    }
+
+    @Benchmark
+    @Group("billing")
+    @GroupThreads(3)
+    public void billingAdd(BenchFixture fixture, Bills bills, BenchFixture.Orders orders) {
+        fixture.billingService.addOrderToBill(orders.next());
+    }
+
+    @Benchmark
+    @Group("billing")
+    @GroupThreads(1)
+    public double billingTotals(BenchFixture fixture, Bills bills) {
+        double sum = 0;
+        for (Bill bill : fixture.billingService.getAllBills().values()) sum += bill.getTotalAmount();
+        return sum;
+    }
+}
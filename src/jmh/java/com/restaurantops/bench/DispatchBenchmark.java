@@ -0,0 +1,50 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.model.Order;
+import com.restaurantops.scheduling.DispatchPolicy;
+import com.restaurantops.scheduling.DispatchQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One turn of DispatchThread's loop body (take, log, route) with every
+ * producer thread also acting as a dispatcher, so the measured cost includes
+ * contention on the shared dispatch queue. Stations run with prep time
+ * switched off and drain what is routed to them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Dispatch {
+        BenchFixture fixture;
+        DispatchQueue queue;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchFixture fixture) {
+            this.fixture = fixture;
+            queue = new DispatchQueue(DispatchPolicy.fromSystemProperty().create(fixture.router));
+            fixture.router.startAllStations();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.router.stopAllStations();
+        }
+    }
+
+    @Benchmark
+    public void takeAndRoute(BenchFixture fixture, Dispatch dispatch, BenchFixture.Orders orders)
+            throws InterruptedException {
+        dispatch.queue.put(orders.next());
+
+        Order order = dispatch.queue.take();
+        fixture.logger.log("[DISPATCH] Order#" + order.getOrderId() + " dispatched");
+        fixture.router.route(order);
+    }
+}
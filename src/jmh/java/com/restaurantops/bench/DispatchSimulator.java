@@ -0,0 +1,159 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.model.MenuItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
+import com.restaurantops.scheduling.DispatchPolicy;
+import com.restaurantops.scheduling.SchedulingPolicy;
+import com.restaurantops.service.KitchenRouterService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discrete-event simulation of a service under load: orders arrive as a
+ * Poisson stream, wait in their station's queue ranked by the policy under
+ * test, and are cooked by that station's cooks for a per-unit time scaled
+ * by quantity. Runs on a virtual clock, so a busy evening simulates in
+ * milliseconds and every policy sees the same arrivals.
+ *
+ * A fifth of the orders come from party tables 1-3 with quantities of
+ * 4-8; the rest are single items from tables 4-16. Under quantity-first
+ * scheduling the single items starve. Arrivals are paced so the busiest
+ * station runs at the requested utilisation.
+ */
+final class DispatchSimulator {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final List<MenuItem> menu;
+    private final KitchenRouterService router;
+    private final Map<OrderCategory, Long> unitNanos = new EnumMap<>(OrderCategory.class);
+    private final Map<OrderCategory, Integer> cooks = new EnumMap<>(OrderCategory.class);
+
+    DispatchSimulator(BenchFixture fixture) {
+        this.menu = fixture.menu;
+        this.router = fixture.router;
+        unitNanos.put(OrderCategory.GRILL, 1500 * MS);
+        unitNanos.put(OrderCategory.DESSERT, 2000 * MS);
+        unitNanos.put(OrderCategory.BEVERAGE, 700 * MS);
+        unitNanos.put(OrderCategory.UNKNOWN, 1500 * MS);
+        cooks.put(OrderCategory.GRILL, 2);
+        cooks.put(OrderCategory.DESSERT, 1);
+        cooks.put(OrderCategory.BEVERAGE, 4);
+        cooks.put(OrderCategory.UNKNOWN, 1);
+    }
+
+    Result run(DispatchPolicy policy, int orderCount, double utilisation, long seed) {
+        Random rnd = new Random(seed);
+        Order[] orders = generate(orderCount, rnd);
+        long meanGap = meanInterarrival(orders, utilisation);
+
+        Map<OrderCategory, Station> stations = new EnumMap<>(OrderCategory.class);
+        for (OrderCategory c : OrderCategory.values()) {
+            stations.put(c, new Station(policy.create(this::service), cooks.get(c)));
+        }
+
+        // Events: arrivals and completions, ordered by virtual time
+        PriorityQueue<long[]> events = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        long t = 0;
+        for (int i = 0; i < orders.length; i++) {
+            t += (long) (-Math.log(1 - rnd.nextDouble()) * meanGap);
+            orders[i].setPlacedNanos(t);
+            events.add(new long[]{t, i, 0});
+        }
+
+        long[] waits = new long[orders.length];
+        List<Long> smallWaits = new ArrayList<>();
+        Map<Order, Integer> index = new IdentityHashMap<>();
+        for (int i = 0; i < orders.length; i++) index.put(orders[i], i);
+
+        while (!events.isEmpty()) {
+            long[] e = events.poll();
+            long now = e[0];
+            Order o = orders[(int) e[1]];
+            Station st = stations.get(o.getCategory());
+
+            if (e[2] == 0) {
+                st.queue.add(o);
+            } else {
+                st.busy--;
+            }
+
+            while (st.busy < st.cooks && st.queue.size() > 0) {
+                Order next = st.queue.poll();
+                int idx = index.get(next);
+                waits[idx] = now - next.getPlacedNanos();
+                if (next.getQuantity() == 1) smallWaits.add(waits[idx]);
+                st.busy++;
+                events.add(new long[]{now + service(next), idx, 1});
+            }
+        }
+
+        long[] small = smallWaits.stream().mapToLong(Long::longValue).toArray();
+        return new Result(policy.name(), percentile(waits, 50), percentile(waits, 99), percentile(small, 99));
+    }
+
+    private Order[] generate(int count, Random rnd) {
+        Order[] out = new Order[count];
+        for (int i = 0; i < count; i++) {
+            MenuItem item = menu.get(rnd.nextInt(menu.size()));
+            boolean party = rnd.nextInt(5) == 0;
+            int table = party ? 1 + rnd.nextInt(3) : 4 + rnd.nextInt(13);
+            int qty = party ? 4 + rnd.nextInt(5) : 1;
+            out[i] = new Order(table, item, qty);
+            out[i].setCategory(router.categoryFor(item));
+        }
+        return out;
+    }
+
+    // Arrival gap that keeps the busiest station at the requested utilisation
+    private long meanInterarrival(Order[] orders, double utilisation) {
+        Map<OrderCategory, Double> work = new EnumMap<>(OrderCategory.class);
+        for (Order o : orders) work.merge(o.getCategory(), (double) service(o), Double::sum);
+
+        double busiest = 0;
+        for (Map.Entry<OrderCategory, Double> e : work.entrySet()) {
+            busiest = Math.max(busiest, e.getValue() / cooks.get(e.getKey()));
+        }
+        return (long) (busiest / orders.length / utilisation);
+    }
+
+    private long service(Order o) {
+        return unitNanos.get(o.getCategory()) * o.getQuantity();
+    }
+
+    private static long percentile(long[] values, int p) {
+        if (values.length == 0) return 0;
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int i = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, i)];
+    }
+
+    private static final class Station {
+        final SchedulingPolicy queue;
+        final int cooks;
+        int busy;
+
+        Station(SchedulingPolicy queue, int cooks) {
+            this.queue = queue;
+            this.cooks = cooks;
+        }
+    }
+
+    record Result(String policy, long p50Nanos, long p99Nanos, long p99SingleItemNanos) {
+        @Override
+        public String toString() {
+            return String.format("%-14s p50=%7.1fs  p99=%7.1fs  p99(single items)=%7.1fs", policy,
+                    p50Nanos / 1e9, p99Nanos / 1e9, p99SingleItemNanos / 1e9);
+        }
+    }
+}
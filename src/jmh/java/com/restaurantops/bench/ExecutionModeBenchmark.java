@@ -0,0 +1,117 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.billing.BillingService;
+import com.restaurantops.core.ExecutionMode;
+import com.restaurantops.inventory.InventoryService;
+import com.restaurantops.kitchen.AbstractKitchenStation;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.tracking.OrderListener;
+import com.restaurantops.tracking.OrderTracker;
+import com.restaurantops.util.LoggerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform vs. virtual station workers with {@code inFlight} orders cooking
+ * at once. Each operation enqueues {@code inFlight} orders on a station
+ * with that many workers and waits for all of them to finish; cooking is a
+ * short sleep so the station is I/O-bound the way the real ones are.
+ * Peak thread count and heap in use are printed at the end of each trial
+ * as the footprint comparison.
+ *
+ * Run with: java -cp target/benchmarks.jar org.openjdk.jmh.Main ExecutionModeBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final long COOK_MILLIS = 20;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ExecutionMode mode;
+
+    @Param({"1000", "4000"})
+    public int inFlight;
+
+    private BenchFixture fixture;
+    private OrderTracker tracker;
+    private SimulatedStation station;
+    private Order[] orders;
+    private volatile CountDownLatch done;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchFixture fixture) {
+        this.fixture = fixture;
+        tracker = new OrderTracker();
+        tracker.addSyncListener(new OrderListener() {
+            @Override
+            public void onOrderUpdated(Order order) {
+                OrderStatus s = order.getStatus();
+                if (s == OrderStatus.COMPLETED || s == OrderStatus.REJECTED) done.countDown();
+            }
+        });
+
+        station = new SimulatedStation(fixture.inventoryService, fixture.billingService,
+                tracker, fixture.logger, inFlight);
+        station.setExecutionMode(mode);
+        station.start();
+
+        orders = fixture.orders(inFlight);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapMb = memory.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+
+        station.stop();
+        System.out.printf("%n[footprint] mode=%s inFlight=%d peakPlatformThreads=%d heapUsed=%dMB%n",
+                mode, inFlight, threads.getPeakThreadCount(), heapMb);
+    }
+
+    @Benchmark
+    public void cookBatch() throws InterruptedException {
+        done = new CountDownLatch(orders.length);
+        for (Order o : orders) {
+            station.acceptOrder(o);
+        }
+        done.await();
+    }
+
+    static final class SimulatedStation extends AbstractKitchenStation {
+
+        SimulatedStation(InventoryService inventoryService,
+                         BillingService billingService,
+                         OrderTracker orderTracker,
+                         LoggerService logger,
+                         int workerCount) {
+            super(inventoryService, billingService, orderTracker, logger, workerCount);
+        }
+
+        @Override
+        protected void processOrder(Order order) throws InterruptedException {
+            simulatePrepTime(COOK_MILLIS);
+        }
+
+        @Override
+        protected long nominalPrepMillis() {
+            return COOK_MILLIS;
+        }
+
+        @Override
+        public String getName() {
+            return "BenchStation";
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.restaurantops.bench;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the order hot-path benchmarks at 1, 4, 16 and 64 producer threads.
+ * Benchmarks that drive their own concurrency (e.g. ExecutionModeBenchmark)
+ * are not part of the default set; run them through org.openjdk.jmh.Main.
+ *
+ * Usage: java -jar target/benchmarks.jar [include-regex]
+ */
+public class HotPathBenchmarkRunner {
+
+    private static final int[] PRODUCER_THREADS = {1, 4, 16, 64};
+
+    private static final String HOT_PATH =
+            "(OrderService|Dispatch|Router|Inventory|Billing)Benchmark";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : HOT_PATH;
+
+        for (int threads : PRODUCER_THREADS) {
+            Options opts = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .build();
+            new Runner(opts).run();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InventoryService.reserveIngredients across every menu recipe. Stock is
+ * topped up between iterations so reservations never fail for lack of it.
+ * {@code reserveSameDish} pins each thread to one dish, so threads whose
+ * dishes share no ingredients show how far reservation scales without
+ * contention. {@code reserveByName} reserves the same recipes through the
+ * name-keyed path (string normalization and map lookups per ingredient)
+ * for comparison with the compiled, id-indexed path the others use.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryBenchmark {
+
+    @Benchmark
+    public boolean reserveIngredients(BenchFixture fixture, BenchFixture.Orders orders) {
+        return fixture.inventoryService.reserveIngredients(orders.next());
+    }
+
+    @Benchmark
+    public boolean reserveByName(BenchFixture fixture, BenchFixture.Orders orders) {
+        Order o = orders.next();
+        return fixture.inventoryService.reserveRecipe(o.getItem().getRecipe(), o.getQuantity());
+    }
+
+    @Benchmark
+    public boolean reserveSameDish(BenchFixture fixture, BenchFixture.Orders orders) {
+        return fixture.inventoryService.reserveIngredients(orders.pinned);
+    }
+}
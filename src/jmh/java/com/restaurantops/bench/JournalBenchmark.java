@@ -0,0 +1,95 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.journal.Journal;
+import com.restaurantops.journal.JournalSnapshot;
+import com.restaurantops.model.InventoryItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Journal append cost on the order hot path, and recovery time for a
+ * service day of {@code events} records (target: 100k in under a second).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    @Param({"100000"})
+    public int events;
+
+    private Path appendDir;
+    private Path replayDir;
+    private Journal journal;
+    private String[] keys;
+    private InventoryItem[] items;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchFixture fixture) throws IOException {
+        keys = new String[]{"dough", "tomato_sauce", "cheese"};
+        items = new InventoryItem[keys.length];
+        for (int i = 0; i < keys.length; i++) items[i] = fixture.inventoryService.getInventory().get(keys[i]);
+
+        appendDir = Files.createTempDirectory("journal-append");
+        journal = Journal.open(appendDir, 0, null);
+
+        // A day's worth of records: each order is placed, reserved, moves through three statuses and is billed.
+        // Every order is new, so recovery rebuilds one entry per order placed that day.
+        replayDir = Files.createTempDirectory("journal-replay");
+        try (Journal day = Journal.open(replayDir, 0, null)) {
+            for (int i = 0; i < events; i += 6) {
+                Order o = new Order(1 + (i / 6) % BenchFixture.TABLES, fixture.menu.get((i / 6) % fixture.menu.size()), 1);
+                day.orderPlaced(o);
+                day.stockLevels(keys, items, keys.length);
+                o.setStatus(OrderStatus.ACCEPTED);
+                day.orderStatus(o);
+                o.setStatus(OrderStatus.IN_PROGRESS);
+                day.orderStatus(o);
+                o.setStatus(OrderStatus.COMPLETED);
+                day.orderStatus(o);
+                day.billLine(o.getTableNumber(), o.getOrderId());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        delete(appendDir);
+        delete(replayDir);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void appendOrderPlaced(BenchFixture.Orders orders) {
+        journal.orderPlaced(orders.next());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void appendStockLevels() {
+        journal.stockLevels(keys, items, keys.length);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public JournalSnapshot recoverDay() throws IOException {
+        return Journal.recover(replayDir, null);
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
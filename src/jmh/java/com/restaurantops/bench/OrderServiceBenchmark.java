@@ -0,0 +1,38 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.scheduling.DispatchPolicy;
+import com.restaurantops.scheduling.DispatchQueue;
+import com.restaurantops.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.placeOrder: order-list append, dispatch-queue insert and
+ * engine activity notification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        DispatchQueue queue;
+        OrderService orderService;
+
+        // The queue and order list only grow, so start each iteration empty.
+        @Setup(Level.Iteration)
+        public void reset(BenchFixture fixture) {
+            queue = new DispatchQueue(DispatchPolicy.fromSystemProperty().create(fixture.router));
+            orderService = new OrderService(queue, fixture.logger);
+        }
+    }
+
+    @Benchmark
+    public void placeOrder(Service service, BenchFixture.Orders orders) {
+        service.orderService.placeOrder(orders.next());
+    }
+}
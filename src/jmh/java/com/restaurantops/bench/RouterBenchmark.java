@@ -0,0 +1,43 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KitchenRouterService.route: routing-table lookup plus hand-off to the
+ * station queue. Categories are reset before each call so every order is
+ * resolved from scratch, as it is for a freshly placed order.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Stations {
+        BenchFixture fixture;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchFixture fixture) {
+            this.fixture = fixture;
+            fixture.router.startAllStations();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.router.stopAllStations();
+        }
+    }
+
+    @Benchmark
+    public void route(BenchFixture fixture, Stations stations, BenchFixture.Orders orders) {
+        Order o = orders.next();
+        o.setCategory(OrderCategory.UNKNOWN);
+        fixture.router.route(o);
+    }
+}
@@ -0,0 +1,52 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.scheduling.DispatchPolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs DispatchSimulator once per operation for each scheduling policy.
+ * The score is simulation cost (dominated by policy add/poll); the ticket
+ * wait percentiles the policy produced are printed at the end of each trial.
+ *
+ * Run with: java -cp target/benchmarks.jar org.openjdk.jmh.Main SchedulingPolicyBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulingPolicyBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"FIFO", "QUANTITY", "AGING", "TABLE_FAIR", "SHORTEST_COOK", "DEADLINE"})
+    public DispatchPolicy policy;
+
+    @Param({"20000"})
+    public int orders;
+
+    @Param({"0.9", "1.05"})
+    public double utilisation;
+
+    private DispatchSimulator simulator;
+    private DispatchSimulator.Result last;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchFixture fixture) {
+        simulator = new DispatchSimulator(fixture);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[ticket wait] %s%n", last);
+    }
+
+    @Benchmark
+    public DispatchSimulator.Result simulate() {
+        last = simulator.run(policy, orders, utilisation, SEED);
+        return last;
+    }
+}
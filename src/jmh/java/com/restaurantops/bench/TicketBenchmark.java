@@ -0,0 +1,50 @@
+package com.restaurantops.bench;
+
+import com.restaurantops.model.Order;
+import com.restaurantops.model.Ticket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reserving a five-dish table order: {@code perItem} reserves each dish as
+ * its own order, {@code perTicket} reserves the same dishes as one ticket,
+ * claiming each shared ingredient once. Stock is topped up between iterations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketBenchmark {
+
+    private static final int DISHES = 5;
+
+    @State(Scope.Thread)
+    public static class Table {
+        Ticket ticket;
+        List<Order> parts;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchFixture fixture) {
+            ticket = new Ticket(1);
+            for (int i = 0; i < DISHES; i++) {
+                ticket.add(fixture.menu.get(i % fixture.menu.size()), 1);
+            }
+            parts = ticket.seal();
+        }
+    }
+
+    @Benchmark
+    public boolean perItem(BenchFixture fixture, Table table) {
+        boolean ok = true;
+        for (Order o : table.parts) ok &= fixture.inventoryService.reserveIngredients(o);
+        return ok;
+    }
+
+    @Benchmark
+    public boolean perTicket(BenchFixture fixture, Table table) {
+        return fixture.inventoryService.reserveTicket(table.ticket);
+    }
+}
@@ -1,15 +1,47 @@
 package com.restaurantops.billing;
 
+import com.restaurantops.journal.Journal;
 import com.restaurantops.model.Bill;
 import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.Ticket;
 import com.restaurantops.billing.payment.PaymentMethod;
+import com.restaurantops.tracking.DashboardMetrics;
+import com.restaurantops.util.LogEvent;
+import com.restaurantops.util.LoggerService;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Bills by table. The store is a concurrent map and each bill locks only
+ * itself, so billing is striped per table: workers finishing orders for
+ * different tables proceed in parallel, and readers iterate safely while
+ * bills are being added to.
+ */
 public class BillingService {
 
-    private final Map<Integer, Bill> bills = new HashMap<>();
+    private final Map<Integer, Bill> bills = new ConcurrentHashMap<>();
+    private final LoggerService logger;
+    private DashboardMetrics metrics;
+    private Journal journal;
+
+    public BillingService(LoggerService logger) {
+        this.logger = logger;
+    }
+
+    public void setMetrics(DashboardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
 
     public Bill getOrCreateBill(int tableNumber) {
         return bills.computeIfAbsent(tableNumber, Bill::new);
@@ -18,8 +50,40 @@ public class BillingService {
     public void addOrderToBill(Order order) {
         Bill bill = getOrCreateBill(order.getTableNumber());
         bill.addOrder(order);
-        System.out.println("[BILLING] Added Order#" + order.getOrderId() +
-                " to table " + order.getTableNumber());
+        if (journal != null) journal.billLine(order.getTableNumber(), order.getOrderId());
+        logger.log(LogEvent.ORDER_BILLED, order.getOrderId(), order.getTableNumber());
+    }
+
+    /** Bills a station's micro-batch, taking each table's bill lock once. */
+    public void addOrdersToBill(List<Order> orders) {
+        if (orders.size() == 1) {
+            addOrderToBill(orders.get(0));
+            return;
+        }
+        Map<Integer, List<Order>> byTable = new LinkedHashMap<>();
+        for (Order o : orders) byTable.computeIfAbsent(o.getTableNumber(), t -> new ArrayList<>()).add(o);
+
+        byTable.forEach((table, tableOrders) -> {
+            getOrCreateBill(table).addOrders(tableOrders);
+            if (journal != null) {
+                for (Order o : tableOrders) journal.billLine(table, o.getOrderId());
+            }
+            logger.log(LogEvent.ORDERS_BILLED, table, tableOrders.size());
+        });
+    }
+
+    /** Bills every cooked part of a finished ticket with one bill lookup and lock. */
+    public void addTicketToBill(Ticket ticket) {
+        List<Order> parts = new ArrayList<>();
+        for (Order o : ticket.getParts()) {
+            if (o.getStatus() == OrderStatus.COMPLETED) parts.add(o);
+        }
+        Bill bill = getOrCreateBill(ticket.getTableNumber());
+        bill.addOrders(parts);
+        if (journal != null) {
+            for (Order o : parts) journal.billLine(o.getTableNumber(), o.getOrderId());
+        }
+        logger.log(LogEvent.TICKET_BILLED, ticket.getTicketId(), ticket.getTableNumber());
     }
 
     public Bill getBill(int tableNumber) {
@@ -34,10 +98,39 @@ public class BillingService {
         bills.values().forEach(System.out::println);
     }
 
+    /** Live, read-only view; iteration is safe while bills are being updated. */
     public Map<Integer, Bill> getAllBills() {
-        return bills;
+        return Collections.unmodifiableMap(bills);
     }
 
+    /** A consistent snapshot of every bill, by table number. */
+    public List<Bill.Snapshot> snapshotAll() {
+        List<Bill.Snapshot> all = new ArrayList<>(bills.size());
+        for (Bill bill : bills.values()) all.add(bill.snapshot());
+        all.sort(Comparator.comparingInt(Bill.Snapshot::tableNumber));
+        return all;
+    }
+
+    /** Drops every bill, e.g. to start a new day. */
+    public void clearBills() {
+        bills.clear();
+    }
+
+
+    /** Settles the bill and records the revenue once, however many times it is called. */
+    public boolean markPaid(Bill bill) {
+        if (!bill.markPaid()) return false;
+        if (journal != null) journal.billPaid(bill.getTableNumber());
+        if (metrics != null) metrics.onBillPaid(bill.getTotalAmount());
+        return true;
+    }
+
+    /** Rebuilds a journaled bill from its orders. */
+    public void restoreBill(int tableNumber, List<Order> orders, boolean paid) {
+        Bill bill = getOrCreateBill(tableNumber);
+        bill.addOrders(orders);
+        if (paid) markPaid(bill);
+    }
 
     public void processPayment(int tableNumber, PaymentMethod method) {
         Bill bill = bills.get(tableNumber);
@@ -56,7 +149,7 @@ public class BillingService {
         boolean success = method.process(amount);
 
         if (success) {
-            bill.markPaid();
+            markPaid(bill);
             System.out.println("Payment SUCCESSFUL via " + method.getMethodName());
             System.out.println(bill);
         } else {
@@ -0,0 +1,71 @@
+package com.restaurantops.core;
+
+import com.restaurantops.model.Order;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batching for the dispatcher and station workers. A consumer waits
+ * for one order, drains whatever else is already queued up to
+ * {@code maxBatch}, then lingers up to {@code lingerNanos} for stragglers.
+ * A max batch of 1 (the default) keeps the one-order-at-a-time behaviour.
+ *
+ * -Drestaurantops.batch.size=N          orders per batch
+ * -Drestaurantops.batch.lingerMicros=N  extra wait for a batch to fill
+ */
+public record BatchSettings(int maxBatch, long lingerNanos) {
+
+    public static final String SIZE_PROPERTY = "restaurantops.batch.size";
+    public static final String LINGER_PROPERTY = "restaurantops.batch.lingerMicros";
+
+    public static final BatchSettings DISABLED = new BatchSettings(1, 0);
+
+    public BatchSettings {
+        maxBatch = Math.max(1, maxBatch);
+        lingerNanos = Math.max(0, lingerNanos);
+    }
+
+    public static BatchSettings fromSystemProperties() {
+        return new BatchSettings(
+                Integer.getInteger(SIZE_PROPERTY, 1),
+                TimeUnit.MICROSECONDS.toNanos(Long.getLong(LINGER_PROPERTY, 0L)));
+    }
+
+    public boolean isEnabled() {
+        return maxBatch > 1;
+    }
+
+    /** Blocks for the first order, then fills {@code out} up to the batch size. */
+    public int takeBatch(BlockingQueue<Order> queue, List<Order> out) throws InterruptedException {
+        out.add(queue.take());
+        return 1 + fill(queue, out);
+    }
+
+    /** Like {@link #takeBatch} but gives up after {@code timeout}; returns 0 if nothing arrived. */
+    public int pollBatch(BlockingQueue<Order> queue, List<Order> out, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        Order first = queue.poll(timeout, unit);
+        if (first == null) return 0;
+        out.add(first);
+        return 1 + fill(queue, out);
+    }
+
+    private int fill(BlockingQueue<Order> queue, List<Order> out) throws InterruptedException {
+        int added = queue.drainTo(out, maxBatch - 1);
+        if (lingerNanos == 0) return added;
+
+        long deadline = System.nanoTime() + lingerNanos;
+        while (added < maxBatch - 1) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) break;
+            Order next = queue.poll(left, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            out.add(next);
+            added++;
+            added += queue.drainTo(out, maxBatch - 1 - added);
+        }
+        return added;
+    }
+}
@@ -2,34 +2,50 @@ package com.restaurantops.core;
 
 import com.restaurantops.model.Order;
 import com.restaurantops.service.KitchenRouterService;
+import com.restaurantops.util.LogEvent;
 import com.restaurantops.util.LoggerService;
 
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
 
 public class DispatchThread implements Runnable {
 
-    private final PriorityBlockingQueue<Order> queue;
+    private final BlockingQueue<Order> queue;
     private final KitchenRouterService router;
     private final LoggerService logger;
+    private final BatchSettings batch;
 
-    public DispatchThread(PriorityBlockingQueue<Order> queue,
+    public DispatchThread(BlockingQueue<Order> queue,
                           KitchenRouterService router,
                           LoggerService logger) {
+        this(queue, router, logger, BatchSettings.DISABLED);
+    }
+
+    public DispatchThread(BlockingQueue<Order> queue,
+                          KitchenRouterService router,
+                          LoggerService logger,
+                          BatchSettings batch) {
 
         this.queue = queue;
         this.router = router;
         this.logger = logger;
+        this.batch = batch;
     }
 
     @Override
     public void run() {
+        if (batch.isEnabled()) {
+            runBatched();
+            return;
+        }
         try {
             while (!Thread.interrupted()) {
 
                 // Blocking until an order is ready
                 Order order = queue.take();
 
-                logger.log("[DISPATCH] Order#" + order.getOrderId() + " dispatched");
+                logger.log(LogEvent.ORDER_DISPATCHED, order.getOrderId());
 
                 // Forward to the correct kitchen station
                 router.route(order);
@@ -39,4 +55,19 @@ public class DispatchThread implements Runnable {
             // Normal shutdown
         }
     }
+
+    // Drain up to maxBatch orders per wakeup; one log line and one router call per batch
+    private void runBatched() {
+        List<Order> orders = new ArrayList<>(batch.maxBatch());
+        try {
+            while (!Thread.interrupted()) {
+                orders.clear();
+                batch.takeBatch(queue, orders);
+                logger.log(LogEvent.BATCH_DISPATCHED, orders.get(0).getOrderId(), orders.size());
+                router.routeBatch(orders);
+            }
+        } catch (InterruptedException ignored) {
+            // Normal shutdown
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package com.restaurantops.core;
+
+import com.restaurantops.history.ArchivedOrder;
+import com.restaurantops.history.OrderArchive;
+import com.restaurantops.journal.Journal;
+import com.restaurantops.journal.JournalSnapshot;
+import com.restaurantops.model.Bill;
+import com.restaurantops.model.InventoryItem;
+import com.restaurantops.model.MenuItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.Reservation;
+import com.restaurantops.model.Table;
+import com.restaurantops.model.TableState;
+import com.restaurantops.model.Ticket;
+import com.restaurantops.service.OrderStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves restaurant state between the engine's services and a
+ * {@link JournalSnapshot}: capture for compaction, restore after recovery.
+ */
+final class EngineState {
+
+    private EngineState() {
+    }
+
+    /**
+     * Captures active state, then persists the order archive to
+     * {@code archiveFile}. An order finishing in between is both captured
+     * active and persisted; restore keeps the archived copy.
+     */
+    static JournalSnapshot capture(RestaurantEngine engine, Path archiveFile) throws IOException {
+        JournalSnapshot s = new JournalSnapshot();
+
+        for (Order o : engine.getOrderService().getActiveOrders()) {
+            s.putOrder(o);
+            // A ticket with a part still cooking hasn't been billed yet
+            if (o.getTicket() != null) s.putTicket(o.getTicket());
+        }
+        for (Map.Entry<String, InventoryItem> e : engine.getInventoryService().getInventory().entrySet()) {
+            InventoryItem item = e.getValue();
+            s.stockLevel(e.getKey(), item.getName(), item.getLots());
+        }
+        for (Bill bill : new ArrayList<>(engine.getBillingService().getAllBills().values())) {
+            for (int orderId : bill.getOrderIds()) s.billLine(bill.getTableNumber(), orderId);
+            if (bill.isPaid()) s.billPaid(bill.getTableNumber());
+        }
+        for (Table t : engine.getTableService().listTables()) {
+            s.tableState(t.getTableNumber(), t.getCapacity(), t.getState());
+        }
+        for (Reservation r : engine.getReservationService().getAllReservations()) {
+            s.putReservation(r);
+        }
+
+        OrderArchive.Mark mark = engine.getOrderService().getArchive().persist(archiveFile);
+        s.archived(mark.rows(), mark.bytes());
+        return s;
+    }
+
+    /**
+     * Applies recovered state on top of the freshly initialised services.
+     * Persisted history is loaded first; bills and tickets look up finished
+     * orders there when the snapshot doesn't hold them. Unfinished orders
+     * are reset to NEW and re-queued for the kitchen; those already ACCEPTED
+     * or IN_PROGRESS had their ingredients taken out of the recovered stock
+     * levels, so that stock is released first and the kitchen reserves it
+     * again. Unbilled tickets are rebuilt around their parts, so parts
+     * cooked before the crash are billed with the rest.
+     */
+    static void restore(RestaurantEngine engine, JournalSnapshot s, Path archiveFile) throws IOException {
+        engine.getOrderService().loadArchive(archiveFile,
+                new OrderArchive.Mark(s.getArchiveRows(), s.getArchiveBytes()));
+        OrderArchive archive = engine.getOrderService().getArchive();
+
+        if (!s.getStock().isEmpty()) {
+            for (Map.Entry<String, JournalSnapshot.StockState> e : s.getStock().entrySet()) {
+                JournalSnapshot.StockState st = e.getValue();
+                engine.getInventoryService().restoreItem(e.getKey(), st.name, st.toLots());
+            }
+            engine.getInventoryService().retainItems(s.getStock().keySet());
+        }
+
+        for (Map.Entry<Integer, JournalSnapshot.TableSnapshot> e : s.getTables().entrySet()) {
+            engine.getTableService().restoreTable(e.getKey(), e.getValue().capacity, e.getValue().state);
+        }
+
+        for (JournalSnapshot.ReservationState rs : s.getReservations().values()) {
+            Reservation r = new Reservation(rs.reservationId, rs.tableNumber,
+                    Journal.fromMillis(rs.start), Journal.fromMillis(rs.end));
+            engine.getReservationService().restoreReservation(r);
+            engine.getTableService().getTable(r.getTableNumber())
+                    .filter(t -> t.getState() == TableState.RESERVED)
+                    .ifPresent(t -> t.setReservation(r));
+        }
+
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        for (JournalSnapshot.OrderState os : s.getOrders().values()) {
+            if (archive.contains(os.orderId)) continue;
+            MenuItem item = engine.getMenuService().getById(os.itemId);
+            if (item == null || !item.getName().equals(os.itemName)) {
+                item = new MenuItem(os.itemId, os.itemName, os.price, os.menuCategory, null);
+            }
+            OrderStatus status = OrderStore.isActive(os.status) ? OrderStatus.NEW : os.status;
+            Order order = new Order(os.orderId, os.tableNumber, item, os.quantity,
+                    Journal.fromMillis(os.placedAt), status);
+            order.setCategory(os.category);
+            order.setClosedMillis(os.closedAt);
+            if (os.status == OrderStatus.ACCEPTED || os.status == OrderStatus.IN_PROGRESS) {
+                engine.getInventoryService().releaseIngredients(order);
+            }
+            orders.put(order.getOrderId(), order);
+        }
+
+        Set<Integer> billedIds = new HashSet<>();
+        for (Map.Entry<Integer, JournalSnapshot.BillState> e : s.getBills().entrySet()) {
+            List<Order> billed = new ArrayList<>();
+            for (int id : e.getValue().orderIds) {
+                Order o = lookup(orders, archive, id);
+                if (o != null) billed.add(o);
+            }
+            billedIds.addAll(e.getValue().orderIds);
+            engine.getBillingService().restoreBill(e.getKey(), billed, e.getValue().paid);
+        }
+
+        // Link parts before they are re-queued, so the last one to finish bills the ticket
+        for (JournalSnapshot.TicketState ts : s.getTickets().values()) {
+            List<Order> parts = new ArrayList<>();
+            for (int id : ts.orderIds) {
+                Order o = lookup(orders, archive, id);
+                if (o != null) parts.add(o);
+            }
+            if (parts.isEmpty() || billedIds.containsAll(ts.orderIds)) continue;
+
+            Ticket ticket = Ticket.restore(ts.ticketId, ts.tableNumber, parts);
+            if (ticket.isComplete()) engine.getBillingService().addTicketToBill(ticket);
+        }
+
+        for (Order order : orders.values()) {
+            engine.getOrderService().restoreOrder(order);
+        }
+    }
+
+    private static Order lookup(Map<Integer, Order> orders, OrderArchive archive, int orderId) {
+        Order o = orders.get(orderId);
+        if (o != null) return o;
+        ArchivedOrder a = archive.get(orderId);
+        return a == null ? null : a.toOrder();
+    }
+}
@@ -0,0 +1,28 @@
+package com.restaurantops.core;
+
+/**
+ * How the engine runs its station workers and background monitors.
+ *
+ * PLATFORM - one OS thread per worker/monitor (fixed station pools)
+ * VIRTUAL  - virtual threads; a station's worker count becomes the number
+ *            of orders it may cook concurrently rather than a thread count
+ */
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    public static final String PROPERTY = "restaurantops.threads";
+
+    public Thread newThread(Runnable task, String name) {
+        return switch (this) {
+            case PLATFORM -> new Thread(task, name);
+            case VIRTUAL -> Thread.ofVirtual().name(name).unstarted(task);
+        };
+    }
+
+    /** Reads -Drestaurantops.threads=virtual|platform, defaulting to PLATFORM. */
+    public static ExecutionMode fromSystemProperty() {
+        String v = System.getProperty(PROPERTY, "platform");
+        return "virtual".equalsIgnoreCase(v.trim()) ? VIRTUAL : PLATFORM;
+    }
+}
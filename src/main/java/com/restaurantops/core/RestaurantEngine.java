@@ -3,21 +3,33 @@ package com.restaurantops.core;
 import com.restaurantops.billing.BillingService;
 import com.restaurantops.inventory.DeliveryWorkerThread;
 import com.restaurantops.inventory.InventoryInitializer;
+import com.restaurantops.inventory.MenuAvailability;
 import com.restaurantops.inventory.InventoryMonitorThread;
+import com.restaurantops.inventory.DemandForecaster;
+import com.restaurantops.inventory.ReorderPipeline;
+import com.restaurantops.inventory.ReorderPlanner;
 import com.restaurantops.inventory.InventoryService;
+import com.restaurantops.journal.Journal;
+import com.restaurantops.journal.JournalSnapshot;
 import com.restaurantops.model.MenuItem;
 import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
 import com.restaurantops.model.Waiter;
+import com.restaurantops.scheduling.CookTimeEstimator;
+import com.restaurantops.scheduling.DispatchPolicy;
+import com.restaurantops.scheduling.DispatchQueue;
 import com.restaurantops.service.*;
 import com.restaurantops.staff.Chef;
 import com.restaurantops.staff.StaffService;
 import com.restaurantops.thread.ReservationMonitorThread;
+import com.restaurantops.tracking.DashboardMetrics;
 import com.restaurantops.tracking.OrderTracker;
 import com.restaurantops.util.LoggerService;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 public class RestaurantEngine {
@@ -26,25 +38,31 @@ public class RestaurantEngine {
 
     private final LoggerService logger;
     private final OrderTracker orderTracker;
+    private final DashboardMetrics dashboardMetrics;
     private final RecipeService recipeService;
     private final MenuService menuService;
     private final InventoryService inventoryService;
+    private final MenuAvailability menuAvailability;
     private final BillingService billingService;
     private final ReservationService reservationService;
     private final StaffService staffService;
     private final OrderService orderService;
-    private final PriorityBlockingQueue<Order> priorityQueue;
-    private KitchenRouterService routerService;
+    private final DispatchQueue priorityQueue;
+    private volatile KitchenRouterService routerService;
 
     private DispatchThread dispatchThread;
     private Thread dispatchWorker;
 
     private SupplierService supplierService;
+    private ReorderPlanner reorderPlanner;
+    private ReorderPipeline reorderPipeline;
     private Thread deliveryThread;
+    private Thread reorderThread;
 
     private Thread inventoryThread;
     private Thread reservationThread;
     private Thread idleMonitorThread;
+    private Thread stationScalerThread;
 
     private TableService tableService;
     private WaiterService waiterService;
@@ -52,6 +70,13 @@ public class RestaurantEngine {
     private long lastOrderTime;
     private volatile boolean stationsPaused = false;
     private volatile boolean started = false;
+    private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    private volatile DispatchPolicy dispatchPolicy = DispatchPolicy.fromSystemProperty();
+    private final BatchSettings batchSettings = BatchSettings.fromSystemProperties();
+
+    private volatile Journal journal;
+    private boolean recovered = false;
+    private long journalGeneration = 0;
 
     private RestaurantEngine() {
         logger = new LoggerService();
@@ -60,19 +85,45 @@ public class RestaurantEngine {
 
         menuService = new MenuService(recipeService);
         inventoryService = new InventoryService(recipeService, logger);
-
-        billingService = new BillingService();
+        inventoryService.compileMenu(menuService.getAllItems());
+        menuService.addChangeListener(inventoryService::compileMenu);
+        menuAvailability = new MenuAvailability(inventoryService);
+        inventoryService.setAvailability(menuAvailability);
+        menuAvailability.rebuild(menuService.getAllItems());
+        menuService.addChangeListener(menuAvailability::rebuild);
+        menuService.addChangeListener(this::rebuildRoutes);
+
+        billingService = new BillingService(logger);
         reservationService = new ReservationService();
         staffService = new StaffService(logger);
 
         supplierService = new SupplierService(logger);
-
-        priorityQueue = new PriorityBlockingQueue<>(11, new OrderPriorityComparator());
+        DemandForecaster forecaster = DemandForecaster.fromSystemProperties();
+        inventoryService.setDemandForecaster(forecaster);
+        reorderPlanner = ReorderPlanner.fromSystemProperties(inventoryService, supplierService, forecaster);
+        reorderPipeline = new ReorderPipeline(supplierService, reorderPlanner, logger);
+        inventoryService.setReorderPipeline(reorderPipeline);
+        supplierService.addDeliveryListener(reorderPipeline::onDelivered);
+
+        priorityQueue = new DispatchQueue(dispatchPolicy.create(cookTimes));
         orderService = new OrderService(priorityQueue, logger);
+        orderTracker.addSyncListener(orderService.getStore());
+        orderTracker.addSyncListener(order -> {
+            Journal j = journal;
+            if (j != null) j.orderStatus(order);
+        });
 
         waiterService = new WaiterService(logger);
         tableService = new TableService(reservationService, waiterService, logger);
 
+        dashboardMetrics = new DashboardMetrics();
+        dashboardMetrics.bindActiveOrders(orderService::getActiveOrderCount);
+        tableService.setMetrics(dashboardMetrics);
+        inventoryService.setMetrics(dashboardMetrics);
+        reorderPipeline.setMetrics(dashboardMetrics);
+        billingService.setMetrics(dashboardMetrics);
+        reservationService.setMetrics(dashboardMetrics);
+
         lastOrderTime = System.currentTimeMillis();
     }
 
@@ -81,9 +132,18 @@ public class RestaurantEngine {
     }
 
     public synchronized void start() {
+        start(ExecutionMode.fromSystemProperty());
+    }
+
+    public synchronized void start(ExecutionMode mode) {
         if (started) return;
 
-        logger.log("[ENGINE] Starting...");
+        executionMode = mode;
+        logger.log("[ENGINE] Starting (" + mode + " threads)...");
+        if (batchSettings.isEnabled()) {
+            logger.log("[ENGINE] Batching up to " + batchSettings.maxBatch() + " orders, linger "
+                    + TimeUnit.NANOSECONDS.toMicros(batchSettings.lingerNanos()) + "us");
+        }
 
         List<MenuItem> menuList = menuService.getAllItems();
         InventoryInitializer.syncMenuToInventory(menuList, inventoryService);
@@ -106,6 +166,15 @@ public class RestaurantEngine {
                 orderTracker,
                 logger
         );
+        routerService.setExecutionMode(mode);
+        routerService.setDispatchPolicy(dispatchPolicy);
+        routerService.setBatchSettings(batchSettings);
+        routerService.rebuildRoutes(menuService.getAllItems());
+        orderService.setRouterService(routerService);
+        AdmissionController admission = AdmissionController.fromSystemProperties(priorityQueue, routerService);
+        admission.setAvailability(menuAvailability);
+        orderService.setAdmissionController(admission);
+        orderTracker.start();
         routerService.startAllStations();
 
         staffService.addStaff(new Chef(1, "Ravi"));
@@ -140,6 +209,8 @@ public class RestaurantEngine {
 
 
 
+        openJournal();
+
         // Assign one chef per station in a round-robin manner (prevents duplicate-first-chef problem)
         var chefList = staffService.getAllStaff().stream()
                 .filter(s -> s instanceof Chef)
@@ -154,6 +225,13 @@ public class RestaurantEngine {
                 var chef = chefList.get(i % chefList.size());
                 st.assignChef(chef);
                 logger.log("[ASSIGN] " + chef.getName() + " -> " + st.getName());
+
+                // Cross-train for the next station so every station has a neighbour to borrow from
+                if (stationList.size() > 1) {
+                    String neighbour = stationList.get((i + 1) % stationList.size()).getName();
+                    chef.crossTrain(neighbour);
+                    logger.log("[ASSIGN] " + chef.getName() + " cross-trained for " + neighbour);
+                }
             }
         } else {
             logger.log("[ASSIGN] No chefs or no stations available for assignment.");
@@ -161,33 +239,32 @@ public class RestaurantEngine {
 
 
 
-        dispatchThread = new DispatchThread(priorityQueue, routerService, logger);
-        dispatchWorker = new Thread(dispatchThread, "Dispatch-Thread");
+        dispatchThread = new DispatchThread(priorityQueue, routerService, logger, batchSettings);
+        dispatchWorker = mode.newThread(dispatchThread, "Dispatch-Thread");
         dispatchWorker.start();
 
-        inventoryThread = new Thread(
-                new InventoryMonitorThread(
-                        inventoryService,
-                        supplierService,
-                        logger
-                ),
+        inventoryThread = mode.newThread(
+                new InventoryMonitorThread(inventoryService),
                 "InventoryMonitor"
         );
         inventoryThread.start();
 
-        deliveryThread = new Thread(
+        reorderThread = mode.newThread(reorderPipeline, "ReorderPipeline");
+        reorderThread.start();
+
+        deliveryThread = mode.newThread(
                 new DeliveryWorkerThread(supplierService, inventoryService, logger),
                 "DeliveryWorker"
         );
         deliveryThread.start();
 
-        reservationThread = new Thread(
+        reservationThread = mode.newThread(
                 new ReservationMonitorThread(reservationService, logger),
                 "ReservationMonitor"
         );
         reservationThread.start();
 
-        idleMonitorThread = new Thread(
+        idleMonitorThread = mode.newThread(
                 new IdleMonitorThread(
                         this,
                         5000,
@@ -198,6 +275,9 @@ public class RestaurantEngine {
         );
         idleMonitorThread.start();
 
+        stationScalerThread = mode.newThread(routerService.getStationPool(), "StationScaler");
+        stationScalerThread.start();
+
         started = true;
         logger.log("[ENGINE] Started");
     }
@@ -212,24 +292,115 @@ public class RestaurantEngine {
         if (routerService != null) routerService.stopAllStations();
 
         if (inventoryThread != null) inventoryThread.interrupt();
+        if (reorderThread != null) reorderThread.interrupt();
         if (deliveryThread != null) deliveryThread.interrupt();
         if (reservationThread != null) reservationThread.interrupt();
         if (idleMonitorThread != null) idleMonitorThread.interrupt();
+        if (stationScalerThread != null) stationScalerThread.interrupt();
 
         try {
             if (dispatchWorker != null) dispatchWorker.join(500);
             if (inventoryThread != null) inventoryThread.join(500);
+            if (reorderThread != null) reorderThread.join(500);
             if (deliveryThread != null) deliveryThread.join(500);
             if (reservationThread != null) reservationThread.join(500);
             if (idleMonitorThread != null) idleMonitorThread.join(500);
+            if (stationScalerThread != null) stationScalerThread.join(500);
         } catch (InterruptedException ignored) {
             Thread.currentThread().interrupt();
         }
 
+        orderTracker.close();
+        closeJournal();
+
         started = false;
         logger.log("[ENGINE] Stopped");
     }
 
+    /**
+     * Replays the journal into the services on the first start, then opens
+     * a new generation and snapshots the restored state as its base.
+     */
+    private void openJournal() {
+        if (!Journal.isEnabled()) return;
+        Path dir = Journal.defaultDirectory();
+
+        try {
+            if (!recovered) {
+                JournalSnapshot state = Journal.recover(dir, logger);
+                EngineState.restore(this, state, Journal.archiveFile(dir));
+                journalGeneration = state.getGeneration();
+                recovered = true;
+            }
+
+            Journal j = Journal.open(dir, journalGeneration, logger);
+            j.setSnapshotSource(() -> EngineState.capture(this, j.getArchiveFile()));
+            attachJournal(j);
+            j.writeSnapshot(EngineState.capture(this, j.getArchiveFile()));
+        } catch (IOException | RuntimeException e) {
+            attachJournal(null);
+            logger.log("[JOURNAL] Disabled: " + e.getMessage());
+        }
+    }
+
+    private void closeJournal() {
+        Journal j = journal;
+        if (j == null) return;
+        try {
+            j.compact();
+        } catch (IOException e) {
+            logger.log("[JOURNAL] Compaction on stop failed: " + e.getMessage());
+        }
+        attachJournal(null);
+        journalGeneration = j.getGeneration();
+        j.close();
+    }
+
+    private void attachJournal(Journal j) {
+        Journal old = journal;
+        journal = j;
+        orderService.setJournal(j);
+        inventoryService.setJournal(j);
+        billingService.setJournal(j);
+        tableService.setJournal(j);
+        reservationService.setJournal(j);
+        if (j == null && old != null) old.close();
+    }
+
+    // Registered once; each start builds a new router, so menu changes go to the current one
+    private void rebuildRoutes(List<MenuItem> items) {
+        KitchenRouterService router = routerService;
+        if (router != null) router.rebuildRoutes(items);
+    }
+
+    /** Switches the dispatch and station queues to {@code policy}, re-ranking waiting orders. */
+    public void setDispatchPolicy(DispatchPolicy policy) {
+        dispatchPolicy = policy;
+        priorityQueue.setPolicy(policy.create(cookTimes));
+        KitchenRouterService router = routerService;
+        if (router != null) router.setDispatchPolicy(policy);
+        logger.log("[ENGINE] Dispatch policy " + policy);
+    }
+
+    public DispatchPolicy getDispatchPolicy() {
+        return dispatchPolicy;
+    }
+
+    // The router only exists once started; until then every unit costs the same
+    private final CookTimeEstimator cookTimes = new CookTimeEstimator() {
+        @Override
+        public long expectedCookNanos(Order order) {
+            KitchenRouterService router = routerService;
+            return router == null ? BY_QUANTITY.expectedCookNanos(order) : router.expectedCookNanos(order);
+        }
+
+        @Override
+        public OrderCategory categoryOf(Order order) {
+            KitchenRouterService router = routerService;
+            return router == null ? CookTimeEstimator.super.categoryOf(order) : router.categoryOf(order);
+        }
+    };
+
     public void notifyNewOrder(Order order) {
         Objects.requireNonNull(order);
         lastOrderTime = System.currentTimeMillis();
@@ -290,6 +461,10 @@ public class RestaurantEngine {
         return orderTracker;
     }
 
+    public DashboardMetrics getDashboardMetrics() {
+        return dashboardMetrics;
+    }
+
     public KitchenRouterService getRouterService() {
         return routerService;
     }
@@ -302,6 +477,26 @@ public class RestaurantEngine {
         return waiterService;
     }
 
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public ReorderPlanner getReorderPlanner() {
+        return reorderPlanner;
+    }
+
+    public MenuAvailability getMenuAvailability() {
+        return menuAvailability;
+    }
+
+    public BatchSettings getBatchSettings() {
+        return batchSettings;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
     public boolean isStarted() {
         return started;
     }
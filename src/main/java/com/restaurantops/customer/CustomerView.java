@@ -1,9 +1,12 @@
 package com.restaurantops.customer;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.inventory.MenuAvailability;
 import com.restaurantops.model.MenuItem;
 import com.restaurantops.model.Order;
 import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.Ticket;
+import com.restaurantops.service.Admission;
 import com.restaurantops.service.MenuService;
 import com.restaurantops.service.OrderService;
 import com.restaurantops.service.ReservationService;
@@ -12,6 +15,7 @@ import com.restaurantops.tracking.OrderListener;
 import com.restaurantops.tracking.OrderTracker;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
@@ -22,6 +26,7 @@ public class CustomerView {
     private final ReservationService reservationService;
     private final TableService tableService;
     private final OrderTracker orderTracker;
+    private final MenuAvailability availability;
     private final Scanner scanner = new Scanner(System.in);
 
     private Integer lastOrderedTable = null;
@@ -32,6 +37,7 @@ public class CustomerView {
         this.reservationService = engine.getReservationService();
         this.tableService = engine.getTableService();
         this.orderTracker = engine.getOrderTracker();
+        this.availability = engine.getMenuAvailability();
 
         this.orderTracker.addListener(new OrderListener() {
             @Override
@@ -69,7 +75,10 @@ public class CustomerView {
     private void browseMenu() {
         System.out.println("\n=== MENU ===");
         List<MenuItem> items = menuService.getAllItems();
-        items.forEach(System.out::println);
+        for (MenuItem m : items) {
+            int n = availability == null ? Integer.MAX_VALUE : availability.servingsFor(m);
+            System.out.println(m + (n == 0 ? " | SOLD OUT" : n <= 5 ? " | only " + n + " left" : ""));
+        }
     }
 
     private void placeOrder() {
@@ -81,28 +90,60 @@ public class CustomerView {
 
             browseMenu();
 
-            System.out.print("Enter item id: ");
-            int id = Integer.parseInt(scanner.nextLine());
-
-            System.out.print("Enter quantity: ");
-            int qty = Integer.parseInt(scanner.nextLine());
+            List<MenuItem> items = new ArrayList<>();
+            List<Integer> quantities = new ArrayList<>();
+            while (true) {
+                System.out.print(items.isEmpty() ? "Enter item id: " : "Enter item id (blank to finish): ");
+                String line = scanner.nextLine().trim();
+                if (line.isEmpty() && !items.isEmpty()) break;
+                int id = Integer.parseInt(line);
+
+                System.out.print("Enter quantity: ");
+                int qty = Integer.parseInt(scanner.nextLine());
+
+                MenuItem item = menuService.getById(id);
+                if (item == null) {
+                    System.out.println("Invalid item.");
+                    return;
+                }
+                items.add(item);
+                quantities.add(qty);
+            }
 
-            MenuItem item = menuService.getById(id);
-            if (item == null) {
-                System.out.println("Invalid item.");
+            if (items.size() == 1) {
+                Order order = new Order(table, items.get(0), quantities.get(0));
+                Admission admission = orderService.placeOrder(order);
+                if (!admission.isAccepted()) {
+                    System.out.println("Order not placed: " + admission.reason() + retryHint(admission));
+                    return;
+                }
+                System.out.println("Order placed: " + order);
+                System.out.println("Estimated wait: " + admission.estimatedWaitMillis() / 1000 + "s");
                 return;
             }
 
-            Order order = new Order(table, item, qty);
-            orderService.placeOrder(order);
+            // Several dishes go to the kitchen together as one ticket
+            Ticket ticket = new Ticket(table);
+            for (int i = 0; i < items.size(); i++) ticket.add(items.get(i), quantities.get(i));
+            Admission admission = orderService.placeTicket(ticket);
 
-            System.out.println("Order placed: " + order);
+            if (!admission.isAccepted()) {
+                System.out.println("Ticket not placed: " + admission.reason() + retryHint(admission));
+                return;
+            }
+            System.out.println("Ticket placed: " + ticket);
+            System.out.println("Estimated wait: " + admission.estimatedWaitMillis() / 1000 + "s");
 
         } catch (Exception e) {
             System.out.println("Invalid input.");
         }
     }
 
+    private static String retryHint(Admission admission) {
+        if (!admission.isRetryable()) return "";
+        return ". Try again in " + Math.max(1, (admission.estimatedWaitMillis() + 999) / 1000) + "s";
+    }
+
     private void reserveTable() {
         try {
             System.out.print("Table number: ");
@@ -0,0 +1,147 @@
+package com.restaurantops.gui.components;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Table model whose rows are identified by a key, updated by row-level
+ * diffs instead of being cleared and rebuilt. {@link #upsert} inserts a new
+ * key or updates an existing row, firing an event only if a cell actually
+ * changed; {@link #sync} does the same for a whole collection and drops
+ * keys no longer present. Selection and scroll position survive refreshes,
+ * and the EDT only repaints what changed.
+ *
+ * Cells are captured when a row is written, so rows backed by mutable
+ * objects are compared against what the table last showed.
+ *
+ * Not thread-safe: use from the EDT only.
+ */
+public class KeyedTableModel<K, T> extends AbstractTableModel {
+
+    private final String[] columns;
+    private final Function<? super T, K> keyOf;
+    private final Function<? super T, Object[]> cellsOf;
+
+    private final List<K> keys = new ArrayList<>();
+    private final List<Object[]> rows = new ArrayList<>();
+    private final Map<K, Integer> index = new HashMap<>();
+    private final Map<Integer, BiConsumer<K, Object>> editors = new HashMap<>();
+
+    public KeyedTableModel(String[] columns,
+                           Function<? super T, K> keyOf,
+                           Function<? super T, Object[]> cellsOf) {
+        this.columns = columns.clone();
+        this.keyOf = keyOf;
+        this.cellsOf = cellsOf;
+    }
+
+    /** Makes a column editable; edits go to {@code onEdit} with the row's key and the new value. */
+    public KeyedTableModel<K, T> editable(int column, BiConsumer<K, Object> onEdit) {
+        editors.put(column, onEdit);
+        return this;
+    }
+
+    // ----------------------------
+    //  UPDATES
+    // ----------------------------
+
+    public void upsert(T item) {
+        K key = keyOf.apply(item);
+        Object[] cells = cellsOf.apply(item);
+        Integer row = index.get(key);
+
+        if (row == null) {
+            int at = rows.size();
+            keys.add(key);
+            rows.add(cells);
+            index.put(key, at);
+            fireTableRowsInserted(at, at);
+        } else if (!Arrays.equals(rows.get(row), cells)) {
+            rows.set(row, cells);
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    public boolean remove(K key) {
+        Integer row = index.remove(key);
+        if (row == null) return false;
+
+        keys.remove((int) row);
+        rows.remove((int) row);
+        for (int i = row; i < keys.size(); i++) index.put(keys.get(i), i);
+        fireTableRowsDeleted(row, row);
+        return true;
+    }
+
+    /** Makes the rows match {@code items}: new keys are appended, gone keys removed. */
+    public void sync(Collection<? extends T> items) {
+        Set<K> present = new HashSet<>();
+        for (T item : items) {
+            present.add(keyOf.apply(item));
+            upsert(item);
+        }
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            if (!present.contains(keys.get(i))) remove(keys.get(i));
+        }
+    }
+
+    public void clear() {
+        if (rows.isEmpty()) return;
+        int last = rows.size() - 1;
+        keys.clear();
+        rows.clear();
+        index.clear();
+        fireTableRowsDeleted(0, last);
+    }
+
+    // ----------------------------
+    //  READS
+    // ----------------------------
+
+    public K keyAt(int row) {
+        return keys.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return rows.get(row)[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return editors.containsKey(column);
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        BiConsumer<K, Object> editor = editors.get(column);
+        if (editor == null) return;
+        rows.get(row)[column] = value;
+        fireTableCellUpdated(row, column);
+        editor.accept(keys.get(row), value);
+    }
+}
@@ -8,9 +8,12 @@ import com.restaurantops.gui.customer.SeatingPanelTouch;
 import com.restaurantops.gui.customer.MyBillingPanelTouch;
 import com.restaurantops.gui.utils.NotificationBubble;
 import com.restaurantops.model.Order;
+import com.restaurantops.tracking.OrderListener;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CustomerWindow extends JFrame {
 
@@ -67,24 +70,40 @@ public class CustomerWindow extends JFrame {
        ------------------------------- */
 
     private void registerOrderListener() {
-        engine.getOrderTracker().addListener(this::handleOrderUpdate);
+        engine.getOrderTracker().addListener(new OrderListener() {
+            @Override
+            public void onOrderUpdated(Order order) {
+                onOrdersUpdated(List.of(order));
+            }
+
+            @Override
+            public void onOrdersUpdated(List<Order> orders) {
+                handleOrderUpdates(orders);
+            }
+        });
     }
 
-    private void handleOrderUpdate(Order order) {
-        if (order.getTableNumber() != tableNumber) return;
+    private void handleOrderUpdates(List<Order> orders) {
+        List<Order> mine = new ArrayList<>();
+        for (Order o : orders) {
+            if (o.getTableNumber() == tableNumber) mine.add(o);
+        }
+        if (mine.isEmpty()) return;
 
-        SwingUtilities.invokeLater(() -> {
-            switch (order.getStatus()) {
+        SwingUtilities.invokeLater(() -> mine.forEach(this::showStatusBubble));
+    }
 
-                case ACCEPTED -> showBubble("Order #" + order.getOrderId() + " Accepted!");
+    private void showStatusBubble(Order order) {
+        switch (order.getStatus()) {
 
-                case IN_PROGRESS -> showBubble("Order #" + order.getOrderId() + " is Being Prepared");
+            case ACCEPTED -> showBubble("Order #" + order.getOrderId() + " Accepted!");
 
-                case COMPLETED -> showBubble("Order Ready! #" + order.getOrderId());
+            case IN_PROGRESS -> showBubble("Order #" + order.getOrderId() + " is Being Prepared");
 
-                case REJECTED -> showBubble("Order #" + order.getOrderId() + " Rejected.");
-            }
-        });
+            case COMPLETED -> showBubble("Order Ready! #" + order.getOrderId());
+
+            case REJECTED -> showBubble("Order #" + order.getOrderId() + " Rejected.");
+        }
     }
 
     /* -------------------------------
@@ -1,6 +1,7 @@
 package com.restaurantops.gui.customer;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.history.ArchivedOrder;
 import com.restaurantops.model.Order;
 import com.restaurantops.model.OrderStatus;
 import com.restaurantops.service.OrderService;
@@ -10,18 +11,29 @@ import com.restaurantops.tracking.OrderTracker;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * One table's orders. Active orders are redrawn on each refresh; finished
+ * ones are read from the archive past the last one shown and appended, so
+ * a refresh costs the table's active orders plus what finished since.
+ */
 public class CustomerOrdersPanelTouch extends JPanel {
 
     private final OrderService orderService;
     private final TableService tableService;
     private final OrderTracker tracker;
 
-    private JPanel ordersGrid;
+    private JPanel activeGrid;
+    private JPanel finishedGrid;
+    private JLabel emptyLabel;
     private JComboBox<Integer> tableSelector;
 
+    // Table whose finished orders are shown, and how many of its archive rows
+    private volatile int shownTable = -1;
+    private int finishedShown = 0;
+
     public CustomerOrdersPanelTouch(RestaurantEngine engine) {
 
         this.orderService = engine.getOrderService();
@@ -36,11 +48,22 @@ public class CustomerOrdersPanelTouch extends JPanel {
 
         refreshOrders();
 
-        // LIVE tracking of order status
+        // LIVE tracking of order status (one refresh per delivered batch that touches the shown table)
         tracker.addListener(new OrderListener() {
             @Override
             public void onOrderUpdated(Order order) {
-                SwingUtilities.invokeLater(() -> refreshOrders());
+                onOrdersUpdated(List.of(order));
+            }
+
+            @Override
+            public void onOrdersUpdated(List<Order> orders) {
+                int table = shownTable;
+                for (Order o : orders) {
+                    if (o.getTableNumber() == table) {
+                        SwingUtilities.invokeLater(() -> refreshOrders());
+                        return;
+                    }
+                }
             }
         });
     }
@@ -71,54 +94,72 @@ public class CustomerOrdersPanelTouch extends JPanel {
     }
 
     private JScrollPane buildOrdersArea() {
-        ordersGrid = new JPanel(new GridLayout(0, 2, 20, 20)); // 2 columns touchscreen layout
-        return new JScrollPane(ordersGrid);
+        JPanel area = new JPanel();
+        area.setLayout(new BoxLayout(area, BoxLayout.Y_AXIS));
+
+        emptyLabel = new JLabel("No orders yet.", SwingConstants.CENTER);
+        emptyLabel.setFont(new Font("Arial", Font.PLAIN, 22));
+        emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        activeGrid = new JPanel(new GridLayout(0, 2, 20, 20)); // 2 columns touchscreen layout
+        finishedGrid = new JPanel(new GridLayout(0, 2, 20, 20));
+
+        area.add(emptyLabel);
+        area.add(activeGrid);
+        area.add(Box.createVerticalStrut(20));
+        area.add(finishedGrid);
+        return new JScrollPane(area);
     }
 
     private void refreshOrders() {
 
         int selectedTable = (Integer) tableSelector.getSelectedItem();
+        if (selectedTable != shownTable) {
+            shownTable = selectedTable;
+            finishedShown = 0;
+            finishedGrid.removeAll();
+        }
 
-        List<Order> myOrders = orderService.getAllOrders()
-                .stream()
-                .filter(o -> o.getTableNumber() == selectedTable)
-                .collect(Collectors.toList());
-
-        ordersGrid.removeAll();
-
-        if (myOrders.isEmpty()) {
-            JLabel empty = new JLabel("No orders yet.", SwingConstants.CENTER);
-            empty.setFont(new Font("Arial", Font.PLAIN, 22));
-            ordersGrid.add(empty);
-        } else {
-            for (Order o : myOrders) {
-                ordersGrid.add(buildOrderCard(o));
-            }
+        // Finished orders are only ever appended to the table's archive rows, so only its tail is new
+        Iterator<ArchivedOrder> finished = orderService.getArchive().streamTable(selectedTable, finishedShown).iterator();
+        while (finished.hasNext()) {
+            ArchivedOrder a = finished.next();
+            finishedGrid.add(buildOrderCard(a.item().getName(), a.quantity(), a.orderId(), a.status()));
+            finishedShown++;
         }
 
-        ordersGrid.revalidate();
-        ordersGrid.repaint();
+        activeGrid.removeAll();
+        for (Order o : orderService.getActiveOrdersForTable(selectedTable)) {
+            activeGrid.add(buildOrderCard(o.getItem().getName(), o.getQuantity(), o.getOrderId(), o.getStatus()));
+        }
+
+        emptyLabel.setVisible(finishedShown == 0 && activeGrid.getComponentCount() == 0);
+
+        activeGrid.revalidate();
+        activeGrid.repaint();
+        finishedGrid.revalidate();
+        finishedGrid.repaint();
     }
 
-    private JPanel buildOrderCard(Order order) {
+    private JPanel buildOrderCard(String itemName, int quantity, int orderId, OrderStatus orderStatus) {
 
         JPanel card = new JPanel();
         card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
         card.setBorder(BorderFactory.createLineBorder(Color.GRAY, 2));
         card.setBackground(new Color(250, 250, 250));
 
-        JLabel title = new JLabel(order.getItem().getName(), SwingConstants.CENTER);
+        JLabel title = new JLabel(itemName, SwingConstants.CENTER);
         title.setFont(new Font("Arial", Font.BOLD, 20));
 
-        JLabel qty = new JLabel("Qty: " + order.getQuantity(), SwingConstants.CENTER);
+        JLabel qty = new JLabel("Qty: " + quantity, SwingConstants.CENTER);
 
-        JLabel id = new JLabel("Order #" + order.getOrderId(), SwingConstants.CENTER);
+        JLabel id = new JLabel("Order #" + orderId, SwingConstants.CENTER);
 
-        JLabel status = new JLabel(order.getStatus().toString(), SwingConstants.CENTER);
+        JLabel status = new JLabel(orderStatus.toString(), SwingConstants.CENTER);
         status.setFont(new Font("Arial", Font.BOLD, 18));
         status.setOpaque(true);
         status.setForeground(Color.WHITE);
-        status.setBackground(statusColor(order.getStatus()));
+        status.setBackground(statusColor(orderStatus));
 
         card.add(Box.createVerticalStrut(10));
         card.add(title);
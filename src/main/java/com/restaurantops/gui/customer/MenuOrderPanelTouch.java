@@ -1,14 +1,17 @@
 package com.restaurantops.gui.customer;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.inventory.MenuAvailability;
 import com.restaurantops.model.MenuItem;
 import com.restaurantops.model.Order;
+import com.restaurantops.service.Admission;
 import com.restaurantops.service.MenuService;
 import com.restaurantops.service.OrderService;
 import com.restaurantops.service.TableService;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 public class MenuOrderPanelTouch extends JPanel {
@@ -16,12 +19,18 @@ public class MenuOrderPanelTouch extends JPanel {
     private final MenuService menuService;
     private final OrderService orderService;
     private final TableService tableService;
+    private final MenuAvailability availability;
+
+    // Cards re-read the availability cache every second and grey out sold-out dishes
+    private final List<Runnable> availabilityUpdaters = new ArrayList<>();
+    private final Timer availabilityTimer = new Timer(1000, e -> refreshAvailability());
 
     public MenuOrderPanelTouch(RestaurantEngine engine) {
 
         this.menuService = engine.getMenuService();
         this.orderService = engine.getOrderService();
         this.tableService = engine.getTableService();
+        this.availability = engine.getMenuAvailability();
 
         setLayout(new BorderLayout(20, 20));
         setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
@@ -38,6 +47,23 @@ public class MenuOrderPanelTouch extends JPanel {
         for (MenuItem m : items) {
             grid.add(buildItemCard(m));
         }
+        refreshAvailability();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        availabilityTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        availabilityTimer.stop();
+        super.removeNotify();
+    }
+
+    private void refreshAvailability() {
+        availabilityUpdaters.forEach(Runnable::run);
     }
 
     private JPanel buildItemCard(MenuItem m) {
@@ -61,10 +87,24 @@ public class MenuOrderPanelTouch extends JPanel {
 
         orderBtn.addActionListener(e -> openOrderDialog(m));
 
+        JLabel stock = new JLabel(" ", SwingConstants.CENTER);
+        stock.setFont(new Font("Arial", Font.ITALIC, 16));
+
+        availabilityUpdaters.add(() -> {
+            int n = availability == null ? Integer.MAX_VALUE : availability.servingsFor(m);
+            boolean available = n > 0;
+            orderBtn.setEnabled(available);
+            orderBtn.setBackground(available ? new Color(0, 150, 0) : Color.GRAY);
+            name.setForeground(available ? Color.BLACK : Color.GRAY);
+            stock.setText(!available ? "Sold out" : n <= 5 ? "Only " + n + " left" : " ");
+            stock.setForeground(available ? new Color(200, 120, 0) : Color.RED);
+        });
+
         card.add(Box.createVerticalStrut(10));
         card.add(name);
         card.add(price);
         card.add(cal);
+        card.add(stock);
         card.add(Box.createVerticalStrut(10));
         card.add(orderBtn);
         card.add(Box.createVerticalStrut(10));
@@ -73,7 +113,7 @@ public class MenuOrderPanelTouch extends JPanel {
     }
 
     private void openOrderDialog(MenuItem m) {
-        JPanel p = new JPanel(new GridLayout(3, 2, 10, 10));
+        JPanel p = new JPanel(new GridLayout(4, 2, 10, 10));
 
         // TABLE DROPDOWN
         var tables = tableService.listTables().stream()
@@ -93,6 +133,16 @@ public class MenuOrderPanelTouch extends JPanel {
         p.add(new JLabel("Quantity:", SwingConstants.RIGHT));
         p.add(qtyBox);
 
+        // Wait quote, refreshed when the quantity changes
+        JLabel waitLabel = new JLabel();
+        waitLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        Runnable refreshQuote = () -> showQuote(waitLabel, orderService.quote(m, (Integer) qtyBox.getSelectedItem()));
+        qtyBox.addActionListener(e -> refreshQuote.run());
+        refreshQuote.run();
+
+        p.add(new JLabel("Estimated wait:", SwingConstants.RIGHT));
+        p.add(waitLabel);
+
         int result = JOptionPane.showConfirmDialog(
                 this,
                 p,
@@ -107,13 +157,58 @@ public class MenuOrderPanelTouch extends JPanel {
             int quantity = (Integer) qtyBox.getSelectedItem();
 
             Order order = new Order(table, m, quantity);
-            orderService.placeOrder(order);
+            Admission admission = orderService.placeOrder(order);
+
+            if (admission.isRetryable()) {
+                JOptionPane.showMessageDialog(this,
+                        admission.reason() + ". Please try again in " + formatWait(admission.estimatedWaitMillis()) + ".",
+                        "Kitchen Busy",
+                        JOptionPane.WARNING_MESSAGE
+                );
+                return;
+            }
+            if (!admission.isAccepted()) {
+                JOptionPane.showMessageDialog(this,
+                        admission.reason() + ". Please choose another dish.",
+                        "Sold Out",
+                        JOptionPane.WARNING_MESSAGE
+                );
+                return;
+            }
 
             JOptionPane.showMessageDialog(this,
-                    "Order placed! Order #" + order.getOrderId(),
+                    "Order placed! Order #" + order.getOrderId() +
+                            "\nEstimated wait: " + formatWait(admission.estimatedWaitMillis()),
                     "Success",
                     JOptionPane.INFORMATION_MESSAGE
             );
         }
     }
+
+    private void showQuote(JLabel label, Admission quote) {
+        switch (quote.outcome()) {
+            case ACCEPTED -> {
+                label.setText(formatWait(quote.estimatedWaitMillis()));
+                label.setForeground(new Color(0, 150, 0));
+            }
+            case QUOTED -> {
+                label.setText(formatWait(quote.estimatedWaitMillis()));
+                label.setForeground(new Color(200, 120, 0));
+            }
+            case REJECTED -> {
+                label.setText("Kitchen full");
+                label.setForeground(Color.RED);
+            }
+            case UNAVAILABLE -> {
+                label.setText("Sold out");
+                label.setForeground(Color.RED);
+            }
+        }
+    }
+
+    private static String formatWait(long millis) {
+        long seconds = Math.max(1, (millis + 999) / 1000);
+        if (seconds < 60) return "~" + seconds + " sec";
+        return "~" + (seconds + 59) / 60 + " min";
+    }
 }
@@ -127,7 +127,7 @@ public class MyBillingPanelTouch extends JPanel {
         }
 
         if (success) {
-            bill.markPaid();
+            billingService.markPaid(bill);
             JOptionPane.showMessageDialog(this, "Payment successful!");
         } else {
             JOptionPane.showMessageDialog(this, "Payment failed!");
@@ -5,12 +5,11 @@ import com.restaurantops.billing.payment.CardPayment;
 import com.restaurantops.billing.payment.CashPayment;
 import com.restaurantops.billing.payment.UpiPayment;
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.gui.components.KeyedTableModel;
 import com.restaurantops.model.Bill;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.Map;
 
 public class BillingPanel extends JPanel {
 
@@ -18,10 +17,10 @@ public class BillingPanel extends JPanel {
     private final BillingService billingService;
 
     private JTable billTable;
-    private DefaultTableModel billTableModel;
+    private KeyedTableModel<Integer, Bill.Snapshot> billTableModel;
 
     private JTable billDetailTable;
-    private DefaultTableModel billDetailModel;
+    private KeyedTableModel<String, Bill.Line> billDetailModel;
 
     private JLabel lblTotal;
     private JLabel lblStatus;
@@ -57,11 +56,15 @@ public class BillingPanel extends JPanel {
         split.setResizeWeight(0.45);
 
         /* LEFT: Bills list */
-        billTableModel = new DefaultTableModel(
-                new Object[]{"Table", "Total", "Status", "Items"}, 0
-        ) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        billTableModel = new KeyedTableModel<>(
+                new String[]{"Table", "Total", "Status", "Items"},
+                Bill.Snapshot::tableNumber,
+                bill -> new Object[]{
+                        bill.tableNumber(),
+                        String.format("₹%.2f", bill.total()),
+                        bill.paid() ? "PAID" : "UNPAID",
+                        bill.lines().size()
+                });
         billTable = new JTable(billTableModel);
         billTable.getSelectionModel().addListSelectionListener(e -> showSelectedBill());
 
@@ -86,11 +89,10 @@ public class BillingPanel extends JPanel {
         title.setFont(title.getFont().deriveFont(Font.BOLD, 20f));
         panel.add(title, BorderLayout.NORTH);
 
-        billDetailModel = new DefaultTableModel(
-                new Object[]{"Item", "Qty", "Unit Price", "Total"}, 0
-        ) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        billDetailModel = new KeyedTableModel<>(
+                new String[]{"Item", "Qty", "Unit Price", "Total"},
+                Bill.Line::name,
+                line -> new Object[]{line.name(), line.quantity(), line.unitPrice(), line.getTotal()});
 
         billDetailTable = new JTable(billDetailModel);
 
@@ -149,27 +151,10 @@ public class BillingPanel extends JPanel {
         refreshBills();
     }
 
+    // Row diffs only, so the selected bill stays selected and its details stay current
     private void refreshBills() {
-        billTableModel.setRowCount(0);
-
-        Map<Integer, Bill> bills = billingService.getAllBills();
-        for (Map.Entry<Integer, Bill> entry : bills.entrySet()) {
-            int table = entry.getKey();
-            Bill bill = entry.getValue();
-
-            double total = bill.getTotalAmount();
-            boolean paid = bill.isPaid();
-            int itemCount = bill.toString().split("\n").length - 3; // quick count of BillLine entries
-
-            billTableModel.addRow(new Object[]{
-                    table,
-                    String.format("₹%.2f", total),
-                    paid ? "PAID" : "UNPAID",
-                    itemCount
-            });
-        }
-
-        clearDetails();
+        billTableModel.sync(billingService.snapshotAll());
+        showSelectedBill();
     }
 
     private void showSelectedBill() {
@@ -186,32 +171,16 @@ public class BillingPanel extends JPanel {
             return;
         }
 
-        billDetailModel.setRowCount(0);
-
-        // Parse Bill.toString()
-        String[] lines = bill.toString().split("\n");
-
-        for (String line : lines) {
-            if (line.contains(")")) {
-                try {
-                    String[] parts = line.split("\\) ")[1].split(" x| ₹");
-                    String item = parts[0];
-                    int qty = Integer.parseInt(parts[1]);
-                    double price = Double.parseDouble(parts[2]);
-                    double total = qty * price;
-
-                    billDetailModel.addRow(new Object[]{item, qty, price, total});
-                } catch (Exception ignored) {}
-            }
-        }
+        Bill.Snapshot snapshot = bill.snapshot();
+        billDetailModel.sync(snapshot.lines());
 
-        lblTotal.setText(String.format("Total: ₹%.2f", bill.getTotalAmount()));
-        lblStatus.setText("Status: " + (bill.isPaid() ? "PAID" : "UNPAID"));
-        lblStatus.setForeground(bill.isPaid() ? new Color(0, 180, 0) : Color.RED);
+        lblTotal.setText(String.format("Total: ₹%.2f", snapshot.total()));
+        lblStatus.setText("Status: " + (snapshot.paid() ? "PAID" : "UNPAID"));
+        lblStatus.setForeground(snapshot.paid() ? new Color(0, 180, 0) : Color.RED);
     }
 
     private void clearDetails() {
-        billDetailModel.setRowCount(0);
+        billDetailModel.clear();
         lblTotal.setText("Total: ₹0.00");
         lblStatus.setText("Status: -");
         lblStatus.setForeground(Color.BLACK);
@@ -1,21 +1,46 @@
 package com.restaurantops.gui.panels;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.util.LogCategory;
 import com.restaurantops.util.LoggerService;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.DefaultCaret;
+import javax.swing.text.Element;
 import java.awt.*;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 public class DiagnosticsPanel extends JPanel {
 
     private final RestaurantEngine engine;
     private final LoggerService logger;
 
+    /** Most recent matching lines kept in the viewer; older ones are trimmed from the top. */
+    private static final int LOG_WINDOW_LINES = 2000;
+
     private JTextArea logArea;
+    private JScrollPane logScroll;
+    private JTextField searchField;
+    private final Set<LogCategory> shownCategories = EnumSet.allOf(LogCategory.class);
+
+    // EDT-confined log viewer state
+    private long logCursor = 0;
+    private int filterGeneration = 0;
+    private boolean reloadLogs = true;
+    private boolean logFetching = false;
+    private boolean logRefetch = false;
 
     private JLabel lblEngineStarted;
     private JLabel lblStationsPaused;
+    private JLabel lblLogDropped;
+    private JLabel lblThreadMode;
+    private JLabel lblStationLoad;
 
     private Timer autoRefreshTimer;
 
@@ -81,32 +106,152 @@ public class DiagnosticsPanel extends JPanel {
         JLabel lbl = new JLabel("System Logs");
         lbl.setFont(lbl.getFont().deriveFont(Font.BOLD, 18f));
 
+        JPanel header = new JPanel(new BorderLayout());
+        header.add(lbl, BorderLayout.WEST);
+        header.add(buildLogFilters(), BorderLayout.EAST);
+
         logArea = new JTextArea();
         logArea.setEditable(false);
         logArea.setFont(new Font("Consolas", Font.PLAIN, 14));
+        // Scrolling is driven by applyLogs, so reading older lines isn't interrupted by appends
+        ((DefaultCaret) logArea.getCaret()).setUpdatePolicy(DefaultCaret.NEVER_UPDATE);
+        logScroll = new JScrollPane(logArea);
 
         JButton refresh = new JButton("Refresh Logs");
         refresh.addActionListener(e -> refreshLogs());
 
-        p.add(lbl, BorderLayout.NORTH);
-        p.add(new JScrollPane(logArea), BorderLayout.CENTER);
+        p.add(header, BorderLayout.NORTH);
+        p.add(logScroll, BorderLayout.CENTER);
         p.add(refresh, BorderLayout.SOUTH);
 
         return p;
     }
 
+    private JPanel buildLogFilters() {
+        JPanel p = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+
+        searchField = new JTextField(16);
+        Timer debounce = new Timer(250, e -> filterChanged());
+        debounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { debounce.restart(); }
+            public void removeUpdate(DocumentEvent e) { debounce.restart(); }
+            public void changedUpdate(DocumentEvent e) { debounce.restart(); }
+        });
+
+        JPopupMenu menu = new JPopupMenu();
+        for (LogCategory c : LogCategory.values()) {
+            JCheckBoxMenuItem item = new JCheckBoxMenuItem(c.name(), true);
+            item.putClientProperty("CheckBoxMenuItem.doNotCloseOnMouseClick", true);
+            item.addActionListener(e -> {
+                if (item.isSelected()) shownCategories.add(c);
+                else shownCategories.remove(c);
+                filterChanged();
+            });
+            menu.add(item);
+        }
+
+        JButton categories = new JButton("Categories");
+        categories.addActionListener(e -> menu.show(categories, 0, categories.getHeight()));
+
+        p.add(new JLabel("Search:"));
+        p.add(searchField);
+        p.add(categories);
+
+        return p;
+    }
+
+    private void filterChanged() {
+        filterGeneration++;
+        reloadLogs = true;
+        refreshLogs();
+    }
+
+    /**
+     * Fetches entries logged since the last refresh and appends the ones
+     * passing the filters. Reading and filtering happen on a worker thread;
+     * the EDT only appends the new text. A filter change reloads whatever
+     * the log still holds.
+     */
     private void refreshLogs() {
-        var logs = engine.getLogger().getLogs();
+        if (logFetching) {
+            logRefetch = true;
+            return;
+        }
+        logFetching = true;
+
+        LogFilter filter = new LogFilter(EnumSet.copyOf(shownCategories),
+                searchField.getText().trim().toLowerCase(Locale.ROOT));
+        boolean replace = reloadLogs;
+        long from = replace ? 0 : logCursor;
+        int generation = filterGeneration;
+        reloadLogs = false;
+
+        new SwingWorker<LogChunk, Void>() {
+            @Override
+            protected LogChunk doInBackground() {
+                return fetchLogs(from, filter, replace, generation);
+            }
+
+            @Override
+            protected void done() {
+                logFetching = false;
+                try {
+                    applyLogs(get());
+                } catch (InterruptedException | ExecutionException ignored) { }
+                if (logRefetch) {
+                    logRefetch = false;
+                    refreshLogs();
+                }
+            }
+        }.execute();
+    }
 
-        StringBuilder sb = new StringBuilder();
-        for (String log : logs) {
-            sb.append(log).append("\n");
+    // Worker thread: no Swing access
+    private LogChunk fetchLogs(long from, LogFilter filter, boolean replace, int generation) {
+        LoggerService.Page page = logger.logsSince(from);
+
+        ArrayDeque<String> lines = new ArrayDeque<>();
+        for (LoggerService.Entry e : page.entries()) {
+            if (!filter.accepts(e)) continue;
+            if (lines.size() == LOG_WINDOW_LINES) lines.removeFirst();
+            lines.addLast(e.text());
         }
 
-        logArea.setText(sb.toString());
-        logArea.setCaretPosition(logArea.getDocument().getLength()); // auto-scroll to bottom
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) sb.append(line).append('\n');
+        return new LogChunk(sb.toString(), page.next(), replace, generation);
+    }
+
+    private void applyLogs(LogChunk chunk) {
+        if (chunk.generation() != filterGeneration) return; // filters changed, a reload is queued
+
+        JScrollBar bar = logScroll.getVerticalScrollBar();
+        boolean follow = chunk.replace()
+                || bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - 4;
+
+        logCursor = chunk.next();
+        if (chunk.replace()) logArea.setText(chunk.text());
+        else if (!chunk.text().isEmpty()) logArea.append(chunk.text());
+        else return;
+
+        // Every line ends in a newline, so the last element is the empty line after it
+        Element root = logArea.getDocument().getDefaultRootElement();
+        int excess = root.getElementCount() - 1 - LOG_WINDOW_LINES;
+        if (excess > 0) logArea.replaceRange("", 0, root.getElement(excess - 1).getEndOffset());
+
+        if (follow) logArea.setCaretPosition(logArea.getDocument().getLength());
+    }
+
+    private record LogFilter(Set<LogCategory> categories, String query) {
+        boolean accepts(LoggerService.Entry e) {
+            return categories.contains(e.category())
+                    && (query.isEmpty() || e.text().toLowerCase(Locale.ROOT).contains(query));
+        }
     }
 
+    private record LogChunk(String text, long next, boolean replace, int generation) {}
+
 
     /* --------------------------
             STATUS PANEL
@@ -123,6 +268,9 @@ public class DiagnosticsPanel extends JPanel {
 
         lblEngineStarted = addStatusRow(p, "Engine Started:");
         lblStationsPaused = addStatusRow(p, "Stations Paused:");
+        lblLogDropped = addStatusRow(p, "Logs Dropped:");
+        lblThreadMode = addStatusRow(p, "Thread Mode:");
+        lblStationLoad = addStatusRow(p, "Station Load:");
 
         p.add(Box.createVerticalStrut(20));
         p.add(buildControlButtons());
@@ -170,6 +318,15 @@ public class DiagnosticsPanel extends JPanel {
     private void refreshStatus() {
         lblEngineStarted.setText(engine.isStarted() ? "YES" : "NO");
         lblStationsPaused.setText(engine.isStationsPaused() ? "YES" : "NO");
+        lblThreadMode.setText(engine.getExecutionMode().name());
+        lblLogDropped.setText(logger.getDroppedCount() + " (capacity " + logger.getCapacity() + ")");
+
+        var router = engine.getRouterService();
+        if (router != null) {
+            StringBuilder sb = new StringBuilder("<html>");
+            for (var st : router.getStationStats()) sb.append(st).append("<br>");
+            lblStationLoad.setText(sb.append("</html>").toString());
+        }
 
         lblEngineStarted.setForeground(engine.isStarted() ? new Color(0, 180, 0) : Color.RED);
         lblStationsPaused.setForeground(engine.isStationsPaused() ? Color.RED : new Color(0, 180, 0));
@@ -1,13 +1,11 @@
 package com.restaurantops.gui.panels;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.gui.components.KeyedTableModel;
 import com.restaurantops.inventory.InventoryService;
 import com.restaurantops.model.InventoryItem;
 
 import javax.swing.*;
-import javax.swing.event.TableModelEvent;
-import javax.swing.event.TableModelListener;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.text.SimpleDateFormat;
 import java.util.Map;
@@ -18,10 +16,10 @@ public class InventoryPanel extends JPanel {
     private final InventoryService inventoryService;
 
     private JTable inventoryTable;
-    private DefaultTableModel inventoryModel;
+    private KeyedTableModel<String, Map.Entry<String, InventoryItem>> inventoryModel;
 
     private JTable lowStockTable;
-    private DefaultTableModel lowStockModel;
+    private KeyedTableModel<String, Map.Entry<String, InventoryItem>> lowStockModel;
 
     private JTextField restockNameField;
     private JSpinner restockQtySpinner;
@@ -76,52 +74,31 @@ public class InventoryPanel extends JPanel {
               INVENTORY TABLE
            ===================== */
 
-        inventoryModel = new DefaultTableModel(
-                new Object[]{"Ingredient", "Quantity", "Expiry", "Threshold", "Reorder Qty"},
-                0
-        ) {
-            @Override public boolean isCellEditable(int row, int col) {
+        inventoryModel = new KeyedTableModel<String, Map.Entry<String, InventoryItem>>(
+                new String[]{"Ingredient", "Quantity", "Expiry", "Threshold", "Reorder Qty", "Usage / min"},
+                Map.Entry::getKey,
+                e -> inventoryRow(e.getKey(), e.getValue())
+        )
                 // Allow editing only on Threshold & Reorder Qty
-                return col == 3 || col == 4;
-            }
-        };
-
-        inventoryTable = new JTable(inventoryModel);
-        inventoryTable.putClientProperty("terminateEditOnFocusLost", true);
-
-        // Listener for inline editing
-        inventoryModel.addTableModelListener(event -> {
-            if (event.getType() == TableModelEvent.UPDATE) {
-                int row = event.getFirstRow();
-                int col = event.getColumn();
-
-                String ingredient = (String) inventoryModel.getValueAt(row, 0);
-
-                if (col == 3) { // Threshold changed
+                .editable(3, (ingredient, value) -> {
                     try {
-                        int newThreshold = Integer.parseInt(
-                                inventoryModel.getValueAt(row, col).toString()
-                        );
-                        inventoryService.setReorderThreshold(ingredient, newThreshold);
-                    } catch (Exception ignored) {
+                        inventoryService.setReorderThreshold(ingredient, Integer.parseInt(value.toString()));
+                    } catch (NumberFormatException ignored) {
                         JOptionPane.showMessageDialog(this, "Invalid threshold value.");
                     }
-                }
-
-                if (col == 4) { // Reorder Qty changed
+                    refreshAll();
+                })
+                .editable(4, (ingredient, value) -> {
                     try {
-                        int newQty = Integer.parseInt(
-                                inventoryModel.getValueAt(row, col).toString()
-                        );
-                        inventoryService.setReorderQuantity(ingredient, newQty);
-                    } catch (Exception ignored) {
+                        inventoryService.setReorderQuantity(ingredient, Integer.parseInt(value.toString()));
+                    } catch (NumberFormatException ignored) {
                         JOptionPane.showMessageDialog(this, "Invalid reorder quantity.");
                     }
-                }
+                    refreshAll();
+                });
 
-                refreshLowStockTable();
-            }
-        });
+        inventoryTable = new JTable(inventoryModel);
+        inventoryTable.putClientProperty("terminateEditOnFocusLost", true);
 
         JScrollPane invScroll = new JScrollPane(inventoryTable);
 
@@ -135,12 +112,14 @@ public class InventoryPanel extends JPanel {
              LOW STOCK TABLE
            ===================== */
 
-        lowStockModel = new DefaultTableModel(
-                new Object[]{"Ingredient", "Quantity", "Threshold"},
-                0
-        ) {
-            @Override public boolean isCellEditable(int row, int col) { return false; }
-        };
+        lowStockModel = new KeyedTableModel<>(
+                new String[]{"Ingredient", "Quantity", "Threshold"},
+                Map.Entry::getKey,
+                e -> new Object[]{
+                        e.getKey(),
+                        e.getValue().getQuantity(),
+                        inventoryService.getThresholdFor(e.getKey())
+                });
 
         lowStockTable = new JTable(lowStockModel);
         JScrollPane lowScroll = new JScrollPane(lowStockTable);
@@ -204,43 +183,31 @@ public class InventoryPanel extends JPanel {
     }
 
     private void refreshInventoryTable() {
-        inventoryModel.setRowCount(0);
-
-        for (Map.Entry<String, InventoryItem> entry : inventoryService.getInventory().entrySet()) {
-            String name = entry.getKey();
-            InventoryItem item = entry.getValue();
-
-            String expiry = "-";
-            try {
-                long ts = item.getExpiryTimestamp();
-                expiry = expiryFmt.format(new java.util.Date(ts));
-            } catch (Exception ignored) {}
-
-            int threshold = inventoryService.getThresholdFor(name);
-            int reorderQty = inventoryService.getReorderQuantity(name);
-
-            inventoryModel.addRow(new Object[]{
-                    name,
-                    item.getQuantity(),
-                    expiry,
-                    threshold,
-                    reorderQty
-            });
-        }
+        inventoryModel.sync(inventoryService.getInventory().entrySet());
+    }
+
+    private Object[] inventoryRow(String name, InventoryItem item) {
+        String expiry = "-";
+        try {
+            long ts = item.getExpiryTimestamp();
+            expiry = expiryFmt.format(new java.util.Date(ts));
+        } catch (Exception ignored) {}
+
+        int threshold = inventoryService.getThresholdFor(name);
+        int reorderQty = inventoryService.getReorderQuantity(name);
+        double usage = engine.getReorderPlanner().usageRate(name) * 60;
+
+        return new Object[]{
+                name,
+                item.getQuantity(),
+                expiry,
+                threshold,
+                reorderQty,
+                String.format("%.1f", usage)
+        };
     }
 
     private void refreshLowStockTable() {
-        lowStockModel.setRowCount(0);
-
-        for (Map.Entry<String, InventoryItem> entry : inventoryService.getLowStockItems().entrySet()) {
-            String name = entry.getKey();
-            InventoryItem item = entry.getValue();
-
-            lowStockModel.addRow(new Object[]{
-                    name,
-                    item.getQuantity(),
-                    inventoryService.getThresholdFor(name)
-            });
-        }
+        lowStockModel.sync(inventoryService.getLowStockItems().entrySet());
     }
 }
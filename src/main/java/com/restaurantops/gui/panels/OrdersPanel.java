@@ -1,21 +1,33 @@
 package com.restaurantops.gui.panels;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.gui.components.KeyedTableModel;
+import com.restaurantops.history.ArchivedOrder;
 import com.restaurantops.model.Order;
 import com.restaurantops.model.OrderStatus;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-
+import java.util.Iterator;
+
+/**
+ * Orders placed so far, kept current by diffs: finished orders are read
+ * from the archive past the last one shown, and the few active orders are
+ * compared against their rows. Each refresh touches only the rows that
+ * changed.
+ */
 public class OrdersPanel extends JPanel {
 
+    private static final String[] COLUMNS = {"Order ID", "Table", "Item", "Qty", "Status"};
+
     private final RestaurantEngine engine;
 
     private JTable activeTable, allTable;
-    private DefaultTableModel activeModel, allModel;
+    private KeyedTableModel<Integer, Object[]> activeModel, allModel;
+
+    // Archived orders already shown
+    private int archivedShown = 0;
 
     private JLabel lblOrderId, lblTable, lblItem, lblQty, lblStatus, lblCategory, lblTime;
 
@@ -83,12 +95,21 @@ public class OrdersPanel extends JPanel {
           TABLES
        -------------------- */
 
+    // Rows are their own cells, so live and archived orders share one model
+    private static KeyedTableModel<Integer, Object[]> newOrderModel() {
+        return new KeyedTableModel<>(COLUMNS, cells -> (Integer) cells[0], cells -> cells);
+    }
+
+    private static Object[] orderRow(Order o) {
+        return new Object[]{o.getOrderId(), o.getTableNumber(), o.getItem().getName(), o.getQuantity(), o.getStatus().name()};
+    }
+
+    private static Object[] orderRow(ArchivedOrder a) {
+        return new Object[]{a.orderId(), a.tableNumber(), a.item().getName(), a.quantity(), a.status().name()};
+    }
+
     private JScrollPane buildActiveOrdersTable() {
-        activeModel = new DefaultTableModel(
-                new Object[]{"Order ID", "Table", "Item", "Qty", "Status"}, 0
-        ) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        activeModel = newOrderModel();
 
         activeTable = new JTable(activeModel);
         activeTable.getSelectionModel().addListSelectionListener(e -> showSelectedOrder(activeTable));
@@ -97,11 +118,7 @@ public class OrdersPanel extends JPanel {
     }
 
     private JScrollPane buildAllOrdersTable() {
-        allModel = new DefaultTableModel(
-                new Object[]{"Order ID", "Table", "Item", "Qty", "Status"}, 0
-        ) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        allModel = newOrderModel();
 
         allTable = new JTable(allModel);
         allTable.getSelectionModel().addListSelectionListener(e -> showSelectedOrder(allTable));
@@ -152,12 +169,7 @@ public class OrdersPanel extends JPanel {
 
         int orderId = (int) table.getValueAt(row, 0);
 
-        Order selected = engine.getOrderService()
-                .getAllOrders()
-                .stream()
-                .filter(o -> o.getOrderId() == orderId)
-                .findFirst()
-                .orElse(null);
+        Order selected = engine.getOrderService().getOrder(orderId);
 
         if (selected == null) return;
 
@@ -175,41 +187,21 @@ public class OrdersPanel extends JPanel {
        -------------------- */
 
     private void refreshTables() {
-        refreshActiveOrders();
-        refreshAllOrders();
-    }
-
-    private void refreshActiveOrders() {
-        activeModel.setRowCount(0);
-
-        List<Order> orders = engine.getOrderService().getAllOrders();
-
-        for (Order o : orders) {
-            if (o.getStatus() == OrderStatus.ACCEPTED ||
-                    o.getStatus() == OrderStatus.IN_PROGRESS) {
-
-                activeModel.addRow(new Object[]{
-                        o.getOrderId(),
-                        o.getTableNumber(),
-                        o.getItem().getName(),
-                        o.getQuantity(),
-                        o.getStatus().name()
-                });
-            }
+        // Finished orders are only ever appended to the archive, so only its tail is new
+        Iterator<ArchivedOrder> finished = engine.getOrderService().getArchive().streamFrom(archivedShown).iterator();
+        while (finished.hasNext()) {
+            ArchivedOrder a = finished.next();
+            allModel.upsert(orderRow(a));
+            activeModel.remove(a.orderId());
+            archivedShown++;
         }
-    }
 
-    private void refreshAllOrders() {
-        allModel.setRowCount(0);
-
-        for (Order o : engine.getOrderService().getAllOrders()) {
-            allModel.addRow(new Object[]{
-                    o.getOrderId(),
-                    o.getTableNumber(),
-                    o.getItem().getName(),
-                    o.getQuantity(),
-                    o.getStatus().name()
-            });
+        for (Order o : engine.getOrderService().getActiveOrders()) {
+            Object[] row = orderRow(o);
+            allModel.upsert(row);
+            OrderStatus status = o.getStatus();
+            if (status == OrderStatus.ACCEPTED || status == OrderStatus.IN_PROGRESS) activeModel.upsert(row);
+            else activeModel.remove(o.getOrderId());
         }
     }
 }
@@ -2,7 +2,7 @@ package com.restaurantops.gui.panels;
 
 import com.restaurantops.core.RestaurantEngine;
 import com.restaurantops.gui.components.DashboardCard;
-import com.restaurantops.model.*;
+import com.restaurantops.tracking.DashboardMetrics;
 
 import javax.swing.*;
 import java.awt.*;
@@ -18,11 +18,12 @@ public class RestaurantDashboardPanel extends JPanel {
     private DashboardCard cardRevenue;
     private DashboardCard cardStaff;
     private DashboardCard cardReservations;
+    private DashboardCard cardReorderLatency;
 
     public RestaurantDashboardPanel() {
 
         this.engine = RestaurantEngine.getInstance();
-        setLayout(new GridLayout(3, 2, 20, 20));
+        setLayout(new GridLayout(4, 2, 20, 20));
         setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
         cardActiveOrders    = new DashboardCard("Active Orders", "📦");
@@ -31,6 +32,7 @@ public class RestaurantDashboardPanel extends JPanel {
         cardRevenue         = new DashboardCard("Total Paid Revenue", "💵");
         cardStaff           = new DashboardCard("Staff Count", "🧍");
         cardReservations    = new DashboardCard("Reservations Today", "📅");
+        cardReorderLatency  = new DashboardCard("Reorder Latency", "🚚");
 
         add(cardActiveOrders);
         add(cardOccupiedTables);
@@ -38,42 +40,31 @@ public class RestaurantDashboardPanel extends JPanel {
         add(cardRevenue);
         add(cardStaff);
         add(cardReservations);
+        add(cardReorderLatency);
 
         refreshStatistics();
     }
 
     public void refreshStatistics() {
 
+        // All figures are running counters maintained by the services, so
+        // this stays O(1) however many orders the day has produced.
+        DashboardMetrics metrics = engine.getDashboardMetrics();
+
         /* ---------------- ACTIVE ORDERS ---------------- */
-        long activeOrders = engine.getOrderService().getAllOrders()
-                .stream()
-                .filter(o -> o.getStatus() != OrderStatus.COMPLETED &&
-                        o.getStatus() != OrderStatus.REJECTED)
-                .count();
-        cardActiveOrders.setValue(String.valueOf(activeOrders));
+        cardActiveOrders.setValue(String.valueOf(metrics.getActiveOrders()));
 
 
         /* ---------------- OCCUPIED TABLES ---------------- */
-        long occupiedTables = engine.getTableService().listTables()
-                .stream()
-                .filter(t -> t.getState() == TableState.OCCUPIED)
-                .count();
-        cardOccupiedTables.setValue(String.valueOf(occupiedTables));
+        cardOccupiedTables.setValue(String.valueOf(metrics.getOccupiedTables()));
 
 
         /* ---------------- LOW STOCK ---------------- */
-        int lowStock = engine.getInventoryService().getLowStockItems().size();
-        cardLowStock.setValue(String.valueOf(lowStock));
+        cardLowStock.setValue(String.valueOf(metrics.getLowStockItems()));
 
 
         /* ---------------- TOTAL PAID REVENUE ---------------- */
-        double revenue = engine.getBillingService().getAllBills()
-                .values()
-                .stream()
-                .filter(Bill::isPaid)
-                .mapToDouble(Bill::getTotalAmount)
-                .sum();
-        cardRevenue.setValue(String.format("%.2f", revenue));
+        cardRevenue.setValue(String.format("%.2f", metrics.getPaidRevenue()));
 
 
         /* ---------------- STAFF COUNT ---------------- */
@@ -82,10 +73,11 @@ public class RestaurantDashboardPanel extends JPanel {
 
 
         /* ---------------- RESERVATIONS TODAY ---------------- */
-        long todayReservations = engine.getReservationService().getAllReservations()
-                .stream()
-                .filter(r -> r.getStart().toLocalDate().equals(LocalDate.now()))
-                .count();
-        cardReservations.setValue(String.valueOf(todayReservations));
+        cardReservations.setValue(String.valueOf(metrics.getReservationsOn(LocalDate.now())));
+
+
+        /* ---------------- REORDER LATENCY ---------------- */
+        cardReorderLatency.setValue(String.format("%.1f ms avg (%d)",
+                metrics.getAvgReorderLatencyMillis(), metrics.getReordersPlaced()));
     }
 }
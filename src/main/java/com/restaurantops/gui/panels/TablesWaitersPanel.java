@@ -1,13 +1,13 @@
 package com.restaurantops.gui.panels;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.gui.components.KeyedTableModel;
 import com.restaurantops.model.Table;
 import com.restaurantops.model.Waiter;
 import com.restaurantops.service.TableService;
 import com.restaurantops.service.WaiterService;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
 
@@ -18,7 +18,7 @@ public class TablesWaitersPanel extends JPanel {
     private final WaiterService waiterService;
 
     private JTable tableGrid;
-    private DefaultTableModel tableModel;
+    private KeyedTableModel<Integer, Table> tableModel;
 
     private JComboBox<String> waiterDropdown;
 
@@ -82,11 +82,11 @@ public class TablesWaitersPanel extends JPanel {
 
     private JScrollPane buildTableListPanel() {
 
-        tableModel = new DefaultTableModel(
-                new Object[]{"Table", "Cap", "State", "Waiter", "ResID", "Merged"}, 0
-        ) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        tableModel = new KeyedTableModel<>(
+                new String[]{"Table", "Cap", "State", "Waiter", "ResID", "Merged"},
+                Table::getTableNumber,
+                TablesWaitersPanel::tableRow
+        );
 
         tableGrid = new JTable(tableModel);
         tableGrid.getSelectionModel().addListSelectionListener(e -> showSelectedTable());
@@ -95,31 +95,31 @@ public class TablesWaitersPanel extends JPanel {
     }
 
     private void refreshTableList() {
-        tableModel.setRowCount(0);
-
-        for (Table t : tableService.listTables()) {
-
-            String waiterStr = t.getAssignedWaiter()
-                    .map(w -> w.getWaiterId() + ": " + w.getName())
-                    .orElse("-");
-
-            String res = t.getCurrentReservation()
-                    .map(r -> String.valueOf(r.getReservationId()))
-                    .orElse("-");
-
-            String merged = t.isMerged()
-                    ? t.getMergedFrom().toString()
-                    : "-";
-
-            tableModel.addRow(new Object[]{
-                    t.getTableNumber(),
-                    t.getCapacity(),
-                    t.getState(),
-                    waiterStr,
-                    res,
-                    merged
-            });
-        }
+        tableModel.sync(tableService.listTables());
+        showSelectedTable();
+    }
+
+    private static Object[] tableRow(Table t) {
+        String waiterStr = t.getAssignedWaiter()
+                .map(w -> w.getWaiterId() + ": " + w.getName())
+                .orElse("-");
+
+        String res = t.getCurrentReservation()
+                .map(r -> String.valueOf(r.getReservationId()))
+                .orElse("-");
+
+        String merged = t.isMerged()
+                ? t.getMergedFrom().toString()
+                : "-";
+
+        return new Object[]{
+                t.getTableNumber(),
+                t.getCapacity(),
+                t.getState(),
+                waiterStr,
+                res,
+                merged
+        };
     }
 
     /* ----------------------------------------------------
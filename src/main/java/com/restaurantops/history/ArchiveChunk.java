@@ -0,0 +1,98 @@
+package com.restaurantops.history;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * A fixed block of {@value #ROWS} archived orders stored column by column.
+ * Chunks fill on the heap; a full chunk may be copied into a mapped file
+ * region and read from there instead.
+ */
+abstract class ArchiveChunk {
+
+    static final int SHIFT = 12;
+    static final int ROWS = 1 << SHIFT;
+    static final int MASK = ROWS - 1;
+
+    // Column offsets within a spilled chunk
+    private static final int ORDER_ID = 0;
+    private static final int TABLE = ORDER_ID + ROWS * Integer.BYTES;
+    private static final int ITEM = TABLE + ROWS * Integer.BYTES;
+    private static final int QUANTITY = ITEM + ROWS * Integer.BYTES;
+    private static final int PLACED = QUANTITY + ROWS * Integer.BYTES;
+    private static final int CLOSED = PLACED + ROWS * Long.BYTES;
+    private static final int STATUS = CLOSED + ROWS * Long.BYTES;
+    private static final int CATEGORY = STATUS + ROWS;
+    static final int BYTES = CATEGORY + ROWS;
+
+    abstract int orderId(int i);
+    abstract int tableNumber(int i);
+    abstract int itemRef(int i);
+    abstract int quantity(int i);
+    abstract long placedMillis(int i);
+    abstract long closedMillis(int i);
+    abstract byte status(int i);
+    abstract byte category(int i);
+
+    static final class Heap extends ArchiveChunk {
+        private final int[] orderIds = new int[ROWS];
+        private final int[] tables = new int[ROWS];
+        private final int[] itemRefs = new int[ROWS];
+        private final int[] quantities = new int[ROWS];
+        private final long[] placed = new long[ROWS];
+        private final long[] closed = new long[ROWS];
+        private final byte[] statuses = new byte[ROWS];
+        private final byte[] categories = new byte[ROWS];
+
+        void set(int i, int orderId, int table, int itemRef, int quantity,
+                 long placedMillis, long closedMillis, byte status, byte category) {
+            orderIds[i] = orderId;
+            tables[i] = table;
+            itemRefs[i] = itemRef;
+            quantities[i] = quantity;
+            placed[i] = placedMillis;
+            closed[i] = closedMillis;
+            statuses[i] = status;
+            categories[i] = category;
+        }
+
+        /** Copies this (full) chunk into {@code buf} and returns a chunk reading from it. */
+        Mapped spillTo(MappedByteBuffer buf) {
+            buf.slice(ORDER_ID, ROWS * Integer.BYTES).asIntBuffer().put(orderIds);
+            buf.slice(TABLE, ROWS * Integer.BYTES).asIntBuffer().put(tables);
+            buf.slice(ITEM, ROWS * Integer.BYTES).asIntBuffer().put(itemRefs);
+            buf.slice(QUANTITY, ROWS * Integer.BYTES).asIntBuffer().put(quantities);
+            buf.slice(PLACED, ROWS * Long.BYTES).asLongBuffer().put(placed);
+            buf.slice(CLOSED, ROWS * Long.BYTES).asLongBuffer().put(closed);
+            buf.put(STATUS, statuses);
+            buf.put(CATEGORY, categories);
+            return new Mapped(buf);
+        }
+
+        @Override int orderId(int i) { return orderIds[i]; }
+        @Override int tableNumber(int i) { return tables[i]; }
+        @Override int itemRef(int i) { return itemRefs[i]; }
+        @Override int quantity(int i) { return quantities[i]; }
+        @Override long placedMillis(int i) { return placed[i]; }
+        @Override long closedMillis(int i) { return closed[i]; }
+        @Override byte status(int i) { return statuses[i]; }
+        @Override byte category(int i) { return categories[i]; }
+    }
+
+    static final class Mapped extends ArchiveChunk {
+        private final ByteBuffer buf;
+
+        Mapped(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override int orderId(int i) { return buf.getInt(ORDER_ID + i * Integer.BYTES); }
+        @Override int tableNumber(int i) { return buf.getInt(TABLE + i * Integer.BYTES); }
+        @Override int itemRef(int i) { return buf.getInt(ITEM + i * Integer.BYTES); }
+        @Override int quantity(int i) { return buf.getInt(QUANTITY + i * Integer.BYTES); }
+        @Override long placedMillis(int i) { return buf.getLong(PLACED + i * Long.BYTES); }
+        @Override long closedMillis(int i) { return buf.getLong(CLOSED + i * Long.BYTES); }
+        @Override byte status(int i) { return buf.get(STATUS + i); }
+        @Override byte category(int i) { return buf.get(CATEGORY + i); }
+    }
+}
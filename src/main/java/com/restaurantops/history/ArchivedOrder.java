@@ -0,0 +1,46 @@
+package com.restaurantops.history;
+
+import com.restaurantops.journal.Journal;
+import com.restaurantops.model.MenuItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
+import com.restaurantops.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/** One finished order read back from the {@link OrderArchive}. */
+public record ArchivedOrder(int orderId,
+                            int tableNumber,
+                            MenuItem item,
+                            int quantity,
+                            long placedMillis,
+                            long closedMillis,
+                            OrderStatus status,
+                            OrderCategory category) {
+
+    public LocalDateTime getTimestamp() {
+        return Journal.fromMillis(placedMillis);
+    }
+
+    public double getTotal() {
+        return item.getPrice() * quantity;
+    }
+
+    /** A detached Order carrying the same values, for callers that need one. */
+    public Order toOrder() {
+        Order order = new Order(orderId, tableNumber, item, quantity, getTimestamp(), status);
+        order.setCategory(category);
+        order.setClosedMillis(closedMillis);
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return "Order#" + orderId +
+                " | Table " + tableNumber +
+                " | " + item.getName() +
+                " x" + quantity +
+                " | Cat=" + category +
+                " | Status: " + status;
+    }
+}
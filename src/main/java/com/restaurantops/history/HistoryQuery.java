@@ -0,0 +1,69 @@
+package com.restaurantops.history;
+
+import com.restaurantops.model.MenuItem;
+import com.restaurantops.model.OrderStatus;
+
+/**
+ * Filter over the order archive. Every condition is checked against the
+ * primitive columns, so rows that don't match are never materialised; a
+ * table filter only visits that table's rows.
+ * Queries are immutable; each method returns a narrowed copy.
+ */
+public final class HistoryQuery {
+
+    private static final int ANY = Integer.MIN_VALUE;
+    private static final HistoryQuery ALL = new HistoryQuery(ANY, ANY, -1, Long.MIN_VALUE, Long.MAX_VALUE);
+
+    private final int table;
+    private final int itemId;
+    private final int status;
+    private final long fromMillis;
+    private final long toMillis;
+
+    private HistoryQuery(int table, int itemId, int status, long fromMillis, long toMillis) {
+        this.table = table;
+        this.itemId = itemId;
+        this.status = status;
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+    }
+
+    public static HistoryQuery all() {
+        return ALL;
+    }
+
+    public HistoryQuery table(int tableNumber) {
+        return new HistoryQuery(tableNumber, itemId, status, fromMillis, toMillis);
+    }
+
+    public HistoryQuery item(int menuItemId) {
+        return new HistoryQuery(table, menuItemId, status, fromMillis, toMillis);
+    }
+
+    public HistoryQuery status(OrderStatus s) {
+        return new HistoryQuery(table, itemId, s.ordinal(), fromMillis, toMillis);
+    }
+
+    /** Orders placed in [from, to), epoch millis. */
+    public HistoryQuery placedBetween(long from, long to) {
+        return new HistoryQuery(table, itemId, status, from, to);
+    }
+
+    boolean hasTable() {
+        return table != ANY;
+    }
+
+    int tableNumber() {
+        return table;
+    }
+
+    boolean matches(ArchiveChunk c, int i, MenuItem[] items) {
+        if (table != ANY && c.tableNumber(i) != table) return false;
+        if (status >= 0 && c.status(i) != status) return false;
+        if (fromMillis != Long.MIN_VALUE || toMillis != Long.MAX_VALUE) {
+            long placed = c.placedMillis(i);
+            if (placed < fromMillis || placed >= toMillis) return false;
+        }
+        return itemId == ANY || items[c.itemRef(i)].getId() == itemId;
+    }
+}
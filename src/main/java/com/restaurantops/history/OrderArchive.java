@@ -0,0 +1,389 @@
+package com.restaurantops.history;
+
+import com.restaurantops.journal.Journal;
+import com.restaurantops.model.MenuItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.util.LoggerService;
+import com.restaurantops.util.TickClock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Finished orders, compacted into columns of primitives. Each order becomes
+ * one row: order id, table, item, quantity, placed and closed times, final
+ * status and category. Menu items are stored once in a dictionary and
+ * referenced by index. Rows live in fixed chunks; readers stream them
+ * without locking, and rows are only ever appended. Each table keeps the
+ * list of its own row numbers, so a table's history costs only its rows.
+ *
+ * With {@code -Drestaurantops.archive.spillDir=DIR} every full chunk is
+ * copied into a memory-mapped scratch file in DIR and its heap arrays are
+ * released, leaving the OS to page history in and out. The file is scratch
+ * space only.
+ *
+ * Durability is separate: {@link #persist} appends the rows archived since
+ * its last call to an append-only file beside the journal, and {@link #load}
+ * reads them back on recovery, so journal snapshots never carry history.
+ */
+public class OrderArchive {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final OrderCategory[] CATEGORIES = OrderCategory.values();
+
+    private volatile ArchiveChunk[] chunks = new ArchiveChunk[0];
+    private volatile int size = 0;
+    private ArchiveChunk.Heap tail;
+
+    // row + 1 by order id; 0 = not archived
+    private volatile int[] rowById = new int[1024];
+
+    private final Map<Integer, TableRows> rowsByTable = new ConcurrentHashMap<>();
+
+    private final Map<ItemKey, Integer> itemRefs = new HashMap<>();
+    private volatile MenuItem[] items = new MenuItem[16];
+    private int itemCount = 0;
+
+    private final Path spillDir;
+    private final LoggerService logger;
+    private FileChannel spillFile;
+    private long spillOffset = 0;
+    private int spilledChunks = 0;
+
+    // Fixed part of a persisted row; item name and menu category follow it
+    private static final int PERSISTED_ROW = 4 + 4 + 4 + 8 + 4 + 8 + 8 + 1 + 1 + 2 + 2;
+
+    private final Object persistLock = new Object();
+    // Guarded by persistLock
+    private int persistedRows = 0;
+    private long persistedBytes = 0;
+
+    public OrderArchive() {
+        this(null, null);
+    }
+
+    public OrderArchive(Path spillDir, LoggerService logger) {
+        this.spillDir = spillDir;
+        this.logger = logger;
+    }
+
+    public static OrderArchive fromSystemProperties(LoggerService logger) {
+        String dir = System.getProperty("restaurantops.archive.spillDir");
+        return new OrderArchive(dir == null || dir.isBlank() ? null : Path.of(dir), logger);
+    }
+
+    // ----------------------------
+    //  WRITES
+    // ----------------------------
+
+    /** @return false if the order was already archived */
+    public synchronized boolean append(Order order) {
+        long closed = order.getClosedMillis();
+        return appendRow(order.getOrderId(), order.getTableNumber(), order.getItem(), order.getQuantity(),
+                Journal.toMillis(order.getTimestamp()), closed == 0 ? TickClock.millis() : closed,
+                (byte) order.getStatus().ordinal(), (byte) order.getCategory().ordinal());
+    }
+
+    private boolean appendRow(int id, int table, MenuItem item, int quantity,
+                              long placedMillis, long closedMillis, byte status, byte category) {
+        int[] index = rowById;
+        if (id >= 0 && id < index.length && index[id] != 0) return false;
+
+        int row = size;
+        int offset = row & ArchiveChunk.MASK;
+        if (offset == 0) {
+            tail = new ArchiveChunk.Heap();
+            ArchiveChunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[grown.length - 1] = tail;
+            chunks = grown;
+        }
+
+        tail.set(offset, id, table, itemRef(item), quantity, placedMillis, closedMillis, status, category);
+
+        if (id >= 0) {
+            if (id >= index.length) index = Arrays.copyOf(index, Math.max(id + 1, index.length * 2));
+            index[id] = row + 1;
+            rowById = index;
+        }
+        size = row + 1;
+        rowsByTable.computeIfAbsent(table, t -> new TableRows()).add(row);
+
+        if (offset == ArchiveChunk.MASK && spillDir != null) spill(row >>> ArchiveChunk.SHIFT);
+        return true;
+    }
+
+    private int itemRef(MenuItem item) {
+        ItemKey key = new ItemKey(item.getId(), item.getName(), item.getPrice(), item.getCategory());
+        Integer ref = itemRefs.get(key);
+        if (ref != null) return ref;
+
+        MenuItem[] dict = items;
+        if (itemCount == dict.length) dict = Arrays.copyOf(dict, dict.length * 2);
+        dict[itemCount] = item;
+        items = dict;
+        itemRefs.put(key, itemCount);
+        return itemCount++;
+    }
+
+    private void spill(int chunk) {
+        ArchiveChunk.Heap full = (ArchiveChunk.Heap) chunks[chunk];
+        try {
+            if (spillFile == null) {
+                Files.createDirectories(spillDir);
+                Path file = Files.createTempFile(spillDir, "orders-archive-", ".bin");
+                file.toFile().deleteOnExit();
+                spillFile = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            ArchiveChunk mapped = full.spillTo(
+                    spillFile.map(FileChannel.MapMode.READ_WRITE, spillOffset, ArchiveChunk.BYTES));
+            spillOffset += ArchiveChunk.BYTES;
+            spilledChunks++;
+
+            ArchiveChunk[] swapped = chunks.clone();
+            swapped[chunk] = mapped;
+            chunks = swapped;
+        } catch (IOException | RuntimeException e) {
+            // Keep the chunk on the heap; history stays complete, just not paged out
+            if (logger != null) logger.log("[ORDER] Archive spill failed, keeping history in memory: " + e.getMessage());
+        }
+    }
+
+    // ----------------------------
+    //  PERSISTENCE
+    // ----------------------------
+
+    /**
+     * Appends every row archived since the last call to {@code file} and
+     * forces it to disk. Anything past the last persisted length (a write cut
+     * short by a crash) is overwritten. The returned mark is what a snapshot
+     * relying on the file must record.
+     */
+    public Mark persist(Path file) throws IOException {
+        synchronized (persistLock) {
+            // Size first: the chunks and dictionary it was published after are at least that new
+            int n = size;
+            ArchiveChunk[] cs = chunks;
+            MenuItem[] dict = items;
+
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                ch.truncate(persistedBytes);
+                long pos = persistedBytes;
+                ByteBuffer buf = ByteBuffer.allocate(64 << 10);
+                // Encoded once per dictionary entry
+                byte[][] names = new byte[dict.length][];
+                byte[][] menuCategories = new byte[dict.length][];
+                for (int r = persistedRows; r < n; r++) {
+                    ArchiveChunk c = cs[r >>> ArchiveChunk.SHIFT];
+                    int i = r & ArchiveChunk.MASK;
+                    int ref = c.itemRef(i);
+                    MenuItem item = dict[ref];
+                    if (names[ref] == null) {
+                        names[ref] = utf8(item.getName());
+                        menuCategories[ref] = utf8(item.getCategory());
+                    }
+                    byte[] name = names[ref];
+                    byte[] menuCategory = menuCategories[ref];
+
+                    int len = PERSISTED_ROW + name.length + menuCategory.length;
+                    if (buf.remaining() < len) {
+                        pos += drain(ch, buf, pos);
+                        if (buf.capacity() < len) buf = ByteBuffer.allocate(len);
+                    }
+                    buf.putInt(c.orderId(i)).putInt(c.tableNumber(i))
+                            .putInt(item.getId()).putDouble(item.getPrice())
+                            .putInt(c.quantity(i)).putLong(c.placedMillis(i)).putLong(c.closedMillis(i))
+                            .put(c.status(i)).put(c.category(i))
+                            .putShort((short) name.length).put(name)
+                            .putShort((short) menuCategory.length).put(menuCategory);
+                }
+                pos += drain(ch, buf, pos);
+                ch.force(false);
+
+                persistedRows = n;
+                persistedBytes = pos;
+                return new Mark(n, pos);
+            }
+        }
+    }
+
+    /**
+     * Reads back the rows {@code mark} covers from a file written by
+     * {@link #persist}, ignoring anything after them. Runs on an empty
+     * archive, before any order is appended.
+     */
+    public synchronized void load(Path file, Mark mark) throws IOException {
+        if (mark.rows() == 0) return;
+        int maxId = 0;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < mark.bytes()) {
+                throw new IOException("Order archive " + file + " is shorter than its snapshot mark");
+            }
+            ByteBuffer in = ch.map(FileChannel.MapMode.READ_ONLY, 0, mark.bytes());
+            for (int r = 0; r < mark.rows(); r++) {
+                int id = in.getInt();
+                int table = in.getInt();
+                int itemId = in.getInt();
+                double price = in.getDouble();
+                int quantity = in.getInt();
+                long placed = in.getLong();
+                long closed = in.getLong();
+                byte status = in.get();
+                byte category = in.get();
+                String name = readUtf8(in);
+                String menuCategory = readUtf8(in);
+
+                appendRow(id, table, item(itemId, name, price, menuCategory), quantity,
+                        placed, closed, status, category);
+                maxId = Math.max(maxId, id);
+            }
+        }
+        Order.advanceIdsPast(maxId);
+        synchronized (persistLock) {
+            persistedRows = size;
+            persistedBytes = mark.bytes();
+        }
+    }
+
+    // Reuses the dictionary entry when the item is already known
+    private MenuItem item(int id, String name, double price, String menuCategory) {
+        Integer ref = itemRefs.get(new ItemKey(id, name, price, menuCategory));
+        return ref != null ? items[ref] : new MenuItem(id, name, price, menuCategory, null);
+    }
+
+    private static long drain(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        buf.flip();
+        long start = pos;
+        while (buf.hasRemaining()) pos += ch.write(buf, pos);
+        buf.clear();
+        return pos - start;
+    }
+
+    private static byte[] utf8(String s) {
+        return (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readUtf8(ByteBuffer in) {
+        byte[] b = new byte[in.getShort()];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    // ----------------------------
+    //  READS
+    // ----------------------------
+
+    public int size() {
+        return size;
+    }
+
+    /** Rows held in mapped chunks rather than on the heap. */
+    public synchronized int getSpilledRows() {
+        return spilledChunks * ArchiveChunk.ROWS;
+    }
+
+    /** Orders archived for one table. */
+    public int tableSize(int tableNumber) {
+        TableRows t = rowsByTable.get(tableNumber);
+        return t == null ? 0 : t.count;
+    }
+
+    /**
+     * The table's archived orders from its {@code fromIndex}-th onwards,
+     * oldest first; a reader can resume from the {@link #tableSize} it last saw.
+     */
+    public Stream<ArchivedOrder> streamTable(int tableNumber, int fromIndex) {
+        return tableRows(tableNumber, fromIndex, HistoryQuery.all());
+    }
+
+    public boolean contains(int orderId) {
+        return get(orderId) != null;
+    }
+
+    public ArchivedOrder get(int orderId) {
+        int n = size;
+        int[] index = rowById;
+        if (orderId < 0 || orderId >= index.length) return null;
+        int row = index[orderId] - 1;
+        return row < 0 || row >= n ? null : row(chunks, items, row);
+    }
+
+    /** Every archived order, oldest first. */
+    public Stream<ArchivedOrder> stream() {
+        return stream(HistoryQuery.all());
+    }
+
+    /** Archived orders matching {@code query}, oldest first, read lazily. */
+    public Stream<ArchivedOrder> stream(HistoryQuery query) {
+        return rows(0, query);
+    }
+
+    /**
+     * Orders archived at or after position {@code fromRow}; rows are never
+     * reordered, so a reader can resume from the size it last saw.
+     */
+    public Stream<ArchivedOrder> streamFrom(int fromRow) {
+        return rows(fromRow, HistoryQuery.all());
+    }
+
+    private Stream<ArchivedOrder> rows(int fromRow, HistoryQuery query) {
+        if (query.hasTable() && fromRow == 0) return tableRows(query.tableNumber(), 0, query);
+        int n = size;
+        ArchiveChunk[] cs = chunks;
+        MenuItem[] dict = items;
+        return IntStream.range(Math.max(0, fromRow), n)
+                .filter(r -> query.matches(cs[r >>> ArchiveChunk.SHIFT], r & ArchiveChunk.MASK, dict))
+                .mapToObj(r -> row(cs, dict, r));
+    }
+
+    private Stream<ArchivedOrder> tableRows(int tableNumber, int fromIndex, HistoryQuery query) {
+        TableRows t = rowsByTable.get(tableNumber);
+        if (t == null) return Stream.empty();
+        // Count first: the rows array and chunks it was published after are at least that new
+        int n = t.count;
+        int[] rows = t.rows;
+        ArchiveChunk[] cs = chunks;
+        MenuItem[] dict = items;
+        return IntStream.range(Math.max(0, fromIndex), n)
+                .map(i -> rows[i])
+                .filter(r -> query.matches(cs[r >>> ArchiveChunk.SHIFT], r & ArchiveChunk.MASK, dict))
+                .mapToObj(r -> row(cs, dict, r));
+    }
+
+    private static ArchivedOrder row(ArchiveChunk[] cs, MenuItem[] dict, int row) {
+        ArchiveChunk c = cs[row >>> ArchiveChunk.SHIFT];
+        int i = row & ArchiveChunk.MASK;
+        return new ArchivedOrder(c.orderId(i), c.tableNumber(i), dict[c.itemRef(i)], c.quantity(i),
+                c.placedMillis(i), c.closedMillis(i), STATUSES[c.status(i)], CATEGORIES[c.category(i)]);
+    }
+
+    /** How much of the archive a persisted file holds: its row count and length. */
+    public record Mark(int rows, long bytes) {}
+
+    private record ItemKey(int id, String name, double price, String category) {}
+
+    // One table's row numbers in archive order; appended under the archive lock
+    private static final class TableRows {
+        volatile int[] rows = new int[16];
+        volatile int count = 0;
+
+        void add(int row) {
+            int[] r = rows;
+            if (count == r.length) rows = r = Arrays.copyOf(r, r.length * 2);
+            r[count] = row;
+            count = count + 1;
+        }
+    }
+}
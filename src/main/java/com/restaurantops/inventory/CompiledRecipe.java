@@ -0,0 +1,23 @@
+package com.restaurantops.inventory;
+
+/**
+ * A dish's recipe resolved against the {@link IngredientRegistry}: parallel
+ * arrays of ingredient id and amount per serving. Dishes without a recipe
+ * compile to a single ingredient (the dish itself) at one per serving.
+ */
+final class CompiledRecipe {
+
+    final String dishName;
+    final int[] ingredientIds;
+    final int[] perServing;
+
+    CompiledRecipe(String dishName, int[] ingredientIds, int[] perServing) {
+        this.dishName = dishName;
+        this.ingredientIds = ingredientIds;
+        this.perServing = perServing;
+    }
+
+    int size() {
+        return ingredientIds.length;
+    }
+}
@@ -24,14 +24,12 @@ public class DeliveryWorkerThread implements Runnable {
             while (!Thread.currentThread().isInterrupted()) {
                 SupplierOrder order = supplierService.getQueue().take();
 
-                inventoryService.restock(
-                        order.getIngredient(),
-                        order.getQuantity(),
-                        System.currentTimeMillis() + 86400000
-                );
+                long expiry = System.currentTimeMillis() + 86400000;
+                order.getLines().forEach((ingredient, qty) ->
+                        inventoryService.restock(ingredient, qty, expiry));
 
-                logger.log("[DELIVERY] Arrived: " +
-                        order.getQuantity() + " x " + order.getIngredient());
+                logger.log("[DELIVERY] Arrived: " + order);
+                supplierService.completeDelivery(order);
             }
         } catch (InterruptedException ignored) { }
     }
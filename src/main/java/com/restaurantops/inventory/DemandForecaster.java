@@ -0,0 +1,74 @@
+package com.restaurantops.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exponentially weighted consumption rate per ingredient, in units per
+ * second, derived from successful reservations.
+ *
+ * Reservations only add to a per-ingredient counter and queue the
+ * ingredient the first time it is used after a sample. {@link #sample()}
+ * folds the queued counters into their rates, so its cost follows the
+ * ingredients actually in use, not the size of the inventory. Ingredients
+ * that go quiet are not revisited; their rate decays on read.
+ *
+ * -Drestaurantops.forecast.windowSeconds=N   smoothing time constant (default 120)
+ */
+public class DemandForecaster {
+
+    private final double windowNanos;
+    private final Queue<IngredientRegistry.Slot> used = new ConcurrentLinkedQueue<>();
+
+    public DemandForecaster(long windowSeconds) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+    }
+
+    public static DemandForecaster fromSystemProperties() {
+        return new DemandForecaster(Long.getLong("restaurantops.forecast.windowSeconds", 120L));
+    }
+
+    /** Reservation path: counts units taken from an ingredient. */
+    void recordUse(IngredientRegistry.Slot slot, int units) {
+        slot.used.add(units);
+        if (!slot.usageQueued) {
+            slot.usageQueued = true;
+            used.add(slot);
+        }
+    }
+
+    /**
+     * Folds usage since the last sample into each used ingredient's rate.
+     *
+     * @return the ingredients whose rate changed
+     */
+    synchronized List<IngredientRegistry.Slot> sample() {
+        long now = System.nanoTime();
+        List<IngredientRegistry.Slot> changed = new ArrayList<>();
+        IngredientRegistry.Slot slot;
+        while ((slot = used.poll()) != null) {
+            // Clear the flag first: usage recorded from here on queues the slot again
+            slot.usageQueued = false;
+            long units = slot.used.sumThenReset();
+            if (units == 0) continue;
+
+            slot.usageRate = decayed(slot, now) + units * 1e9 / windowNanos;
+            slot.usageRateNanos = now;
+            if (!changed.contains(slot)) changed.add(slot);
+        }
+        return changed;
+    }
+
+    /** Smoothed units per second as of now. */
+    synchronized double ratePerSecond(IngredientRegistry.Slot slot) {
+        return decayed(slot, System.nanoTime());
+    }
+
+    private double decayed(IngredientRegistry.Slot slot, long now) {
+        if (slot.usageRate == 0) return 0;
+        return slot.usageRate * Math.exp(-(now - slot.usageRateNanos) / windowNanos);
+    }
+}
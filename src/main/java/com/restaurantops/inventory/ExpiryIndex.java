@@ -0,0 +1,45 @@
+package com.restaurantops.inventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Ingredient lots ordered by expiry timestamp. A sweep pops only the entries
+ * that are due instead of scanning all stock, and checking whether anything
+ * is due is a volatile read. Entries are not removed when a lot is used up
+ * or restocked over; a stale entry just makes the sweep look at an
+ * ingredient that has nothing to expire.
+ */
+final class ExpiryIndex {
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private volatile long nextDue = Long.MAX_VALUE;
+
+    synchronized void schedule(int ingredientId, long expiryMillis) {
+        queue.add(new Entry(expiryMillis, ingredientId));
+        nextDue = queue.peek().expiry();
+    }
+
+    boolean hasDue(long now) {
+        return now > nextDue;
+    }
+
+    /** Removes and returns the distinct ingredient ids with a lot expired before {@code now}. */
+    synchronized List<Integer> pollDue(long now) {
+        List<Integer> due = new ArrayList<>();
+        while (!queue.isEmpty() && now > queue.peek().expiry()) {
+            int id = queue.poll().ingredientId();
+            if (!due.contains(id)) due.add(id);
+        }
+        nextDue = queue.isEmpty() ? Long.MAX_VALUE : queue.peek().expiry();
+        return due;
+    }
+
+    private record Entry(long expiry, int ingredientId) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            return Long.compare(expiry, o.expiry);
+        }
+    }
+}
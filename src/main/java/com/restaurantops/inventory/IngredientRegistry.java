@@ -0,0 +1,84 @@
+package com.restaurantops.inventory;
+
+import com.restaurantops.model.InventoryItem;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interns normalized ingredient names to dense int ids. Each id owns a
+ * {@link Slot} holding the ingredient's stock item and low-stock state, so
+ * the reservation path indexes an array instead of hashing names. Ids are
+ * never reused and the slot table only grows.
+ */
+final class IngredientRegistry {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final int defaultThreshold;
+    private volatile Slot[] slots = new Slot[0];
+
+    IngredientRegistry(int defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    /** Id for a normalized name, assigning the next one on first sight. */
+    int intern(String key) {
+        Integer id = ids.get(key);
+        if (id != null) return id;
+
+        synchronized (this) {
+            id = ids.get(key);
+            if (id != null) return id;
+
+            int next = slots.length;
+            Slot[] grown = Arrays.copyOf(slots, next + 1);
+            grown[next] = new Slot(next, key, defaultThreshold);
+            // Publish the slot before the id so anyone who finds the id can index it
+            slots = grown;
+            ids.put(key, next);
+            return next;
+        }
+    }
+
+    /** Id for a normalized name, or -1 if it was never interned. */
+    int find(String key) {
+        Integer id = ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    Slot slot(int id) {
+        return slots[id];
+    }
+
+    Slot slotFor(String key) {
+        int id = intern(key);
+        return slots[id];
+    }
+
+    int size() {
+        return slots.length;
+    }
+
+    static final class Slot {
+        final int id;
+        final String key;
+        volatile InventoryItem item;
+        volatile int threshold;
+        volatile boolean low;
+
+        // Usage for the demand forecast: units reserved since the last sample,
+        // and the smoothed rate (guarded by the forecaster)
+        final LongAdder used = new LongAdder();
+        volatile boolean usageQueued;
+        double usageRate;
+        long usageRateNanos;
+
+        Slot(int id, String key, int threshold) {
+            this.id = id;
+            this.key = key;
+            this.threshold = threshold;
+        }
+    }
+}
@@ -1,23 +1,15 @@
 package com.restaurantops.inventory;
 
-import com.restaurantops.model.InventoryItem;
-import com.restaurantops.util.LoggerService;
-import com.restaurantops.service.SupplierService;
-
-import java.util.Map;
-
+/**
+ * Periodic expiry sweep. Low-stock reordering is event-driven through
+ * {@link ReorderPipeline} and no longer polled here.
+ */
 public class InventoryMonitorThread implements Runnable {
 
     private final InventoryService inventoryService;
-    private final SupplierService supplierService;
-    private final LoggerService logger;
 
-    public InventoryMonitorThread(InventoryService inventoryService,
-                                  SupplierService supplierService,
-                                  LoggerService logger) {
+    public InventoryMonitorThread(InventoryService inventoryService) {
         this.inventoryService = inventoryService;
-        this.supplierService = supplierService;
-        this.logger = logger;
     }
 
     @Override
@@ -26,12 +18,6 @@ public class InventoryMonitorThread implements Runnable {
             try {
                 inventoryService.refreshExpiries();
 
-                Map<String, InventoryItem> low = inventoryService.getLowStockItems();
-                if (!low.isEmpty()) {
-                    logger.log("[INVENTORY] Low stock detected: " + low.keySet());
-                    low.forEach((name, item) -> supplierService.placeOrder(name, inventoryService.getReorderQuantity(name)));
-                }
-
                 Thread.sleep(3000);
 
             } catch (InterruptedException e) {
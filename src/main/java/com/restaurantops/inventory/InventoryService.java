@@ -1,15 +1,26 @@
 package com.restaurantops.inventory;
 
+import com.restaurantops.journal.Journal;
 import com.restaurantops.model.InventoryItem;
 import com.restaurantops.model.MenuItem;
 import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
 import com.restaurantops.model.Recipe;
+import com.restaurantops.model.Ticket;
 import com.restaurantops.service.RecipeService;
+import com.restaurantops.tracking.DashboardMetrics;
+import com.restaurantops.util.LogEvent;
 import com.restaurantops.util.LoggerService;
+import com.restaurantops.util.TickClock;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Thread-safe inventory service responsible for:
@@ -17,26 +28,73 @@ import java.util.Map;
  * - Removing expired stock
  * - Reporting low-stock conditions
  * - Restocking and updating expiries
+ *
+ * Reservation is lock-free: each ingredient is an atomic counter and a
+ * recipe is reserved by claiming its ingredients one CAS at a time, rolling
+ * back whatever was already claimed if any ingredient falls short. Orders
+ * that use disjoint ingredients (drinks vs. grill dishes) never touch the
+ * same memory, so reservation throughput scales with station workers.
+ *
+ * Ingredient names are interned to dense ids and each menu item's recipe is
+ * compiled to id/amount arrays when the menu loads, so reserving a menu
+ * order indexes arrays only: no name hashing, string work or allocation.
+ * The name-keyed map remains the public view of stock.
+ *
+ * Every delivery is a separate lot with its own expiry, used
+ * earliest-expiry first. Lots are indexed by expiry so a sweep only visits
+ * ingredients that actually have something expiring, and reservations check
+ * expiry against a cached clock tick, retiring an overdue lot on the spot
+ * rather than handing out its units.
  */
 public class InventoryService {
 
     private static final int DEFAULT_THRESHOLD = 5;
     private static final int DEFAULT_REORDER_QTY = 20;
 
-    private final Map<String, InventoryItem> inventory = new HashMap<>();
-    private final Map<String, Integer> reorderThresholds = new HashMap<>();
-    private final Map<String, Integer> reorderQuantities = new HashMap<>();
+    private final Map<String, InventoryItem> inventory = new ConcurrentHashMap<>();
+    private final Map<String, Integer> reorderThresholds = new ConcurrentHashMap<>();
+    private final Map<String, Integer> reorderQuantities = new ConcurrentHashMap<>();
+    private final Set<String> lowStock = ConcurrentHashMap.newKeySet();
+
+    private final IngredientRegistry registry = new IngredientRegistry(DEFAULT_THRESHOLD);
+    private final ExpiryIndex expiries = new ExpiryIndex();
+    private volatile CompiledRecipe[] recipesByMenuId = new CompiledRecipe[0];
 
     private final RecipeService recipeService;
     private final LoggerService logger;
+    private DashboardMetrics metrics;
+    private Journal journal;
+    private MenuAvailability availability;
+    private ReorderPipeline reorders;
+    private DemandForecaster forecaster;
 
     public InventoryService(RecipeService recipeService, LoggerService logger) {
         this.recipeService = recipeService;
         this.logger = logger;
     }
 
+    public void setMetrics(DashboardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    public void setAvailability(MenuAvailability availability) {
+        this.availability = availability;
+    }
+
+    public void setReorderPipeline(ReorderPipeline reorders) {
+        this.reorders = reorders;
+    }
+
+    public void setDemandForecaster(DemandForecaster forecaster) {
+        this.forecaster = forecaster;
+    }
+
     // Normalize ingredient names
-    private String key(String name) {
+    static String key(String name) {
         return name.toLowerCase().trim();
     }
 
@@ -44,42 +102,41 @@ public class InventoryService {
     //  ADD / RESTOCK
     // ----------------------------
 
-    public synchronized void addItem(String name, int qty, long expiryMillis) {
-        String k = key(name);
-        InventoryItem item = inventory.get(k);
+    public void addItem(String name, int qty, long expiryMillis) {
+        addLot(name, qty, expiryMillis);
+    }
 
-        if (item == null) {
-            inventory.put(k, new InventoryItem(name, qty, expiryMillis));
-        } else {
-            item.increase(qty);
-            if (expiryMillis > item.getExpiryTimestamp()) {
-                item.setExpiry(expiryMillis);
-            }
-        }
+    public void restock(String name, int qty, long newExpiryMillis) {
+        addLot(name, qty, newExpiryMillis);
+        logger.log("[INVENTORY] Restocked " + qty + " x " + name);
     }
 
-    public synchronized void restock(String name, int qty, long newExpiryMillis) {
+    // Stocks a new lot; an item retired by a concurrent sweep is replaced rather than topped up
+    private void addLot(String name, int qty, long expiryMillis) {
         String k = key(name);
-        InventoryItem existing = inventory.get(k);
-
-        if (existing == null) {
-            inventory.put(k, new InventoryItem(name, qty, newExpiryMillis));
-        } else {
-            existing.increase(qty);
-            existing.setExpiry(newExpiryMillis);
+        while (true) {
+            InventoryItem existing = inventory.putIfAbsent(k, new InventoryItem(name, qty, expiryMillis));
+            if (existing == null || existing.addLot(qty, expiryMillis)) break;
+            inventory.remove(k, existing);
         }
-
-        logger.log("[INVENTORY] Restocked " + qty + " x " + name);
+        IngredientRegistry.Slot slot = bindSlot(k);
+        expiries.schedule(slot.id, expiryMillis);
+        levelChanged(slot);
+        journalLevel(k);
     }
 
     // ----------------------------
     //  RESERVATION LOGIC
     // ----------------------------
 
-    public synchronized boolean reserveIngredients(Order order) {
+    public boolean reserveIngredients(Order order) {
         if (order == null || order.getItem() == null) return false;
 
         MenuItem item = order.getItem();
+        CompiledRecipe compiled = compiledFor(item.getId());
+        if (compiled != null) return reserveCompiled(compiled, order.getQuantity());
+
+        // Item not on the compiled menu: resolve the recipe by name
         Recipe recipe = recipeService.getRecipeForDish(key(item.getName()));
 
         if (recipe == null) {
@@ -91,104 +148,438 @@ public class InventoryService {
 
     private boolean reserveSingleItem(String key, int qty) {
         InventoryItem inv = inventory.get(key);
-        if (inv == null || inv.isExpired()) return false;
+        if (inv == null || isExpired(key, inv, TickClock.millis())) return false;
+        if (!inv.tryReserve(qty)) return false;
+        reserved(registry.slotFor(key), qty);
+        if (journal != null) journal.stockLevel(key, inv);
 
-        synchronized (inv) {
-            if (inv.getQuantity() < qty) return false;
-            inv.reduce(qty);
+        logger.log(LogEvent.INGREDIENT_RESERVED, key, null, qty);
+        return true;
+    }
+
+    /**
+     * Compiled reservation (all or nothing), indexed by ingredient id. The
+     * items claimed are held locally, so a shortfall releases and a success
+     * journals exactly those even if a slot's item is swapped meanwhile.
+     */
+    private boolean reserveCompiled(CompiledRecipe recipe, int servings) {
+        int n = Math.max(1, servings);
+        int[] ids = recipe.ingredientIds;
+        int[] per = recipe.perServing;
+        InventoryItem[] claimed = new InventoryItem[ids.length];
+        long now = TickClock.millis();
+
+        for (int i = 0; i < ids.length; i++) {
+            IngredientRegistry.Slot slot = registry.slot(ids[i]);
+            InventoryItem inv = slot.item;
+            LogEvent failure = null;
+            if (inv == null) {
+                failure = LogEvent.INGREDIENT_MISSING;
+            } else if (isExpired(slot.key, inv, now)) {
+                failure = LogEvent.INGREDIENT_EXPIRED;
+            } else if (!inv.tryReserve(per[i] * n)) {
+                failure = LogEvent.INGREDIENT_SHORT;
+            }
+
+            if (failure != null) {
+                for (int j = 0; j < i; j++) {
+                    claimed[j].release(per[j] * n);
+                    notifyAvailability(registry.slot(ids[j]));
+                }
+                logger.log(failure, slot.key, recipe.dishName, 0);
+                return false;
+            }
+            claimed[i] = inv;
         }
 
-        logger.log("[INVENTORY] Reserved " + qty + " x " + key);
+        if (journal != null) journalLevels(recipe, claimed);
+        for (int i = 0; i < ids.length; i++) {
+            IngredientRegistry.Slot slot = registry.slot(ids[i]);
+            reserved(slot, per[i] * n);
+            logger.log(LogEvent.INGREDIENT_RESERVED, slot.key, recipe.dishName, per[i] * n);
+        }
         return true;
     }
 
+    // The journal encodes a record per reservation anyway, so it may allocate
+    private void journalLevels(CompiledRecipe recipe, InventoryItem[] claimed) {
+        int count = recipe.size();
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) keys[i] = registry.slot(recipe.ingredientIds[i]).key;
+        journal.stockLevels(keys, claimed, count);
+    }
+
     /**
-     * Recipe-based reservation (atomic):
-     * 1. Verify all ingredients
-     * 2. Deduct all ingredients together
+     * Recipe-based reservation by ingredient name (all or nothing):
+     * 1. Claim each ingredient with a CAS on its counter
+     * 2. On the first shortfall, release everything already claimed
      */
-    public synchronized boolean reserveRecipe(Recipe recipe, int servings) {
-        Map<String, Integer> needed = new HashMap<>();
+    public boolean reserveRecipe(Recipe recipe, int servings) {
+        Map<String, Integer> ingredients = recipe.getIngredients();
+        String[] keys = new String[ingredients.size()];
+        int[] amounts = new int[ingredients.size()];
+        int count = 0;
+
+        for (Map.Entry<String, Integer> e : ingredients.entrySet()) {
+            keys[count] = key(e.getKey());
+            amounts[count] = e.getValue() * Math.max(1, servings);
+            count++;
+        }
+        return claimAll(keys, amounts, count, recipe.getDishName(), true);
+    }
+
+    /**
+     * Reserves a whole ticket in one pass: demand is summed per ingredient
+     * across its parts and claimed all or nothing, so each counter is
+     * touched once however many dishes on the ticket use it.
+     */
+    public boolean reserveTicket(Ticket ticket) {
+        Map<String, Integer> demand = new LinkedHashMap<>();
+        for (Order part : ticket.getParts()) addDemand(demand, part);
+
+        if (!claimDemand(demand, "Ticket#" + ticket.getTicketId(), true)) return false;
+        ticket.markReserved();
+        return true;
+    }
+
+    /**
+     * Reserves a station's micro-batch with one call. The batch's combined
+     * demand is claimed in a single pass; if anything falls short, the
+     * orders are reserved one by one so one short dish doesn't reject the
+     * rest. ACCEPTED orders already hold their ingredients (ticket parts,
+     * orders re-queued after an interrupted cook) and pass through.
+     *
+     * @return per-order reservation result, in batch order
+     */
+    public boolean[] reserveBatch(List<Order> orders) {
+        boolean[] reserved = new boolean[orders.size()];
+        Map<String, Integer> demand = new LinkedHashMap<>();
+
+        for (int i = 0; i < orders.size(); i++) {
+            if (orders.get(i).getStatus() == OrderStatus.ACCEPTED) reserved[i] = true;
+            else addDemand(demand, orders.get(i));
+        }
+        if (demand.isEmpty()) return reserved;
+
+        boolean all = claimDemand(demand, null, false);
+        for (int i = 0; i < orders.size(); i++) {
+            if (!reserved[i]) reserved[i] = all || reserveIngredients(orders.get(i));
+        }
+        return reserved;
+    }
 
-        // Phase 1 — Verify availability
+    // Resolves the recipe the way reserveIngredients does: compiled menu recipe, then by name
+    private void addDemand(Map<String, Integer> demand, Order order) {
+        CompiledRecipe compiled = compiledFor(order.getItem().getId());
+        if (compiled != null) {
+            int servings = Math.max(1, order.getQuantity());
+            for (int i = 0; i < compiled.ingredientIds.length; i++) {
+                demand.merge(registry.slot(compiled.ingredientIds[i]).key, compiled.perServing[i] * servings, Integer::sum);
+            }
+            return;
+        }
+
+        String dish = key(order.getItem().getName());
+        Recipe recipe = recipeService.getRecipeForDish(dish);
+        if (recipe == null) {
+            demand.merge(dish, order.getQuantity(), Integer::sum);
+            return;
+        }
+        int servings = Math.max(1, order.getQuantity());
         for (Map.Entry<String, Integer> e : recipe.getIngredients().entrySet()) {
-            String ing = key(e.getKey());
-            int perServing = e.getValue();
-            int totalNeeded = perServing * Math.max(1, servings);
+            demand.merge(key(e.getKey()), e.getValue() * servings, Integer::sum);
+        }
+    }
 
-            InventoryItem inv = inventory.get(ing);
+    private boolean claimDemand(Map<String, Integer> demand, String dish, boolean logFailure) {
+        String[] keys = new String[demand.size()];
+        int[] amounts = new int[demand.size()];
+        int count = 0;
+        for (Map.Entry<String, Integer> e : demand.entrySet()) {
+            keys[count] = e.getKey();
+            amounts[count] = e.getValue();
+            count++;
+        }
+        return claimAll(keys, amounts, count, dish, logFailure);
+    }
+
+    // Claims each amount with a CAS; on the first shortfall releases what was already claimed
+    private boolean claimAll(String[] keys, int[] amounts, int count, String dish, boolean logFailure) {
+        InventoryItem[] claimed = new InventoryItem[count];
+        long now = TickClock.millis();
+
+        for (int i = 0; i < count; i++) {
+            InventoryItem inv = inventory.get(keys[i]);
+            LogEvent failure = null;
             if (inv == null) {
-                logger.log("[INVENTORY] Missing ingredient: " + ing);
-                return false;
-            }
-            if (inv.isExpired()) {
-                logger.log("[INVENTORY] Ingredient expired: " + ing);
-                return false;
+                failure = LogEvent.INGREDIENT_MISSING;
+            } else if (isExpired(keys[i], inv, now)) {
+                failure = LogEvent.INGREDIENT_EXPIRED;
+            } else if (!inv.tryReserve(amounts[i])) {
+                failure = LogEvent.INGREDIENT_SHORT;
             }
-            if (inv.getQuantity() < totalNeeded) {
-                logger.log("[INVENTORY] Not enough " + ing + " for " + recipe.getDishName());
+
+            if (failure != null) {
+                rollback(claimed, amounts, i);
+                for (int j = 0; j < i; j++) notifyAvailability(keys[j]);
+                if (logFailure) logger.log(failure, keys[i], dish, 0);
                 return false;
             }
+            claimed[i] = inv;
+        }
 
-            needed.put(ing, totalNeeded);
+        if (journal != null) journal.stockLevels(keys, claimed, count);
+        for (int i = 0; i < count; i++) {
+            reserved(registry.slotFor(keys[i]), amounts[i]);
+            logger.log(LogEvent.INGREDIENT_RESERVED, keys[i], dish, amounts[i]);
         }
 
-        // Phase 2 — Deduct all ingredients
-        for (Map.Entry<String, Integer> e : needed.entrySet()) {
-            String ing = e.getKey();
-            int qty = e.getValue();
+        return true;
+    }
 
-            InventoryItem inv = inventory.get(ing);
-            synchronized (inv) {
-                inv.reduce(qty);
-            }
-            logger.log("[INVENTORY] Reserved " + qty + " x " + ing + " for " + recipe.getDishName());
+    private void rollback(InventoryItem[] claimed, int[] amounts, int count) {
+        for (int i = 0; i < count; i++) {
+            claimed[i].release(amounts[i]);
         }
+    }
 
-        return true;
+    /**
+     * Returns an order's ingredients to stock, e.g. for an order that held a
+     * reservation when the restaurant went down and is about to be re-queued.
+     */
+    public void releaseIngredients(Order order) {
+        Map<String, Integer> demand = new LinkedHashMap<>();
+        addDemand(demand, order);
+        for (Map.Entry<String, Integer> e : demand.entrySet()) {
+            InventoryItem inv = inventory.get(e.getKey());
+            if (inv == null) continue;
+            inv.release(e.getValue());
+            levelChanged(e.getKey());
+            journalLevel(e.getKey());
+        }
+    }
+
+    // ----------------------------
+    //  COMPILED RECIPES
+    // ----------------------------
+
+    /** Compiles every menu item's recipe to ingredient ids; called on menu load and change. */
+    public void compileMenu(List<MenuItem> menu) {
+        int maxId = -1;
+        for (MenuItem m : menu) maxId = Math.max(maxId, m.getId());
+
+        CompiledRecipe[] compiled = new CompiledRecipe[maxId + 1];
+        for (MenuItem m : menu) {
+            if (m.getId() >= 0) compiled[m.getId()] = compile(m);
+        }
+        recipesByMenuId = compiled;
+    }
+
+    // Same lookup as the by-name path: recipe by dish name, otherwise the dish is a stock item
+    CompiledRecipe compile(MenuItem item) {
+        String dish = key(item.getName());
+        Recipe recipe = recipeService.getRecipeForDish(dish);
+        if (recipe == null) {
+            return new CompiledRecipe(item.getName(), new int[]{registry.intern(dish)}, new int[]{1});
+        }
+
+        Map<String, Integer> ingredients = recipe.getIngredients();
+        int[] ids = new int[ingredients.size()];
+        int[] per = new int[ingredients.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> e : ingredients.entrySet()) {
+            ids[i] = registry.intern(key(e.getKey()));
+            per[i] = e.getValue();
+            i++;
+        }
+        return new CompiledRecipe(recipe.getDishName(), ids, per);
+    }
+
+    private CompiledRecipe compiledFor(int menuItemId) {
+        CompiledRecipe[] table = recipesByMenuId;
+        return menuItemId >= 0 && menuItemId < table.length ? table[menuItemId] : null;
+    }
+
+    IngredientRegistry registry() {
+        return registry;
+    }
+
+    // Points the ingredient's slot at whatever the name-keyed map now holds
+    private IngredientRegistry.Slot bindSlot(String k) {
+        IngredientRegistry.Slot slot = registry.slotFor(k);
+        slot.item = inventory.get(k);
+        return slot;
+    }
+
+    // ----------------------------
+    //  RECOVERY
+    // ----------------------------
+
+    /** Sets an ingredient to a journaled level, replacing whatever is on hand. */
+    public void restoreItem(String key, String name, List<InventoryItem.Lot> lots) {
+        inventory.put(key, new InventoryItem(name, lots));
+        IngredientRegistry.Slot slot = bindSlot(key);
+        for (InventoryItem.Lot lot : lots) expiries.schedule(slot.id, lot.expiry());
+        levelChanged(slot);
+    }
+
+    /** Drops ingredients the journal no longer has (e.g. removed as expired). */
+    public void retainItems(Set<String> keys) {
+        Set<String> removed = new HashSet<>();
+        inventory.entrySet().removeIf(e -> {
+            if (keys.contains(e.getKey())) return false;
+            removed.add(e.getKey());
+            return true;
+        });
+        for (String k : removed) {
+            bindSlot(k);
+            levelChanged(k);
+        }
+    }
+
+    private void journalLevel(String k) {
+        if (journal == null) return;
+        InventoryItem item = inventory.get(k);
+        if (item != null) journal.stockLevel(k, item);
     }
 
     // ----------------------------
     //  EXPIRY MANAGEMENT
     // ----------------------------
 
-    public synchronized void refreshExpiries() {
-        inventory.values().removeIf(InventoryItem::isExpired);
+    /** Expires the lots that are due; a no-op unless the index says something is. */
+    public void refreshExpiries() {
+        long now = TickClock.millis();
+        if (!expiries.hasDue(now)) return;
+        for (int id : expiries.pollDue(now)) expire(registry.slot(id), now);
+    }
+
+    // Checks expiry on the reservation path, sweeping an overdue lot before it can be used
+    private boolean isExpired(String k, InventoryItem inv, long now) {
+        if (!inv.hasExpiredLot(now)) return false;
+        expire(registry.slotFor(k), now);
+        return inv.isExpired(now);
+    }
+
+    /**
+     * Drops an ingredient's expired lots. Once none are left the item is
+     * retired and removed, as a whole expired item always was.
+     */
+    private void expire(IngredientRegistry.Slot slot, long now) {
+        InventoryItem item = slot.item;
+        if (item == null) return;
+
+        int dropped = item.expireLots(now);
+        if (item.retireIfEmpty()) {
+            if (!inventory.remove(slot.key, item)) return;
+            if (journal != null) journal.stockRemoved(slot.key);
+            bindSlot(slot.key);
+        } else if (dropped > 0) {
+            journalLevel(slot.key);
+        } else {
+            return;
+        }
+        levelChanged(slot);
     }
 
     // ----------------------------
     //  LOW STOCK + REORDER RULES
     // ----------------------------
 
-    public synchronized void setReorderThreshold(String ingredient, int threshold) {
-        reorderThresholds.put(key(ingredient), threshold);
+    public void setReorderThreshold(String ingredient, int threshold) {
+        String k = key(ingredient);
+        reorderThresholds.put(k, threshold);
+        IngredientRegistry.Slot slot = registry.slotFor(k);
+        slot.threshold = threshold;
+        updateLowStock(slot);
     }
 
-    public synchronized int getThresholdFor(String ingredient) {
+    public int getThresholdFor(String ingredient) {
         return reorderThresholds.getOrDefault(key(ingredient), DEFAULT_THRESHOLD);
     }
 
-    public synchronized void setReorderQuantity(String ingredient, int qty) {
+    public void setReorderQuantity(String ingredient, int qty) {
         reorderQuantities.put(key(ingredient), qty);
     }
 
-    public synchronized int getReorderQuantity(String ingredient) {
+    public int getReorderQuantity(String ingredient) {
         return reorderQuantities.getOrDefault(key(ingredient), DEFAULT_REORDER_QTY);
     }
 
-    public synchronized Map<String, InventoryItem> getLowStockItems() {
+    /** Items at or below their threshold, read from the maintained low-stock set. */
+    public Map<String, InventoryItem> getLowStockItems() {
         Map<String, InventoryItem> low = new HashMap<>();
 
-        for (Map.Entry<String, InventoryItem> e : inventory.entrySet()) {
-            String ing = e.getKey();
-            InventoryItem item = e.getValue();
-            if (item.getQuantity() <= getThresholdFor(ing)) {
-                low.put(ing, item);
-            }
+        for (String ing : lowStock) {
+            InventoryItem item = inventory.get(ing);
+            if (item != null) low.put(ing, item);
         }
         return low;
     }
 
+    public int getLowStockCount() {
+        return lowStock.size();
+    }
+
+    public boolean isLowStock(String ingredient) {
+        int id = registry.find(key(ingredient));
+        return id >= 0 && registry.slot(id).low;
+    }
+
+    // A successful reservation: usage for the demand forecast, then the level change
+    private void reserved(IngredientRegistry.Slot slot, int units) {
+        if (forecaster != null) forecaster.recordUse(slot, units);
+        levelChanged(slot);
+    }
+
+    // Every stock movement goes through here: low-stock set, then menu availability
+    private void levelChanged(String k) {
+        levelChanged(registry.slotFor(k));
+    }
+
+    private void levelChanged(IngredientRegistry.Slot slot) {
+        updateLowStock(slot);
+        notifyAvailability(slot);
+    }
+
+    private void notifyAvailability(String k) {
+        notifyAvailability(registry.slotFor(k));
+    }
+
+    private void notifyAvailability(IngredientRegistry.Slot slot) {
+        if (availability != null) availability.onLevelChanged(slot.id);
+    }
+
+    /**
+     * Re-evaluates one ingredient against its threshold. The slot's flag
+     * makes the common no-change case a field compare; crossings update the
+     * low-stock set under the slot's lock and crossings into low stock are
+     * handed to the reorder pipeline. Re-checks afterwards so a concurrent
+     * reserve and restock can't leave it stale.
+     */
+    private void updateLowStock(IngredientRegistry.Slot slot) {
+        while (true) {
+            boolean low = isLow(slot);
+            if (slot.low != low) {
+                synchronized (slot) {
+                    if (slot.low != low) {
+                        slot.low = low;
+                        if (low) lowStock.add(slot.key);
+                        else lowStock.remove(slot.key);
+                        if (metrics != null) metrics.onLowStockChanged(low);
+                        if (low && reorders != null) reorders.onLowStock(slot.key);
+                    }
+                }
+            }
+            if (isLow(slot) == low) return;
+        }
+    }
+
+    private static boolean isLow(IngredientRegistry.Slot slot) {
+        InventoryItem item = slot.item;
+        return item != null && item.getQuantity() <= slot.threshold;
+    }
+
     // ----------------------------
     //  UTILITIES
     // ----------------------------
@@ -0,0 +1,108 @@
+package com.restaurantops.inventory;
+
+import com.restaurantops.model.InventoryItem;
+import com.restaurantops.model.MenuItem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * "Can make N servings" per menu item, kept current as stock moves.
+ *
+ * The menu is compiled into a reverse index (ingredient id -> dishes using it).
+ * When an ingredient's level changes only the dishes that use it are
+ * recounted, each under a per-dish lock so the last recount always sees
+ * the latest levels. Reads are a single array load.
+ *
+ * Counts are advisory: stock can still be taken between a check and the
+ * station's reservation, which remains the source of truth.
+ */
+public class MenuAvailability {
+
+    private final InventoryService inventoryService;
+    private volatile Index index = new Index(new CompiledRecipe[0], new int[0][], new AtomicIntegerArray(0));
+
+    public MenuAvailability(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    // ----------------------------
+    //  INDEX
+    // ----------------------------
+
+    /** Recompiles the reverse index for a new menu and recounts every dish. */
+    public synchronized void rebuild(List<MenuItem> menu) {
+        int maxId = -1;
+        for (MenuItem m : menu) maxId = Math.max(maxId, m.getId());
+
+        CompiledRecipe[] recipes = new CompiledRecipe[maxId + 1];
+        Map<Integer, List<Integer>> users = new HashMap<>();
+        for (MenuItem m : menu) {
+            if (m.getId() < 0) continue;
+            CompiledRecipe r = inventoryService.compile(m);
+            recipes[m.getId()] = r;
+            for (int ing : r.ingredientIds) users.computeIfAbsent(ing, k -> new ArrayList<>()).add(m.getId());
+        }
+
+        int[][] dishesByIngredient = new int[inventoryService.registry().size()][];
+        users.forEach((ing, ids) -> dishesByIngredient[ing] = ids.stream().mapToInt(Integer::intValue).toArray());
+
+        Index next = new Index(recipes, dishesByIngredient, new AtomicIntegerArray(recipes.length));
+        index = next;
+        for (int id = 0; id < recipes.length; id++) recount(next, id);
+    }
+
+    // ----------------------------
+    //  UPDATES
+    // ----------------------------
+
+    /** Called by InventoryService whenever an ingredient's level or expiry changes. */
+    void onLevelChanged(int ingredientId) {
+        Index idx = index;
+        if (ingredientId >= idx.dishesByIngredient().length) return;
+        int[] dishes = idx.dishesByIngredient()[ingredientId];
+        if (dishes == null) return;
+        for (int id : dishes) recount(idx, id);
+    }
+
+    // Per-dish lock: whichever recount runs last read the levels after every change before it
+    private void recount(Index idx, int menuItemId) {
+        CompiledRecipe recipe = idx.recipes()[menuItemId];
+        if (recipe == null) return;
+        synchronized (recipe) {
+            idx.servings().set(menuItemId, count(recipe));
+        }
+    }
+
+    private int count(CompiledRecipe recipe) {
+        IngredientRegistry registry = inventoryService.registry();
+        int n = Integer.MAX_VALUE;
+        for (int i = 0; i < recipe.size(); i++) {
+            InventoryItem item = registry.slot(recipe.ingredientIds[i]).item;
+            int onHand = item == null || item.isExpired() ? 0 : item.getQuantity();
+            n = Math.min(n, onHand / Math.max(1, recipe.perServing[i]));
+            if (n == 0) break;
+        }
+        return n == Integer.MAX_VALUE ? 0 : n;
+    }
+
+    // ----------------------------
+    //  QUERIES
+    // ----------------------------
+
+    /** Servings that current stock allows; 0 for unknown items. */
+    public int servingsFor(MenuItem item) {
+        Index idx = index;
+        int id = item.getId();
+        return id >= 0 && id < idx.recipes().length ? idx.servings().get(id) : 0;
+    }
+
+    public boolean canMake(MenuItem item, int quantity) {
+        return servingsFor(item) >= Math.max(1, quantity);
+    }
+
+    private record Index(CompiledRecipe[] recipes, int[][] dishesByIngredient, AtomicIntegerArray servings) {}
+}
@@ -0,0 +1,122 @@
+package com.restaurantops.inventory;
+
+import com.restaurantops.service.SupplierService;
+import com.restaurantops.tracking.DashboardMetrics;
+import com.restaurantops.util.LoggerService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns low-stock threshold crossings into supplier orders. InventoryService
+ * reports a crossing from the reserve or restock that caused it. Once a
+ * second the pipeline also samples usage rates, and the {@link ReorderPlanner}
+ * flags ingredients the forecast says will run low before a delivery could
+ * arrive. A delivery that leaves an ingredient still due queues it again,
+ * since no new crossing will come for it.
+ *
+ * Everything due at the same moment goes out as one consolidated supplier
+ * order, sized by the planner, skipping ingredients that recovered in the
+ * meantime or are already on order. Each ingredient is queued at most once
+ * at a time, so a burst of reservations around the threshold costs one
+ * queued entry.
+ */
+public class ReorderPipeline implements Runnable {
+
+    private static final long SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final BlockingQueue<Crossing> crossings = new LinkedBlockingQueue<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final SupplierService supplierService;
+    private final ReorderPlanner planner;
+    private final LoggerService logger;
+    private DashboardMetrics metrics;
+
+    public ReorderPipeline(SupplierService supplierService,
+                           ReorderPlanner planner,
+                           LoggerService logger) {
+        this.supplierService = supplierService;
+        this.planner = planner;
+        this.logger = logger;
+    }
+
+    public void setMetrics(DashboardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // ----------------------------
+    //  EVENTS
+    // ----------------------------
+
+    /** An ingredient has just dropped to or below its reorder threshold. */
+    void onLowStock(String ingredient) {
+        if (queued.add(ingredient)) crossings.add(new Crossing(ingredient, System.nanoTime()));
+    }
+
+    /** Delivery listener: re-queues ingredients the delivery didn't lift out of the due range. */
+    public void onDelivered(String ingredient) {
+        if (planner.isDue(ingredient)) onLowStock(ingredient);
+    }
+
+    // ----------------------------
+    //  PIPELINE THREAD
+    // ----------------------------
+
+    @Override
+    public void run() {
+        long nextSample = System.nanoTime();
+        List<Crossing> due = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long wait = nextSample - System.nanoTime();
+                if (wait <= 0) {
+                    for (String ingredient : planner.sample()) onLowStock(ingredient);
+                    nextSample = System.nanoTime() + SAMPLE_NANOS;
+                    wait = SAMPLE_NANOS;
+                }
+
+                Crossing first = crossings.poll(wait, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+                due.add(first);
+                crossings.drainTo(due);
+                process(due);
+                due.clear();
+            }
+        } catch (InterruptedException ignored) { }
+    }
+
+    private void process(List<Crossing> due) {
+        Map<String, Integer> lines = new LinkedHashMap<>();
+        Map<String, Long> detected = new LinkedHashMap<>();
+
+        for (Crossing c : due) {
+            String ingredient = c.ingredient();
+            queued.remove(ingredient);
+            if (lines.containsKey(ingredient) || !planner.isDue(ingredient)) continue;
+            if (supplierService.isOnOrder(ingredient)) {
+                logger.log("[INVENTORY] " + ingredient + " is low, supplier order already in flight");
+                continue;
+            }
+            int qty = planner.quantityFor(ingredient);
+            if (qty <= 0) continue;
+            lines.put(ingredient, qty);
+            detected.put(ingredient, c.detectedNanos());
+        }
+        if (lines.isEmpty()) return;
+
+        Map<String, Integer> placed = supplierService.placeOrder(lines);
+        if (metrics == null) return;
+        long now = System.nanoTime();
+        for (String ingredient : placed.keySet()) metrics.onReorderPlaced(now - detected.get(ingredient));
+    }
+
+    private record Crossing(String ingredient, long detectedNanos) {}
+}
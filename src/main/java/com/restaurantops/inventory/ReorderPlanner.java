@@ -0,0 +1,99 @@
+package com.restaurantops.inventory;
+
+import com.restaurantops.model.InventoryItem;
+import com.restaurantops.service.SupplierService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sizes reorders from forecast demand. An ingredient is due once it is at
+ * its threshold, or once its current usage rate would take it there before
+ * a delivery ordered now could arrive. The order covers the supplier lead
+ * time plus a review period at the forecast rate, with a safety margin,
+ * topped up to the threshold. Ingredients with no usage on record fall
+ * back to their configured reorder quantity.
+ *
+ * -Drestaurantops.forecast.coverSeconds=N   demand covered beyond lead time (default 60)
+ * -Drestaurantops.forecast.safety=F         safety margin on forecast demand (default 0.25)
+ */
+public class ReorderPlanner {
+
+    private final InventoryService inventoryService;
+    private final SupplierService supplierService;
+    private final DemandForecaster forecaster;
+    private final long coverMillis;
+    private final double safety;
+
+    public ReorderPlanner(InventoryService inventoryService,
+                          SupplierService supplierService,
+                          DemandForecaster forecaster,
+                          long coverSeconds,
+                          double safety) {
+        this.inventoryService = inventoryService;
+        this.supplierService = supplierService;
+        this.forecaster = forecaster;
+        this.coverMillis = Math.max(0, coverSeconds) * 1000;
+        this.safety = Math.max(0, safety);
+    }
+
+    public static ReorderPlanner fromSystemProperties(InventoryService inventoryService,
+                                                      SupplierService supplierService,
+                                                      DemandForecaster forecaster) {
+        return new ReorderPlanner(inventoryService, supplierService, forecaster,
+                Long.getLong("restaurantops.forecast.coverSeconds", 60L),
+                Double.parseDouble(System.getProperty("restaurantops.forecast.safety", "0.25")));
+    }
+
+    /**
+     * Updates usage rates and returns the ingredients they now make due.
+     * Only ingredients used since the last call are looked at.
+     */
+    List<String> sample() {
+        List<String> due = new ArrayList<>();
+        for (IngredientRegistry.Slot slot : forecaster.sample()) {
+            if (!slot.low && projectedLow(slot)) due.add(slot.key);
+        }
+        return due;
+    }
+
+    boolean isDue(String ingredient) {
+        IngredientRegistry.Slot slot = slotFor(ingredient);
+        return slot != null && (slot.low || projectedLow(slot));
+    }
+
+    /** Units to order now; 0 if the ingredient is no longer stocked. */
+    int quantityFor(String ingredient) {
+        IngredientRegistry.Slot slot = slotFor(ingredient);
+        InventoryItem item = slot == null ? null : slot.item;
+        if (item == null) return 0;
+
+        double rate = forecaster.ratePerSecond(slot);
+        if (rate == 0) return inventoryService.getReorderQuantity(ingredient);
+
+        double seconds = (supplierService.getMaxLeadTimeMillis() + coverMillis) / 1000.0;
+        long target = slot.threshold + (long) Math.ceil(rate * seconds * (1 + safety));
+        return (int) Math.max(1, target - item.getQuantity());
+    }
+
+    /** Smoothed usage in units per second; 0 for unknown ingredients. */
+    public double usageRate(String ingredient) {
+        IngredientRegistry.Slot slot = slotFor(ingredient);
+        return slot == null ? 0 : forecaster.ratePerSecond(slot);
+    }
+
+    // Stock left once lead-time demand is taken out, against the threshold
+    private boolean projectedLow(IngredientRegistry.Slot slot) {
+        InventoryItem item = slot.item;
+        if (item == null) return false;
+        double rate = forecaster.ratePerSecond(slot);
+        double leadDemand = rate * supplierService.getMaxLeadTimeMillis() / 1000.0 * (1 + safety);
+        return item.getQuantity() - leadDemand <= slot.threshold;
+    }
+
+    private IngredientRegistry.Slot slotFor(String ingredient) {
+        IngredientRegistry registry = inventoryService.registry();
+        int id = registry.find(InventoryService.key(ingredient));
+        return id < 0 ? null : registry.slot(id);
+    }
+}
@@ -0,0 +1,569 @@
+package com.restaurantops.journal;
+
+import com.restaurantops.model.InventoryItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.Reservation;
+import com.restaurantops.model.Table;
+import com.restaurantops.model.TableState;
+import com.restaurantops.model.Ticket;
+import com.restaurantops.util.LoggerService;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped write-ahead journal of domain events.
+ *
+ * - Records are binary: [int length][byte type][payload][int crc32];
+ *   enum values are written by name so reordering an enum can't corrupt replay
+ * - Appends are a memcpy into the mapped file under a short lock; a
+ *   background flusher forces everything written since its last pass in
+ *   one call (group commit), so writers never wait on the disk
+ * - {@link #compact()} rotates to a new generation file, writes a JSON
+ *   snapshot of the live state and deletes older generations
+ *
+ * Recovery ({@link #recover(Path, LoggerService)}) loads the snapshot and
+ * replays every journal generation at or after it. A torn record at the
+ * tail fails its checksum and ends replay.
+ *
+ * Files live in {@code -Drestaurantops.journal.dir} (default data/journal).
+ * {@code -Drestaurantops.journal=off} disables journaling.
+ */
+public class Journal implements AutoCloseable {
+
+    static final int MAGIC = 0x524F4A31; // "ROJ1"
+    // 2: order status, category and table state are written by name
+    // 3: stock levels carry every lot (units left, expiry) instead of one expiry
+    // 4: order status records carry the time the order was closed
+    static final int VERSION = 4;
+    static final int HEADER_BYTES = 16;
+
+    private static final String SNAPSHOT_FILE = "snapshot.json";
+    private static final String ARCHIVE_FILE = "archive.bin";
+    private static final Pattern SEGMENT = Pattern.compile("journal-(\\d+)\\.bin");
+    private static final int INITIAL_SIZE = 16 << 20;
+    private static final long DEFAULT_COMMIT_MILLIS = 5;
+    private static final long DEFAULT_COMPACT_BYTES = 64L << 20;
+
+    private final Path dir;
+    private final LoggerService logger;
+    private final long commitNanos;
+    private final long compactBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32 crc = new CRC32();
+    private final Map<String, byte[]> encoded = new ConcurrentHashMap<>();
+
+    // Guarded by lock
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long generation;
+    private int position;
+    private int forced;
+
+    private volatile SnapshotSource snapshotSource;
+    private volatile boolean closed = false;
+    private final Thread flusher;
+
+    private Journal(Path dir, long afterGeneration, LoggerService logger) throws IOException {
+        this.dir = dir;
+        this.logger = logger;
+        this.commitNanos = TimeUnit.MILLISECONDS.toNanos(
+                Long.getLong("restaurantops.journal.commitMillis", DEFAULT_COMMIT_MILLIS));
+        this.compactBytes = Long.getLong("restaurantops.journal.compactBytes", DEFAULT_COMPACT_BYTES);
+
+        openSegment(afterGeneration + 1);
+
+        flusher = new Thread(this::flushLoop, "Journal-Flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static boolean isEnabled() {
+        return !"off".equalsIgnoreCase(System.getProperty("restaurantops.journal", "on"));
+    }
+
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("restaurantops.journal.dir", "data/journal"));
+    }
+
+    /** Where finished orders are persisted beside the journal in {@code dir}; see {@link JournalSnapshot}. */
+    public static Path archiveFile(Path dir) {
+        return dir.resolve(ARCHIVE_FILE);
+    }
+
+    /** Opens a new journal generation after {@code afterGeneration} for appending. */
+    public static Journal open(Path dir, long afterGeneration, LoggerService logger) throws IOException {
+        Files.createDirectories(dir);
+        return new Journal(dir, afterGeneration, logger);
+    }
+
+    /** Captures live state for {@link #compact()}; may persist side files the snapshot refers to. */
+    public interface SnapshotSource {
+        JournalSnapshot capture() throws IOException;
+    }
+
+    /** Source of live state used by {@link #compact()}. */
+    public void setSnapshotSource(SnapshotSource source) {
+        this.snapshotSource = source;
+    }
+
+    public Path getArchiveFile() {
+        return archiveFile(dir);
+    }
+
+    public long getGeneration() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getSize() {
+        lock.lock();
+        try {
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ----------------------------
+    //  RECOVERY
+    // ----------------------------
+
+    /**
+     * Rebuilds state from the last snapshot plus every journal generation
+     * written since. The returned snapshot's generation is the newest one
+     * seen, so the next {@link #open} starts after it.
+     */
+    public static JournalSnapshot recover(Path dir, LoggerService logger) throws IOException {
+        Files.createDirectories(dir);
+        long t0 = System.nanoTime();
+
+        JournalSnapshot state = JournalSnapshot.load(dir.resolve(SNAPSHOT_FILE));
+        long base = state.generation;
+        int records = 0;
+
+        for (Segment s : segments(dir)) {
+            if (s.generation < base) continue;
+            records += JournalReader.replay(s.path, s.generation, state);
+            state.generation = Math.max(state.generation, s.generation);
+        }
+
+        if (logger != null) {
+            logger.log("[JOURNAL] Recovered generation " + base + " + " + records + " records in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0) + " ms");
+        }
+        return state;
+    }
+
+    // ----------------------------
+    //  COMPACTION
+    // ----------------------------
+
+    /**
+     * Starts a new generation, snapshots the live state and drops older
+     * generations. Appends racing the snapshot land in the new generation
+     * and replay idempotently on top of it.
+     */
+    public void compact() throws IOException {
+        SnapshotSource source = snapshotSource;
+        if (source == null) return;
+
+        lock.lock();
+        try {
+            if (closed) return;
+            openSegment(generation + 1);
+        } finally {
+            lock.unlock();
+        }
+        writeSnapshot(source.capture());
+    }
+
+    /** Persists {@code state} as the base for the current generation and deletes older ones. */
+    public void writeSnapshot(JournalSnapshot state) throws IOException {
+        long gen = getGeneration();
+        state.generation = gen;
+        state.save(dir.resolve(SNAPSHOT_FILE));
+
+        for (Segment s : segments(dir)) {
+            if (s.generation < gen) Files.deleteIfExists(s.path);
+        }
+        if (logger != null) logger.log("[JOURNAL] Snapshot written at generation " + gen);
+    }
+
+    // ----------------------------
+    //  APPEND
+    // ----------------------------
+
+    public void orderPlaced(Order order) {
+        byte[] name = bytes(order.getItem().getName());
+        byte[] category = bytes(order.getItem().getCategory());
+        long placedAt = toMillis(order.getTimestamp());
+
+        lock.lock();
+        try {
+            int start = begin(RecordType.ORDER_PLACED, 4 + 4 + 4 + 2 + name.length + 8 + 2 + category.length + 4 + 8);
+            if (start < 0) return;
+            buffer.putInt(order.getOrderId());
+            buffer.putInt(order.getTableNumber());
+            buffer.putInt(order.getItem().getId());
+            putString(name);
+            buffer.putDouble(order.getItem().getPrice());
+            putString(category);
+            buffer.putInt(order.getQuantity());
+            buffer.putLong(placedAt);
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void orderStatus(Order order) {
+        byte[] status = bytes(order.getStatus().name());
+        byte[] category = bytes(order.getCategory().name());
+
+        lock.lock();
+        try {
+            int start = begin(RecordType.ORDER_STATUS, 4 + 2 + status.length + 2 + category.length + 8);
+            if (start < 0) return;
+            buffer.putInt(order.getOrderId());
+            putString(status);
+            putString(category);
+            buffer.putLong(order.getClosedMillis());
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Ticket membership, so a part cooked before a crash is still billed with its ticket. */
+    public void ticketPlaced(Ticket ticket) {
+        List<Order> parts = ticket.getParts();
+
+        lock.lock();
+        try {
+            int start = begin(RecordType.TICKET_PLACED, 4 + 4 + 2 + 4 * parts.size());
+            if (start < 0) return;
+            buffer.putInt(ticket.getTicketId());
+            buffer.putInt(ticket.getTableNumber());
+            buffer.putShort((short) parts.size());
+            for (Order o : parts) buffer.putInt(o.getOrderId());
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void stockLevel(String key, InventoryItem item) {
+        stockLevels(new String[]{key}, new InventoryItem[]{item}, 1);
+    }
+
+    /**
+     * One record for every ingredient a reservation touched, with the units
+     * left in each lot. Levels are read under the journal lock, so the last
+     * record for an ingredient always carries its latest level even when CAS
+     * winners append out of order.
+     */
+    public void stockLevels(String[] keys, InventoryItem[] items, int count) {
+        byte[][] k = new byte[count][];
+        byte[][] n = new byte[count][];
+        int payload = 2;
+        for (int i = 0; i < count; i++) {
+            k[i] = bytes(keys[i]);
+            n[i] = bytes(items[i].getName());
+            payload += 2 + k[i].length + 2 + n[i].length + 2;
+        }
+
+        lock.lock();
+        try {
+            List<List<InventoryItem.Lot>> lots = new ArrayList<>(count);
+            int size = payload;
+            for (int i = 0; i < count; i++) {
+                List<InventoryItem.Lot> l = items[i].getLots();
+                lots.add(l);
+                size += 12 * l.size();
+            }
+
+            int start = begin(RecordType.STOCK_LEVEL, size);
+            if (start < 0) return;
+            buffer.putShort((short) count);
+            for (int i = 0; i < count; i++) {
+                putString(k[i]);
+                putString(n[i]);
+                buffer.putShort((short) lots.get(i).size());
+                for (InventoryItem.Lot lot : lots.get(i)) {
+                    buffer.putInt(lot.units());
+                    buffer.putLong(lot.expiry());
+                }
+            }
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void stockRemoved(String key) {
+        byte[] k = bytes(key);
+        lock.lock();
+        try {
+            int start = begin(RecordType.STOCK_REMOVED, 2 + k.length);
+            if (start < 0) return;
+            putString(k);
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void billLine(int tableNumber, int orderId) {
+        lock.lock();
+        try {
+            int start = begin(RecordType.BILL_LINE, 4 + 4);
+            if (start < 0) return;
+            buffer.putInt(tableNumber);
+            buffer.putInt(orderId);
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void billPaid(int tableNumber) {
+        lock.lock();
+        try {
+            int start = begin(RecordType.BILL_PAID, 4);
+            if (start < 0) return;
+            buffer.putInt(tableNumber);
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void tableState(Table table, TableState state) {
+        byte[] name = bytes(state.name());
+
+        lock.lock();
+        try {
+            int start = begin(RecordType.TABLE_STATE, 4 + 4 + 2 + name.length);
+            if (start < 0) return;
+            buffer.putInt(table.getTableNumber());
+            buffer.putInt(table.getCapacity());
+            putString(name);
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void reservationAdded(Reservation r) {
+        long s = toMillis(r.getStart());
+        long e = toMillis(r.getEnd());
+
+        lock.lock();
+        try {
+            int start = begin(RecordType.RESERVATION_ADDED, 4 + 4 + 8 + 8);
+            if (start < 0) return;
+            buffer.putInt(r.getReservationId());
+            buffer.putInt(r.getTableNumber());
+            buffer.putLong(s);
+            buffer.putLong(e);
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void reservationRemoved(int reservationId) {
+        lock.lock();
+        try {
+            int start = begin(RecordType.RESERVATION_REMOVED, 4);
+            if (start < 0) return;
+            buffer.putInt(reservationId);
+            end(start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ----------------------------
+    //  FLUSH / CLOSE
+    // ----------------------------
+
+    /** Forces everything appended so far to disk. */
+    public void sync() {
+        MappedByteBuffer b;
+        int from;
+        int to;
+        lock.lock();
+        try {
+            if (buffer == null) return;
+            b = buffer;
+            from = forced;
+            to = position;
+        } finally {
+            lock.unlock();
+        }
+        if (to <= from) return;
+
+        b.force(from, to - from);
+
+        lock.lock();
+        try {
+            if (buffer == b && forced < to) forced = to;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(commitNanos);
+            try {
+                sync();
+                if (getSize() > compactBytes) compact();
+            } catch (Exception e) {
+                if (logger != null) logger.log("[JOURNAL] Flush failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        flusher.interrupt();
+        sync();
+        lock.lock();
+        try {
+            closeChannel();
+            buffer = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ----------------------------
+    //  INTERNALS
+    // ----------------------------
+
+    // Caller holds lock
+    private void openSegment(long gen) throws IOException {
+        if (buffer != null) buffer.force(forced, position - forced);
+        closeChannel();
+
+        Path file = segmentPath(dir, gen);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, gen);
+        buffer.force(0, HEADER_BYTES);
+
+        generation = gen;
+        position = HEADER_BYTES;
+        forced = HEADER_BYTES;
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+    }
+
+    // Caller holds lock; returns -1 once closed
+    private int begin(RecordType type, int payloadBytes) {
+        if (buffer == null) return -1;
+        ensureCapacity(4 + 1 + payloadBytes + 4);
+        int start = position;
+        buffer.position(start + 4);
+        buffer.put(type.code);
+        return start;
+    }
+
+    // Caller holds lock
+    private void end(int start) {
+        int len = buffer.position() - start - 4;
+        crc.reset();
+        crc.update(buffer.slice(start + 4, len));
+        buffer.putInt((int) crc.getValue());
+        buffer.putInt(start, len);
+        position = buffer.position();
+    }
+
+    // Caller holds lock
+    private void ensureCapacity(int bytes) {
+        if (position + bytes <= buffer.capacity()) return;
+        try {
+            buffer.force(forced, position - forced);
+            forced = position;
+            long size = Math.min(Integer.MAX_VALUE, (long) buffer.capacity() * 2);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal could not grow", e);
+        }
+    }
+
+    private void putString(byte[] b) {
+        buffer.putShort((short) b.length);
+        buffer.put(b);
+    }
+
+    // Names and keys come from a small fixed vocabulary, so their encodings are cached
+    private byte[] bytes(String s) {
+        if (s == null) s = "";
+        return encoded.computeIfAbsent(s, v -> v.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long toMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    static Path segmentPath(Path dir, long gen) {
+        return dir.resolve(String.format("journal-%06d.bin", gen));
+    }
+
+    private static List<Segment> segments(Path dir) throws IOException {
+        List<Segment> out = new ArrayList<>();
+        try (var files = Files.list(dir)) {
+            files.forEach(p -> {
+                Matcher m = SEGMENT.matcher(p.getFileName().toString());
+                if (m.matches()) out.add(new Segment(p, Long.parseLong(m.group(1))));
+            });
+        }
+        out.sort((a, b) -> Long.compare(a.generation, b.generation));
+        return out;
+    }
+
+    private record Segment(Path path, long generation) { }
+}
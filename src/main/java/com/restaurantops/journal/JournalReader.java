@@ -0,0 +1,144 @@
+package com.restaurantops.journal;
+
+import com.restaurantops.model.InventoryItem;
+import com.restaurantops.model.OrderCategory;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.TableState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Replays one journal generation file into a {@link JournalSnapshot}.
+ * Stops at the first empty slot or the first record whose length or
+ * checksum doesn't hold up (a write torn by a crash).
+ */
+final class JournalReader {
+
+    // Version 1 files wrote these by ordinal
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final OrderCategory[] CATEGORIES = OrderCategory.values();
+    private static final TableState[] TABLE_STATES = TableState.values();
+
+    private JournalReader() {
+    }
+
+    /** @return number of records applied */
+    static int replay(Path file, long generation, JournalSnapshot state) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() < Journal.HEADER_BYTES) return 0;
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+
+            if (buf.getInt(0) != Journal.MAGIC || buf.getLong(8) != generation) return 0;
+            int version = buf.getInt(4);
+
+            CRC32 crc = new CRC32();
+            int pos = Journal.HEADER_BYTES;
+            int limit = buf.limit();
+            int applied = 0;
+
+            while (pos + 4 <= limit) {
+                int len = buf.getInt(pos);
+                if (len <= 0 || pos + 4 + len + 4 > limit) break;
+
+                crc.reset();
+                crc.update(buf.slice(pos + 4, len));
+                if ((int) crc.getValue() != buf.getInt(pos + 4 + len)) break;
+
+                ByteBuffer rec = buf.slice(pos + 4, len);
+                RecordType type = RecordType.of(rec.get());
+                if (type == null) break;
+                apply(type, rec, version, state);
+                applied++;
+
+                pos += 4 + len + 4;
+            }
+            return applied;
+        }
+    }
+
+    private static void apply(RecordType type, ByteBuffer in, int version, JournalSnapshot state) {
+        switch (type) {
+            case ORDER_PLACED -> {
+                JournalSnapshot.OrderState o = new JournalSnapshot.OrderState();
+                o.orderId = in.getInt();
+                o.tableNumber = in.getInt();
+                o.itemId = in.getInt();
+                o.itemName = getString(in);
+                o.price = in.getDouble();
+                o.menuCategory = getString(in);
+                o.quantity = in.getInt();
+                o.placedAt = in.getLong();
+                if (!state.orders.containsKey(o.orderId)) state.putOrder(o);
+            }
+            case ORDER_STATUS -> {
+                int id = in.getInt();
+                if (version < 2) {
+                    state.orderStatus(id, STATUSES[in.get()], CATEGORIES[in.get()], 0);
+                } else {
+                    OrderStatus status = OrderStatus.valueOf(getString(in));
+                    OrderCategory category = OrderCategory.valueOf(getString(in));
+                    state.orderStatus(id, status, category, version < 4 ? 0 : in.getLong());
+                }
+            }
+            case STOCK_LEVEL -> {
+                int n = in.getShort();
+                for (int i = 0; i < n; i++) {
+                    String key = getString(in);
+                    String name = getString(in);
+                    List<InventoryItem.Lot> lots = new ArrayList<>();
+                    if (version < 3) {
+                        int qty = in.getInt();
+                        lots.add(new InventoryItem.Lot(qty, in.getLong()));
+                    } else {
+                        int lotCount = in.getShort();
+                        for (int j = 0; j < lotCount; j++) lots.add(new InventoryItem.Lot(in.getInt(), in.getLong()));
+                    }
+                    state.stockLevel(key, name, lots);
+                }
+            }
+            case STOCK_REMOVED -> state.stockRemoved(getString(in));
+            case BILL_LINE -> {
+                int table = in.getInt();
+                state.billLine(table, in.getInt());
+            }
+            case BILL_PAID -> state.billPaid(in.getInt());
+            case TABLE_STATE -> {
+                int table = in.getInt();
+                int capacity = in.getInt();
+                state.tableState(table, capacity, version < 2 ? TABLE_STATES[in.get()] : TableState.valueOf(getString(in)));
+            }
+            case RESERVATION_ADDED -> {
+                JournalSnapshot.ReservationState r = new JournalSnapshot.ReservationState();
+                r.reservationId = in.getInt();
+                r.tableNumber = in.getInt();
+                r.start = in.getLong();
+                r.end = in.getLong();
+                state.putReservation(r);
+            }
+            case RESERVATION_REMOVED -> state.reservationRemoved(in.getInt());
+            case TICKET_PLACED -> {
+                int ticketId = in.getInt();
+                int table = in.getInt();
+                int n = in.getShort();
+                List<Integer> ids = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) ids.add(in.getInt());
+                state.ticketPlaced(ticketId, table, ids);
+            }
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] b = new byte[in.getShort()];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
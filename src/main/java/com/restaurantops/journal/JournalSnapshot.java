@@ -0,0 +1,259 @@
+package com.restaurantops.journal;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.restaurantops.model.InventoryItem;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.Reservation;
+import com.restaurantops.model.TableState;
+import com.restaurantops.model.Ticket;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Restorable state of the restaurant: active orders, stock levels, bills,
+ * table states, reservations and unbilled tickets. It is both the compacted
+ * snapshot written to disk (as JSON) and the accumulator journal records
+ * are replayed into. Finished orders are not part of a snapshot; the order
+ * archive persists them to its own append-only file, and the snapshot only
+ * records how much of that file it relies on.
+ *
+ * Every apply method is idempotent (absolute values keyed by id), so a
+ * record that is both captured in a snapshot and still present in the
+ * next journal generation replays harmlessly.
+ */
+public class JournalSnapshot {
+
+    private static final Gson GSON = new GsonBuilder().create();
+
+    long generation;
+    int archiveRows;
+    long archiveBytes;
+    final Map<Integer, OrderState> orders = new LinkedHashMap<>();
+    final Map<String, StockState> stock = new LinkedHashMap<>();
+    final Map<Integer, BillState> bills = new LinkedHashMap<>();
+    final Map<Integer, TableSnapshot> tables = new LinkedHashMap<>();
+    final Map<Integer, ReservationState> reservations = new LinkedHashMap<>();
+    final Map<Integer, TicketState> tickets = new LinkedHashMap<>();
+
+    public long getGeneration() { return generation; }
+    public int getArchiveRows() { return archiveRows; }
+    public long getArchiveBytes() { return archiveBytes; }
+    public Map<Integer, OrderState> getOrders() { return orders; }
+    public Map<String, StockState> getStock() { return stock; }
+    public Map<Integer, BillState> getBills() { return bills; }
+    public Map<Integer, TableSnapshot> getTables() { return tables; }
+    public Map<Integer, ReservationState> getReservations() { return reservations; }
+    public Map<Integer, TicketState> getTickets() { return tickets; }
+
+    public boolean isEmpty() {
+        return archiveRows == 0 && orders.isEmpty() && stock.isEmpty() && bills.isEmpty()
+                && tables.isEmpty() && reservations.isEmpty() && tickets.isEmpty();
+    }
+
+    // ----------------------------
+    //  CAPTURE / REPLAY
+    // ----------------------------
+
+    public void putOrder(OrderState o) {
+        orders.put(o.orderId, o);
+    }
+
+    public void putOrder(Order order) {
+        OrderState o = new OrderState();
+        o.orderId = order.getOrderId();
+        o.tableNumber = order.getTableNumber();
+        o.itemId = order.getItem().getId();
+        o.itemName = order.getItem().getName();
+        o.price = order.getItem().getPrice();
+        o.menuCategory = order.getItem().getCategory();
+        o.quantity = order.getQuantity();
+        o.placedAt = Journal.toMillis(order.getTimestamp());
+        o.status = order.getStatus();
+        o.category = order.getCategory();
+        o.closedAt = order.getClosedMillis();
+        putOrder(o);
+    }
+
+    /** Records that the first {@code rows} archived orders ({@code bytes} of the archive file) are persisted. */
+    public void archived(int rows, long bytes) {
+        archiveRows = rows;
+        archiveBytes = bytes;
+    }
+
+    public void orderStatus(int orderId, OrderStatus status, OrderCategory category, long closedAt) {
+        OrderState o = orders.get(orderId);
+        if (o == null) return;
+        o.status = status;
+        o.category = category;
+        o.closedAt = closedAt;
+    }
+
+    public void stockLevel(String key, String name, List<InventoryItem.Lot> lots) {
+        stock.put(key, new StockState(name, lots));
+    }
+
+    public void stockRemoved(String key) {
+        stock.remove(key);
+    }
+
+    public void billLine(int tableNumber, int orderId) {
+        bills.computeIfAbsent(tableNumber, t -> new BillState()).orderIds.add(orderId);
+    }
+
+    public void billPaid(int tableNumber) {
+        bills.computeIfAbsent(tableNumber, t -> new BillState()).paid = true;
+    }
+
+    public void tableState(int tableNumber, int capacity, TableState state) {
+        tables.put(tableNumber, new TableSnapshot(capacity, state));
+    }
+
+    public void putReservation(ReservationState r) {
+        reservations.put(r.reservationId, r);
+    }
+
+    public void putReservation(Reservation reservation) {
+        ReservationState r = new ReservationState();
+        r.reservationId = reservation.getReservationId();
+        r.tableNumber = reservation.getTableNumber();
+        r.start = Journal.toMillis(reservation.getStart());
+        r.end = Journal.toMillis(reservation.getEnd());
+        putReservation(r);
+    }
+
+    public void reservationRemoved(int reservationId) {
+        reservations.remove(reservationId);
+    }
+
+    public void ticketPlaced(int ticketId, int tableNumber, List<Integer> orderIds) {
+        TicketState t = new TicketState();
+        t.ticketId = ticketId;
+        t.tableNumber = tableNumber;
+        t.orderIds = new ArrayList<>(orderIds);
+        tickets.put(ticketId, t);
+    }
+
+    public void putTicket(Ticket ticket) {
+        List<Integer> ids = new ArrayList<>();
+        for (Order part : ticket.getParts()) ids.add(part.getOrderId());
+        ticketPlaced(ticket.getTicketId(), ticket.getTableNumber(), ids);
+    }
+
+    // ----------------------------
+    //  PERSISTENCE
+    // ----------------------------
+
+    /** Loads the snapshot in {@code file}, or an empty generation-0 snapshot if there is none. */
+    static JournalSnapshot load(Path file) throws IOException {
+        if (!Files.exists(file)) return new JournalSnapshot();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JournalSnapshot s = GSON.fromJson(in, JournalSnapshot.class);
+            return s == null ? new JournalSnapshot() : s;
+        }
+    }
+
+    /** Writes to a temp file, forces it, then atomically replaces {@code file}. */
+    void save(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            GSON.toJson(this, out);
+        }
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ----------------------------
+    //  STATE RECORDS
+    // ----------------------------
+
+    public static class OrderState {
+        public int orderId;
+        public int tableNumber;
+        public int itemId;
+        public String itemName;
+        public double price;
+        public String menuCategory;
+        public int quantity;
+        public long placedAt;
+        public OrderStatus status = OrderStatus.NEW;
+        public OrderCategory category = OrderCategory.UNKNOWN;
+        public long closedAt;
+    }
+
+    public static class StockState {
+        public String name;
+        public List<LotState> lots = new ArrayList<>();
+        // Snapshots written before lots were kept: all stock as one lot
+        public int quantity;
+        public long expiry;
+
+        public StockState(String name, List<InventoryItem.Lot> lots) {
+            this.name = name;
+            for (InventoryItem.Lot lot : lots) this.lots.add(new LotState(lot.units(), lot.expiry()));
+        }
+
+        public List<InventoryItem.Lot> toLots() {
+            if (lots == null || lots.isEmpty()) return List.of(new InventoryItem.Lot(quantity, expiry));
+            List<InventoryItem.Lot> out = new ArrayList<>(lots.size());
+            for (LotState l : lots) out.add(new InventoryItem.Lot(l.units, l.expiry));
+            return out;
+        }
+    }
+
+    public static class LotState {
+        public int units;
+        public long expiry;
+
+        public LotState(int units, long expiry) {
+            this.units = units;
+            this.expiry = expiry;
+        }
+    }
+
+    public static class BillState {
+        public Set<Integer> orderIds = new LinkedHashSet<>();
+        public boolean paid;
+    }
+
+    public static class TableSnapshot {
+        public int capacity;
+        public TableState state;
+
+        public TableSnapshot(int capacity, TableState state) {
+            this.capacity = capacity;
+            this.state = state;
+        }
+    }
+
+    public static class TicketState {
+        public int ticketId;
+        public int tableNumber;
+        public List<Integer> orderIds = new ArrayList<>();
+    }
+
+    public static class ReservationState {
+        public int reservationId;
+        public int tableNumber;
+        public long start;
+        public long end;
+    }
+}
@@ -0,0 +1,34 @@
+package com.restaurantops.journal;
+
+/**
+ * Journal record tags. Codes are written to disk, so existing values must
+ * never be renumbered.
+ */
+enum RecordType {
+    ORDER_PLACED(1),
+    ORDER_STATUS(2),
+    STOCK_LEVEL(3),
+    STOCK_REMOVED(4),
+    BILL_LINE(5),
+    BILL_PAID(6),
+    TABLE_STATE(7),
+    RESERVATION_ADDED(8),
+    RESERVATION_REMOVED(9),
+    TICKET_PLACED(10);
+
+    private static final RecordType[] BY_CODE = new RecordType[16];
+
+    static {
+        for (RecordType t : values()) BY_CODE[t.code] = t;
+    }
+
+    final byte code;
+
+    RecordType(int code) {
+        this.code = (byte) code;
+    }
+
+    static RecordType of(byte code) {
+        return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
@@ -3,18 +3,29 @@ package com.restaurantops.kitchen;
 import com.restaurantops.staff.Chef;
 import com.restaurantops.model.Order;
 import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.Ticket;
 import com.restaurantops.billing.BillingService;
+import com.restaurantops.core.BatchSettings;
+import com.restaurantops.core.ExecutionMode;
 import com.restaurantops.inventory.InventoryService;
+import com.restaurantops.scheduling.DispatchPolicy;
+import com.restaurantops.scheduling.DispatchQueue;
 import com.restaurantops.tracking.OrderTracker;
+import com.restaurantops.util.LogEvent;
 import com.restaurantops.util.LoggerService;
 
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class AbstractKitchenStation implements KitchenStation {
 
-    protected final BlockingQueue<Order> queue = new LinkedBlockingQueue<>();
+    protected final DispatchQueue queue =
+            new DispatchQueue(DispatchPolicy.fromSystemProperty().create(this::expectedCookNanos));
     protected final InventoryService inventoryService;
     protected final BillingService billingService;
     protected final OrderTracker orderTracker;
@@ -22,7 +33,32 @@ public abstract class AbstractKitchenStation implements KitchenStation {
     private final StationContext context = new StationContext();
     private final AtomicBoolean running = new AtomicBoolean(false);
     private ExecutorService workers;
-    private final int workerCount;
+    private volatile boolean prepTimeEnabled = true;
+    private volatile ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    private volatile StationPool pool;
+    private volatile BatchSettings batch = BatchSettings.fromSystemProperties();
+
+    // Worker scaling: the pool moves targetWorkers between min and max; platform
+    // workers above target retire, virtual mode resizes its in-flight permits
+    private static final long IDLE_POLL_MS = 200;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private volatile int targetWorkers;
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private Permits permits;
+
+    // Per-unit cook time, exponentially weighted; 0 until the first order completes
+    private static final double SERVICE_ALPHA = 0.2;
+    private volatile long serviceNanosPerUnit = 0;
+
+    // Utilization accounting, sampled by the pool. Orders still cooking count
+    // up to the sample time: inFlight * now - sum of their start times
+    private final LongAdder busyNanos = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger inFlightUnits = new AtomicInteger();
+    private final AtomicLong inFlightStartSum = new AtomicLong();
+    private final LongAdder stolen = new LongAdder();
+    private volatile double utilization = 0;
 
     protected AbstractKitchenStation(InventoryService inventoryService,
                                      BillingService billingService,
@@ -33,7 +69,9 @@ public abstract class AbstractKitchenStation implements KitchenStation {
         this.billingService = billingService;
         this.orderTracker = orderTracker;
         this.logger = logger;
-        this.workerCount = Math.max(1, workerCount);
+        this.minWorkers = Math.max(1, workerCount);
+        this.maxWorkers = Math.max(minWorkers, Integer.getInteger("restaurantops.station.maxWorkers", 4));
+        this.targetWorkers = minWorkers;
     }
 
     public void assignChef(Chef chef) {
@@ -54,56 +92,365 @@ public abstract class AbstractKitchenStation implements KitchenStation {
         return context.getAssignedChefs();
     }
 
+    /** True if any chef working this station is cross-trained for {@code other}. */
+    boolean canCoverFor(AbstractKitchenStation other) {
+        for (Chef c : context.getAssignedChefs()) {
+            if (c.isTrainedFor(other.getName())) return true;
+        }
+        return false;
+    }
+
+    void setPool(StationPool pool) {
+        this.pool = pool;
+    }
+
     @Override
     public void acceptOrder(Order order) {
-        try {
-            queue.put(order);
-            Chef c = getAssignedChef();
-            String chefName = c == null ? "NoChef" : c.getName();
-            logger.log("[" + getName() + "][" + chefName + "] Accepted Order#" + order.getOrderId());
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        queue.put(order);
+        Chef c = getAssignedChef();
+        String chefName = c == null ? "NoChef" : c.getName();
+        logger.log(LogEvent.STATION_ACCEPTED, order.getOrderId(), getName(), chefName);
+    }
+
+    @Override
+    public void acceptBatch(List<Order> orders) {
+        if (orders.isEmpty()) return;
+        queue.putAll(orders);
+        Chef c = getAssignedChef();
+        String chefName = c == null ? "NoChef" : c.getName();
+        logger.log(LogEvent.STATION_BATCH_ACCEPTED, orders.get(0).getOrderId(), getName(), chefName, orders.size());
+    }
+
+    /** Workers pick the new batch size up on their next poll. */
+    @Override
+    public void setBatchSettings(BatchSettings settings) {
+        this.batch = settings;
+    }
+
+    /** Takes effect the next time the station is started. */
+    @Override
+    public void setExecutionMode(ExecutionMode mode) {
+        this.executionMode = mode;
     }
 
     @Override
     public void start() {
         if (running.compareAndSet(false, true)) {
-            workers = Executors.newFixedThreadPool(workerCount, r -> {
-                Thread t = new Thread(r);
-                t.setName(getName() + "-Worker");
-                t.setDaemon(false);
-                return t;
-            });
-            for (int i = 0; i < workerCount; i++) {
-                workers.submit(this::workerLoop);
+            int n = targetWorkers;
+            if (executionMode == ExecutionMode.VIRTUAL) {
+                permits = new Permits(n);
+                workers = Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name(getName() + "-VWorker-", 0).factory());
+                workers.submit(this::virtualFeederLoop);
+            } else {
+                workers = Executors.newCachedThreadPool(r -> {
+                    Thread t = new Thread(r);
+                    t.setName(getName() + "-Worker");
+                    t.setDaemon(false);
+                    return t;
+                });
+                for (int i = 0; i < n; i++) spawnWorker();
             }
-            logger.log("[" + getName() + "] Station started with " + workerCount + " workers and " + context.chefCount() + " assigned chefs");
+            logger.log("[" + getName() + "] Station started with " + n + " " + executionMode + " workers and " + context.chefCount() + " assigned chefs");
+        }
+    }
+
+    // ----------------------------
+    //  SCALING
+    // ----------------------------
+
+    /** Grows or shrinks the worker count, clamped to this station's limits. */
+    void setTargetWorkers(int n) {
+        int next = Math.max(minWorkers, Math.min(maxWorkers, n));
+        int prev = targetWorkers;
+        if (next == prev) return;
+        targetWorkers = next;
+
+        if (!running.get()) return;
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            Permits p = permits;
+            if (p != null) p.resize(next - prev);
+        } else {
+            while (liveWorkers.get() < targetWorkers) spawnWorker();
+        }
+        logger.log("[" + getName() + "] Workers " + prev + " -> " + next);
+    }
+
+    private void spawnWorker() {
+        liveWorkers.incrementAndGet();
+        try {
+            workers.submit(this::workerLoop);
+        } catch (RejectedExecutionException e) {
+            liveWorkers.decrementAndGet();
+        }
+    }
+
+    // A worker leaves only if the count is still above target after it claims the slot
+    private boolean retireIfSurplus() {
+        while (true) {
+            int n = liveWorkers.get();
+            if (n <= targetWorkers) return false;
+            if (liveWorkers.compareAndSet(n, n - 1)) return true;
         }
     }
 
     private void workerLoop() {
+        boolean retired = false;
+        List<Order> orders = new ArrayList<>();
         try {
             while (running.get() && !Thread.currentThread().isInterrupted()) {
-                Order order = queue.take();
-                updateStatus(order, OrderStatus.ACCEPTED);
-                boolean reserved = inventoryService.reserveIngredients(order);
-                if (!reserved) {
-                    updateStatus(order, OrderStatus.REJECTED);
-                    logger.log("[" + getName() + "] Rejected Order#" + order.getOrderId());
-                    continue;
+                if (retireIfSurplus()) {
+                    retired = true;
+                    return;
+                }
+                orders.clear();
+                if (batch.pollBatch(queue, orders, IDLE_POLL_MS, TimeUnit.MILLISECONDS) > 0) {
+                    handle(this, orders);
+                } else {
+                    stealOnce();
                 }
-                updateStatus(order, OrderStatus.IN_PROGRESS);
-                processOrder(order);
-                updateStatus(order, OrderStatus.COMPLETED);
-                billingService.addOrderToBill(order);
-                logger.log("[" + getName() + "] Completed Order#" + order.getOrderId());
             }
         } catch (InterruptedException ignored) {
             Thread.currentThread().interrupt();
+        } finally {
+            if (!retired) liveWorkers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Virtual mode: one feeder takes orders (or a micro-batch) as permits
+     * free up and cooks each on its own virtual thread, so at most
+     * targetWorkers batches are in progress without dedicating an OS thread to each.
+     */
+    private void virtualFeederLoop() {
+        try {
+            while (running.get() && !Thread.currentThread().isInterrupted()) {
+                permits.acquire();
+                BatchSettings b = batch;
+                List<Order> orders = new ArrayList<>(b.maxBatch());
+                AbstractKitchenStation owner = this;
+                if (b.pollBatch(queue, orders, IDLE_POLL_MS, TimeUnit.MILLISECONDS) == 0) {
+                    StationPool p = pool;
+                    StationPool.Stolen s = p == null ? null : p.steal(this);
+                    if (s == null) {
+                        permits.release();
+                        continue;
+                    }
+                    owner = s.owner();
+                    orders.add(s.order());
+                    stolen.increment();
+                }
+                AbstractKitchenStation cookFor = owner;
+                List<Order> next = orders;
+                workers.submit(() -> {
+                    try {
+                        handle(cookFor, next);
+                    } catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException | RejectedExecutionException ignored) {
+            // Station stopped
         }
     }
 
+    // Idle platform worker: cook one order from the most backed-up station a chef here can cover
+    private void stealOnce() throws InterruptedException {
+        StationPool p = pool;
+        if (p == null) return;
+        StationPool.Stolen s = p.steal(this);
+        if (s == null) return;
+        stolen.increment();
+        handle(s.owner(), List.of(s.order()));
+    }
+
+    // ----------------------------
+    //  STATS
+    // ----------------------------
+
+    int getTargetWorkers() {
+        return targetWorkers;
+    }
+
+    int getMinWorkers() {
+        return minWorkers;
+    }
+
+    int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    /** Total cooking time up to {@code now}, including orders still in progress. */
+    long getBusyNanos(long now) {
+        long running = inFlight.get() * now - inFlightStartSum.get();
+        return busyNanos.sum() + Math.max(0, running);
+    }
+
+    void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+
+    long getServiceNanosPerUnit() {
+        return serviceNanosPerUnit;
+    }
+
+    public StationStats getStats() {
+        return new StationStats(getName(), targetWorkers, queue.size(), utilization,
+                serviceNanosPerUnit / 1_000_000, stolen.sum());
+    }
+
+    /**
+     * Cooks {@code owner}'s orders on one of this station's workers. A
+     * micro-batch is reserved with one call, cooked in turn on this worker
+     * and its standalone orders billed with one call. The bill is flushed
+     * even if the worker is interrupted, and reserved orders it didn't get
+     * to go back on the owner's queue still ACCEPTED.
+     *
+     * The busy time is this station's, since its worker did the cooking;
+     * the service-time samples stay with the owner, whose dishes they measure.
+     */
+    private void handle(AbstractKitchenStation owner, List<Order> orders) throws InterruptedException {
+        boolean[] reserved = orders.size() == 1 ? null : owner.reserveBatch(orders);
+        int pendingUnits = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            if (reserved == null || reserved[i]) pendingUnits += orders.get(i).getQuantity();
+        }
+        inFlightUnits.addAndGet(pendingUnits);
+
+        List<Order> toBill = new ArrayList<>(orders.size());
+        int i = 0;
+        try {
+            for (; i < orders.size(); i++) {
+                if (reserved != null && !reserved[i]) continue;
+                Order order = orders.get(i);
+                int units = order.getQuantity();
+                long started = System.nanoTime();
+                inFlightStartSum.addAndGet(started);
+                inFlight.incrementAndGet();
+                try {
+                    if (owner.cook(order)) toBill.add(order);
+                } finally {
+                    busyNanos.add(System.nanoTime() - started);
+                    inFlight.decrementAndGet();
+                    inFlightUnits.addAndGet(-units);
+                    pendingUnits -= units;
+                    inFlightStartSum.addAndGet(-started);
+                }
+            }
+        } finally {
+            // Interrupted mid-batch: the order being cooked was re-queued by prepare, the rest follow it
+            for (int j = i + 1; j < orders.size(); j++) {
+                if (reserved != null && reserved[j]) owner.queue.put(orders.get(j));
+            }
+            inFlightUnits.addAndGet(-pendingUnits);
+            if (!toBill.isEmpty()) owner.billingService.addOrdersToBill(toBill);
+        }
+    }
+
+    /**
+     * Reserves and cooks one order; ticket parts are billed with their ticket.
+     * ACCEPTED is published only once the ingredients are reserved, so
+     * recovery can tell what stock an order holds.
+     *
+     * @return true if a standalone order was cooked and is due on the bill
+     */
+    private boolean cook(Order order) throws InterruptedException {
+        // ACCEPTED orders already hold their ingredients: ticket parts, reserved batches, re-queued orders
+        if (order.getStatus() != OrderStatus.ACCEPTED) {
+            if (!inventoryService.reserveIngredients(order)) {
+                reject(order);
+                return false;
+            }
+            updateStatus(order, OrderStatus.ACCEPTED);
+        }
+        prepare(order);
+        Ticket ticket = order.getTicket();
+        if (ticket == null) return true;
+        completePart(ticket);
+        return false;
+    }
+
+    /** Micro-batch: one reservation call for the whole batch; orders that fell short are rejected. */
+    private boolean[] reserveBatch(List<Order> orders) {
+        boolean[] reserved = inventoryService.reserveBatch(orders);
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            if (!reserved[i]) reject(order);
+            else if (order.getStatus() != OrderStatus.ACCEPTED) updateStatus(order, OrderStatus.ACCEPTED);
+        }
+        return reserved;
+    }
+
+    private void reject(Order order) {
+        updateStatus(order, OrderStatus.REJECTED);
+        logger.log(LogEvent.STATION_REJECTED, order.getOrderId(), getName());
+        // A restored ticket's parts reserve one by one; a rejected part mustn't hold back the ticket's bill
+        Ticket ticket = order.getTicket();
+        if (ticket != null) completePart(ticket);
+    }
+
+    private void prepare(Order order) throws InterruptedException {
+        updateStatus(order, OrderStatus.IN_PROGRESS);
+        long t0 = System.nanoTime();
+        try {
+            processOrder(order);
+        } catch (InterruptedException e) {
+            // Stopped mid-cook: the order keeps its ingredients and is cooked when the station resumes
+            updateStatus(order, OrderStatus.ACCEPTED);
+            queue.put(order);
+            throw e;
+        }
+        recordServiceTime(System.nanoTime() - t0, order.getQuantity());
+        updateStatus(order, OrderStatus.COMPLETED);
+        logger.log(LogEvent.STATION_COMPLETED, order.getOrderId(), getName());
+    }
+
+    // The part that finishes last bills the whole ticket
+    private void completePart(Ticket ticket) {
+        if (ticket.partCompleted()) {
+            billingService.addTicketToBill(ticket);
+            logger.log(LogEvent.TICKET_COMPLETED, ticket.getTicketId(), getName());
+        }
+    }
+
+    private void recordServiceTime(long nanos, int quantity) {
+        long perUnit = nanos / Math.max(1, quantity);
+        long prev = serviceNanosPerUnit;
+        // Racy read-modify-write is fine: a lost sample only nudges the average
+        serviceNanosPerUnit = prev == 0 ? perUnit : (long) (prev + SERVICE_ALPHA * (perUnit - prev));
+    }
+
+    /** Measured per-unit cook time times quantity; uses the nominal prep time before any sample. */
+    @Override
+    public long expectedCookNanos(Order order) {
+        long perUnit = serviceNanosPerUnit;
+        if (perUnit == 0) perUnit = TimeUnit.MILLISECONDS.toNanos(nominalPrepMillis());
+        return perUnit * order.getQuantity();
+    }
+
+    /**
+     * Queueing delay plus cook time for {@code quantity} units arriving now: everything
+     * waiting or cooking is shared across the current workers. Uses the
+     * station's nominal prep time until a real sample exists.
+     */
+    @Override
+    public long estimatedWaitNanos(int quantity) {
+        long perUnit = serviceNanosPerUnit;
+        if (perUnit == 0) perUnit = TimeUnit.MILLISECONDS.toNanos(nominalPrepMillis());
+        long ahead = queue.queuedUnits() + inFlightUnits.get();
+        long waiting = ahead * perUnit / Math.max(1, targetWorkers);
+        return waiting + perUnit * Math.max(1, quantity);
+    }
+
+    /** Re-ranks waiting orders under the new policy. */
+    @Override
+    public void setDispatchPolicy(DispatchPolicy policy) {
+        queue.setPolicy(policy.create(this::expectedCookNanos));
+    }
+
     @Override
     public void stop() {
         if (running.compareAndSet(true, false)) {
@@ -129,6 +476,19 @@ public abstract class AbstractKitchenStation implements KitchenStation {
         return running.get();
     }
 
+    @Override
+    public void setPrepTimeEnabled(boolean enabled) {
+        this.prepTimeEnabled = enabled;
+    }
+
+    /**
+     * Simulates cooking time. Benchmarks switch this off so that only the
+     * framework overhead (queueing, reservation, tracking, billing) is measured.
+     */
+    protected void simulatePrepTime(long millis) throws InterruptedException {
+        if (prepTimeEnabled) Thread.sleep(millis);
+    }
+
     protected void updateStatus(Order order, OrderStatus status) {
         order.setStatus(status);
         orderTracker.notifyUpdate(order);
@@ -136,6 +496,21 @@ public abstract class AbstractKitchenStation implements KitchenStation {
 
     protected abstract void processOrder(Order order) throws InterruptedException;
 
+    /** Prep time per order before any has been measured; used for wait quotes. */
+    protected abstract long nominalPrepMillis();
+
     @Override
     public abstract String getName();
+
+    // Semaphore whose permit count can shrink while permits are held
+    private static final class Permits extends Semaphore {
+        Permits(int permits) {
+            super(permits);
+        }
+
+        void resize(int delta) {
+            if (delta > 0) release(delta);
+            else if (delta < 0) reducePermits(-delta);
+        }
+    }
 }
@@ -1,15 +1,27 @@
 package com.restaurantops.kitchen;
 
+import com.restaurantops.core.BatchSettings;
+import com.restaurantops.core.ExecutionMode;
+import com.restaurantops.scheduling.DispatchPolicy;
 import com.restaurantops.staff.Chef;
 import com.restaurantops.model.Order;
 
+import java.util.List;
+
 public interface KitchenStation {
     String getName();
     void acceptOrder(Order order);
+    void acceptBatch(List<Order> orders);
     void start();
     void stop();
     int queueSize();
     boolean isRunning();
     void assignChef(Chef chef);
     Chef getAssignedChef();
+    void setPrepTimeEnabled(boolean enabled);
+    void setExecutionMode(ExecutionMode mode);
+    void setBatchSettings(BatchSettings settings);
+    void setDispatchPolicy(DispatchPolicy policy);
+    long expectedCookNanos(Order order);
+    long estimatedWaitNanos(int quantity);
 }
@@ -0,0 +1,102 @@
+package com.restaurantops.kitchen;
+
+import com.restaurantops.model.Order;
+import com.restaurantops.util.LoggerService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares kitchen capacity between stations.
+ *
+ * - Scaling: every tick each station's worker count is nudged up when its
+ *   queue outgrows its workers while they are busy, and back down toward
+ *   its minimum when it sits idle
+ * - Work stealing: an idle worker takes the next order from the most
+ *   backed-up station that one of its station's chefs is cross-trained for
+ * - Utilization: busy time over worker time since the previous tick
+ *
+ * Runs as the StationScaler thread started by the engine.
+ */
+public class StationPool implements Runnable {
+
+    private static final long TICK_MS = 500;
+    private static final double GROW_UTILIZATION = 0.75;
+    private static final double SHRINK_UTILIZATION = 0.25;
+    // A queue shorter than this is left to its own workers
+    private static final int STEAL_MIN_QUEUE = 2;
+
+    private final List<AbstractKitchenStation> stations;
+    private final LoggerService logger;
+    private final Map<AbstractKitchenStation, long[]> lastSample = new HashMap<>();
+
+    public StationPool(List<AbstractKitchenStation> stations, LoggerService logger) {
+        this.stations = List.copyOf(stations);
+        this.logger = logger;
+        for (AbstractKitchenStation s : this.stations) s.setPool(this);
+    }
+
+    record Stolen(AbstractKitchenStation owner, Order order) { }
+
+    /** Next order {@code thief} may cook for another station, or null. */
+    Stolen steal(AbstractKitchenStation thief) {
+        AbstractKitchenStation victim = null;
+        int deepest = STEAL_MIN_QUEUE - 1;
+
+        for (AbstractKitchenStation s : stations) {
+            if (s == thief || !s.isRunning()) continue;
+            int depth = s.queueSize();
+            if (depth > deepest && thief.canCoverFor(s)) {
+                victim = s;
+                deepest = depth;
+            }
+        }
+        if (victim == null) return null;
+
+        Order order = victim.queue.poll();
+        return order == null ? null : new Stolen(victim, order);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(TICK_MS);
+                tick();
+            }
+        } catch (InterruptedException ignored) {
+            // Normal shutdown
+        }
+    }
+
+    /** Samples utilization and adjusts worker counts once. */
+    void tick() {
+        long now = System.nanoTime();
+        for (AbstractKitchenStation s : stations) {
+            long busy = s.getBusyNanos(now);
+            int workers = s.getTargetWorkers();
+            long[] prev = lastSample.put(s, new long[]{now, busy});
+            if (prev == null) continue;
+
+            long elapsed = now - prev[0];
+            double util = elapsed <= 0 ? 0 : Math.max(0, Math.min(1.0, (double) (busy - prev[1]) / ((double) elapsed * workers)));
+            s.setUtilization(util);
+
+            if (!s.isRunning()) continue;
+            int depth = s.queueSize();
+            if (depth > workers && util >= GROW_UTILIZATION && workers < s.getMaxWorkers()) {
+                s.setTargetWorkers(workers + 1);
+            } else if (depth == 0 && util <= SHRINK_UTILIZATION && workers > s.getMinWorkers()) {
+                s.setTargetWorkers(workers - 1);
+            }
+        }
+    }
+
+    public List<StationStats> getStats() {
+        List<StationStats> out = new ArrayList<>(stations.size());
+        for (AbstractKitchenStation s : stations) out.add(s.getStats());
+        return out;
+    }
+}
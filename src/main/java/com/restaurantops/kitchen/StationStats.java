@@ -0,0 +1,21 @@
+package com.restaurantops.kitchen;
+
+/**
+ * Point-in-time load of one station.
+ *
+ * @param utilization   share of worker time spent cooking over the last pool tick (0..1)
+ * @param stolenOrders  orders this station's workers took from other stations' queues
+ */
+public record StationStats(String name,
+                           int workers,
+                           int queueDepth,
+                           double utilization,
+                           long avgServiceMillisPerUnit,
+                           long stolenOrders) {
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d workers, %d queued, %.0f%% busy, %d ms/unit, %d stolen",
+                name, workers, queueDepth, utilization * 100, avgServiceMillisPerUnit, stolenOrders);
+    }
+}
@@ -9,6 +9,8 @@ import com.restaurantops.billing.BillingService;
 
 public class ColdBeverageStation extends AbstractKitchenStation {
 
+    private static final long PREP_MILLIS = 600;
+
     public ColdBeverageStation(InventoryService inventoryService,
                                BillingService billingService,
                                OrderTracker orderTracker,
@@ -19,7 +21,12 @@ public class ColdBeverageStation extends AbstractKitchenStation {
 
     @Override
     protected void processOrder(Order order) throws InterruptedException {
-        Thread.sleep(600);
+        simulatePrepTime(PREP_MILLIS);
+    }
+
+    @Override
+    protected long nominalPrepMillis() {
+        return PREP_MILLIS;
     }
 
     @Override
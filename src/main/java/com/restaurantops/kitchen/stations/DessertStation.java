@@ -9,6 +9,8 @@ import com.restaurantops.model.Order;
 
 public class DessertStation extends AbstractKitchenStation {
 
+    private static final long PREP_MILLIS = 2000;
+
     public DessertStation(InventoryService inventoryService,
                           BillingService billingService,
                           OrderTracker orderTracker,
@@ -19,7 +21,12 @@ public class DessertStation extends AbstractKitchenStation {
 
     @Override
     protected void processOrder(Order order) throws InterruptedException {
-        Thread.sleep(2000);
+        simulatePrepTime(PREP_MILLIS);
+    }
+
+    @Override
+    protected long nominalPrepMillis() {
+        return PREP_MILLIS;
     }
 
     @Override
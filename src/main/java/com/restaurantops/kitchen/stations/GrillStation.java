@@ -9,6 +9,8 @@ import com.restaurantops.model.Order;
 
 public class GrillStation extends AbstractKitchenStation {
 
+    private static final long PREP_MILLIS = 1500;
+
     public GrillStation(InventoryService inventoryService,
                         BillingService billingService,
                         OrderTracker orderTracker,
@@ -19,7 +21,12 @@ public class GrillStation extends AbstractKitchenStation {
 
     @Override
     protected void processOrder(Order order) throws InterruptedException {
-        Thread.sleep(1500);
+        simulatePrepTime(PREP_MILLIS);
+    }
+
+    @Override
+    protected long nominalPrepMillis() {
+        return PREP_MILLIS;
     }
 
     @Override
@@ -9,6 +9,8 @@ import com.restaurantops.billing.BillingService;
 
 public class HotBeverageStation extends AbstractKitchenStation {
 
+    private static final long PREP_MILLIS = 800;
+
     public HotBeverageStation(InventoryService inventoryService,
                               BillingService billingService,
                               OrderTracker orderTracker,
@@ -19,7 +21,12 @@ public class HotBeverageStation extends AbstractKitchenStation {
 
     @Override
     protected void processOrder(Order order) throws InterruptedException {
-        Thread.sleep(800);
+        simulatePrepTime(PREP_MILLIS);
+    }
+
+    @Override
+    protected long nominalPrepMillis() {
+        return PREP_MILLIS;
     }
 
     @Override
@@ -1,89 +1,119 @@
 package com.restaurantops.model;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * A table's running bill. Writers take the bill's own lock, so station
+ * workers billing different tables never contend. The total and item
+ * count are maintained on add and read without locking; everything else
+ * is read through an immutable {@link Snapshot}, cached until the next
+ * change.
+ */
 public class Bill {
 
     private final int tableNumber;
-    private boolean paid = false;
+    private volatile boolean paid = false;
 
     // aggregated items: key = item name
-    private final Map<String, BillLine> lines = new LinkedHashMap<>();
+    private final Map<String, Line> lines = new LinkedHashMap<>();
+    private final List<Integer> orderIds = new ArrayList<>();
+
+    private volatile double total;
+    private volatile Snapshot snapshot;
 
     public Bill(int tableNumber) {
         this.tableNumber = tableNumber;
     }
 
-    public void addOrder(Order order) {
-        String key = order.getItem().getName();
-
-        BillLine line = lines.get(key);
-        if (line == null) {
-            lines.put(key, new BillLine(
-                    order.getItem().getName(),
-                    order.getItem().getPrice(),
-                    order.getQuantity()
-            ));
-        } else {
-            line.addQuantity(order.getQuantity());
-        }
+    public synchronized void addOrder(Order order) {
+        orderIds.add(order.getOrderId());
+        MenuItem item = order.getItem();
+
+        // Lines are immutable, so a snapshot already handed out never changes under its reader
+        lines.merge(item.getName(),
+                new Line(item.getName(), item.getPrice(), order.getQuantity()),
+                (a, b) -> new Line(a.name(), a.unitPrice(), a.quantity() + b.quantity()));
+        total += item.getPrice() * order.getQuantity();
+        snapshot = null;
     }
 
+    public synchronized void addOrders(List<Order> orders) {
+        for (Order o : orders) addOrder(o);
+    }
+
+    public synchronized List<Integer> getOrderIds() {
+        return List.copyOf(orderIds);
+    }
+
+    public int getTableNumber() {
+        return tableNumber;
+    }
+
+    /** Running total, kept up to date on every add. */
     public double getTotalAmount() {
-        return lines.values().stream()
-                .mapToDouble(BillLine::getTotal)
-                .sum();
+        return total;
     }
 
-    public void markPaid() {
+    /** @return true if this call settled the bill, false if it was already paid */
+    public synchronized boolean markPaid() {
+        if (paid) return false;
         this.paid = true;
+        snapshot = null;
+        return true;
     }
 
     public boolean isPaid() {
         return paid;
     }
 
-    @Override
-    public String toString() {
-        StringBuilder sb = new StringBuilder();
-
-        sb.append("=== BILL FOR TABLE ").append(tableNumber).append(" ===\n");
-
-        int index = 1;
-        for (BillLine l : lines.values()) {
-            sb.append(String.format("%d) %-18s x%-3d ₹%.2f%n",
-                    index++,
-                    l.name,
-                    l.quantity,
-                    l.getTotal()
-            ));
+    /** Consistent view of the bill as of now. */
+    public Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = new Snapshot(tableNumber, List.copyOf(lines.values()), orderIds.size(), total, paid);
+            }
+            return snapshot;
         }
+    }
 
-        sb.append("--------------------------------\n");
-        sb.append(String.format("TOTAL: ₹%.2f%n", getTotalAmount()));
-        sb.append("STATUS: ").append(paid ? "PAID" : "UNPAID");
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
 
-        return sb.toString();
+    public record Line(String name, double unitPrice, int quantity) {
+        public double getTotal() {
+            return unitPrice * quantity;
+        }
     }
 
-    private static class BillLine {
-        private final String name;
-        private final double unitPrice;
-        private int quantity;
+    public record Snapshot(int tableNumber, List<Line> lines, int orderCount, double total, boolean paid) {
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
 
-        BillLine(String name, double unitPrice, int quantity) {
-            this.name = name;
-            this.unitPrice = unitPrice;
-            this.quantity = quantity;
-        }
+            sb.append("=== BILL FOR TABLE ").append(tableNumber).append(" ===\n");
 
-        void addQuantity(int q) {
-            this.quantity += q;
-        }
+            int index = 1;
+            for (Line l : lines) {
+                sb.append(String.format("%d) %-18s x%-3d ₹%.2f%n",
+                        index++,
+                        l.name(),
+                        l.quantity(),
+                        l.getTotal()
+                ));
+            }
 
-        double getTotal() {
-            return unitPrice * quantity;
+            sb.append("--------------------------------\n");
+            sb.append(String.format("TOTAL: ₹%.2f%n", total));
+            sb.append("STATUS: ").append(paid ? "PAID" : "UNPAID");
+
+            return sb.toString();
         }
     }
 }
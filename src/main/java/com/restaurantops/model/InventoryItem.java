@@ -1,51 +1,221 @@
 package com.restaurantops.model;
 
+import com.restaurantops.util.TickClock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stock level for one ingredient. The quantity is a lock-free counter so
+ * station workers reserving different ingredients never contend, and
+ * workers reserving the same ingredient only retry a CAS.
+ *
+ * Each delivery is kept as a lot with its own expiry. Reservations only
+ * touch the counter; units taken are attributed to lots earliest-expiry
+ * first (FEFO), so the lots themselves change only on restock, expiry and
+ * the rare release that outgrows them, under the item's lock.
+ */
 public class InventoryItem {
 
     private final String name;
-    private int quantity;
-    private long expiryTimestamp;
+    private final AtomicInteger quantity;
+
+    // Guarded by this: lots in expiry order and the units they were stocked with.
+    // lotTotal - quantity is what has been consumed, counted from the front;
+    // quantity <= lotTotal always holds once release() returns.
+    private final List<Lot> lots = new ArrayList<>();
+    private volatile long lotTotal;
+    private boolean retired;
+
+    private volatile long earliestExpiry;
+    private volatile long latestExpiry;
 
     public InventoryItem(String name, int quantity, long expiryTimestamp) {
         this.name = name;
-        this.quantity = Math.max(0, quantity);
-        this.expiryTimestamp = expiryTimestamp;
+        this.quantity = new AtomicInteger(0);
+        addLot(quantity, expiryTimestamp);
+    }
+
+    /** Rebuilds an item from the remaining units of each lot, as returned by {@link #getLots()}. */
+    public InventoryItem(String name, List<Lot> remaining) {
+        this.name = name;
+        this.quantity = new AtomicInteger(0);
+        for (Lot lot : remaining) addLot(lot.units(), lot.expiry());
     }
 
     public String getName() {
         return name;
     }
 
-    public synchronized int getQuantity() {
-        return quantity;
+    public int getQuantity() {
+        return quantity.get();
     }
 
-    public synchronized boolean isExpired() {
-        return System.currentTimeMillis() > expiryTimestamp;
+    /** True once every lot has expired, judged by the cached clock tick. */
+    public boolean isExpired() {
+        return isExpired(TickClock.millis());
     }
 
-    public synchronized void reduce(int qty) {
-        quantity -= qty;
-        if (quantity < 0) quantity = 0;
+    public boolean isExpired(long now) {
+        return now > latestExpiry;
     }
 
-    public synchronized void increase(int qty) {
+    /** True if the next lot in FEFO order has expired and is waiting to be swept. */
+    public boolean hasExpiredLot(long now) {
+        return now > earliestExpiry;
+    }
+
+    /**
+     * Takes {@code qty} units only if that many are available.
+     * Never drives the count negative.
+     */
+    public boolean tryReserve(int qty) {
+        if (qty <= 0) return true;
+        while (true) {
+            int current = quantity.get();
+            if (current < qty) return false;
+            if (quantity.compareAndSet(current, current - qty)) return true;
+        }
+    }
+
+    /**
+     * Returns units previously taken by {@link #tryReserve(int)}. If the lots
+     * they came from were trimmed as used up meanwhile, the units go back
+     * into the next lot in FEFO order so they still expire.
+     */
+    public void release(int qty) {
         if (qty <= 0) return;
-        quantity += qty;
+        if (quantity.addAndGet(qty) > lotTotal) creditHeadLot();
+    }
+
+    public void reduce(int qty) {
+        quantity.updateAndGet(q -> Math.max(0, q - qty));
+    }
+
+    // ----------------------------
+    //  LOTS
+    // ----------------------------
+
+    /**
+     * Stocks a new lot. Returns false if the item was retired by an expiry
+     * sweep, in which case the caller should stock a fresh item instead.
+     */
+    public synchronized boolean addLot(int qty, long expiryTimestamp) {
+        if (retired) return false;
+        int units = Math.max(0, qty);
+
+        int at = lots.size();
+        while (at > 0 && lots.get(at - 1).expiry() > expiryTimestamp) at--;
+        lots.add(at, new Lot(units, expiryTimestamp));
+
+        lotTotal += units;
+        quantity.addAndGet(units);
+        trimConsumed();
+        publishExpiries();
+        return true;
+    }
+
+    /**
+     * Drops lots that expired before {@code now}, removing whatever part of
+     * them hasn't been consumed.
+     *
+     * @return units removed from stock
+     */
+    public synchronized int expireLots(long now) {
+        int removed = 0;
+        while (!lots.isEmpty() && now > lots.get(0).expiry()) {
+            Lot lot = lots.remove(0);
+            while (true) {
+                int q = quantity.get();
+                long consumed = Math.max(0, lotTotal - q);
+                int left = (int) Math.min(q, Math.max(0, lot.units() - consumed));
+                if (quantity.compareAndSet(q, q - left)) {
+                    removed += left;
+                    break;
+                }
+            }
+            lotTotal -= lot.units();
+        }
+        trimConsumed();
+        publishExpiries();
+        return removed;
+    }
+
+    /** Marks the item retired if no lots are left, so no more can be added. */
+    public synchronized boolean retireIfEmpty() {
+        if (lots.isEmpty()) retired = true;
+        return retired;
+    }
+
+    public synchronized int getLotCount() {
+        return lots.size();
+    }
+
+    /** Units left in each lot, earliest expiry first; the last lot is kept even when empty. */
+    public synchronized List<Lot> getLots() {
+        List<Lot> remaining = new ArrayList<>(lots.size());
+        long consumed = Math.max(0, lotTotal - quantity.get());
+        for (Lot lot : lots) {
+            long used = Math.min(consumed, lot.units());
+            consumed -= used;
+            remaining.add(new Lot((int) (lot.units() - used), lot.expiry()));
+        }
+        return remaining;
+    }
+
+    // Lots fully used up carry no stock; keep the last one for its expiry
+    private void trimConsumed() {
+        long consumed = lotTotal - quantity.get();
+        while (lots.size() > 1 && lots.get(0).units() <= consumed) {
+            Lot lot = lots.remove(0);
+            lotTotal -= lot.units();
+            consumed -= lot.units();
+        }
+        // A release racing the trim may have read the old total; settle it here
+        if (quantity.get() > lotTotal) creditHeadLot();
+    }
+
+    // Grows the head lot by units released after the lots they came from were trimmed.
+    // With every lot expired there is nothing left to hold them, so they are dropped.
+    private synchronized void creditHeadLot() {
+        while (true) {
+            int q = quantity.get();
+            long excess = q - lotTotal;
+            if (excess <= 0) return;
+            if (lots.isEmpty()) {
+                if (quantity.compareAndSet(q, (int) lotTotal)) return;
+                continue;
+            }
+            Lot head = lots.get(0);
+            lots.set(0, new Lot((int) (head.units() + excess), head.expiry()));
+            lotTotal += excess;
+            return;
+        }
     }
 
-    public synchronized void setExpiry(long newExpiry) {
-        this.expiryTimestamp = newExpiry;
+    // With no lots left the last expiry stays, and has passed
+    private void publishExpiries() {
+        if (lots.isEmpty()) {
+            earliestExpiry = Long.MAX_VALUE;
+        } else {
+            earliestExpiry = lots.get(0).expiry();
+            latestExpiry = lots.get(lots.size() - 1).expiry();
+        }
     }
 
     @Override
     public String toString() {
-        return name + " | qty=" + quantity +
+        return name + " | qty=" + quantity.get() +
+                " | lots=" + getLotCount() +
                 " | expired=" + isExpired();
     }
 
-    public synchronized long getExpiryTimestamp() {
-        return expiryTimestamp;
+    /** Expiry of the next lot to be used, or of the last lot if all are gone. */
+    public long getExpiryTimestamp() {
+        long earliest = earliestExpiry;
+        return earliest == Long.MAX_VALUE ? latestExpiry : earliest;
     }
 
+    public record Lot(int units, long expiry) {}
 }
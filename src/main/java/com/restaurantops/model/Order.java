@@ -1,5 +1,7 @@
 package com.restaurantops.model;
 
+import com.restaurantops.util.TickClock;
+
 import java.time.LocalDateTime;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -14,6 +16,9 @@ public class Order {
     private OrderStatus status;
     private OrderCategory category = OrderCategory.UNKNOWN;
     private int priorityScore = 0;
+    private long placedNanos = System.nanoTime();
+    private volatile long closedMillis = 0;
+    private Ticket ticket;
 
     public Order(int tableNumber, MenuItem item, int quantity) {
         this.orderId = ID_GEN.getAndIncrement();
@@ -24,6 +29,23 @@ public class Order {
         this.status = OrderStatus.NEW;
     }
 
+    /** Rebuilds a journaled order; later ids continue after the highest restored one. */
+    public Order(int orderId, int tableNumber, MenuItem item, int quantity,
+                 LocalDateTime timestamp, OrderStatus status) {
+        this.orderId = orderId;
+        this.tableNumber = tableNumber;
+        this.item = item;
+        this.quantity = Math.max(1, quantity);
+        this.timestamp = timestamp;
+        this.status = status;
+        advanceIdsPast(orderId);
+    }
+
+    /** Makes later ids continue after {@code orderId}, for orders restored without an object. */
+    public static void advanceIdsPast(int orderId) {
+        ID_GEN.accumulateAndGet(orderId + 1, Math::max);
+    }
+
     public int getOrderId() { return orderId; }
     public int getTableNumber() { return tableNumber; }
     public MenuItem getItem() { return item; }
@@ -31,7 +53,16 @@ public class Order {
     public LocalDateTime getTimestamp() { return timestamp; }
 
     public OrderStatus getStatus() { return status; }
-    public void setStatus(OrderStatus status) { this.status = status; }
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+        if ((status == OrderStatus.COMPLETED || status == OrderStatus.REJECTED) && closedMillis == 0) {
+            closedMillis = TickClock.millis();
+        }
+    }
+
+    /** Wall-clock time the order was completed or rejected; 0 while it is active. */
+    public long getClosedMillis() { return closedMillis; }
+    public void setClosedMillis(long closedMillis) { this.closedMillis = closedMillis; }
 
     public OrderCategory getCategory() { return category; }
     public void setCategory(OrderCategory category) { this.category = category; }
@@ -39,6 +70,14 @@ public class Order {
     public int getPriorityScore() { return priorityScore; }
     public void setPriorityScore(int priorityScore) { this.priorityScore = priorityScore; }
 
+    /** Monotonic placement time used by the dispatch scheduling policies. */
+    public long getPlacedNanos() { return placedNanos; }
+    public void setPlacedNanos(long placedNanos) { this.placedNanos = placedNanos; }
+
+    /** The ticket this order is a part of, or null for a standalone order. */
+    public Ticket getTicket() { return ticket; }
+    void setTicket(Ticket ticket) { this.ticket = ticket; }
+
     @Override
     public String toString() {
         return "Order#" + orderId +
@@ -21,6 +21,18 @@ public class Reservation {
         this.end = end;
     }
 
+    /** Rebuilds a journaled reservation; later ids continue after the highest restored one. */
+    public Reservation(int reservationId,
+                       int tableNumber,
+                       LocalDateTime start,
+                       LocalDateTime end) {
+        this.reservationId = reservationId;
+        this.tableNumber = tableNumber;
+        this.start = start;
+        this.end = end;
+        GEN.accumulateAndGet(reservationId + 1, Math::max);
+    }
+
     public int getReservationId() {
         return reservationId;
     }
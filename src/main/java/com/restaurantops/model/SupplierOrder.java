@@ -1,26 +1,31 @@
 package com.restaurantops.model;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * One delivery from the supplier, possibly covering several ingredients
+ * (ingredient -> quantity).
+ */
 public class SupplierOrder implements Delayed {
 
-    private final String ingredient;
-    private final int quantity;
+    private final Map<String, Integer> lines;
     private final long deliveryTimeMillis;
 
     public SupplierOrder(String ingredient, int quantity, long delayMillis) {
-        this.ingredient = ingredient;
-        this.quantity = quantity;
-        this.deliveryTimeMillis = System.currentTimeMillis() + delayMillis;
+        this(Map.of(ingredient, quantity), delayMillis);
     }
 
-    public String getIngredient() {
-        return ingredient;
+    public SupplierOrder(Map<String, Integer> lines, long delayMillis) {
+        this.lines = Collections.unmodifiableMap(new LinkedHashMap<>(lines));
+        this.deliveryTimeMillis = System.currentTimeMillis() + delayMillis;
     }
 
-    public int getQuantity() {
-        return quantity;
+    public Map<String, Integer> getLines() {
+        return lines;
     }
 
     @Override
@@ -34,4 +39,14 @@ public class SupplierOrder implements Delayed {
         SupplierOrder other = (SupplierOrder) o;
         return Long.compare(this.deliveryTimeMillis, other.deliveryTimeMillis);
     }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        lines.forEach((ingredient, qty) -> {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(qty).append(" x ").append(ingredient);
+        });
+        return sb.toString();
+    }
 }
@@ -16,6 +16,7 @@ public class Table {
     private volatile LocalDateTime occupiedSince;
     private final Set<Integer> mergedFrom = new TreeSet<>();
     private volatile boolean merged = false;
+    private volatile TableStateListener stateListener;
 
     public Table(int tableNumber, int capacity) {
         this.tableNumber = tableNumber;
@@ -40,7 +41,19 @@ public class Table {
     }
 
     public synchronized void setState(TableState state) {
-        this.state = Objects.requireNonNull(state);
+        changeState(Objects.requireNonNull(state));
+    }
+
+    public void setStateListener(TableStateListener listener) {
+        this.stateListener = listener;
+    }
+
+    // All state transitions go through here so listeners see every change
+    private void changeState(TableState next) {
+        TableState prev = this.state;
+        this.state = next;
+        TableStateListener l = stateListener;
+        if (l != null && prev != next) l.onStateChanged(this, prev, next);
     }
 
     public synchronized Optional<Waiter> getAssignedWaiter() {
@@ -61,12 +74,12 @@ public class Table {
 
     public synchronized void setReservation(Reservation reservation) {
         this.currentReservation = reservation;
-        if (reservation != null) this.state = TableState.RESERVED;
+        if (reservation != null) changeState(TableState.RESERVED);
     }
 
     public synchronized void clearReservation() {
         this.currentReservation = null;
-        if (this.state == TableState.RESERVED) this.state = TableState.FREE;
+        if (this.state == TableState.RESERVED) changeState(TableState.FREE);
     }
 
     public synchronized Optional<LocalDateTime> getOccupiedSince() {
@@ -75,16 +88,16 @@ public class Table {
 
     public synchronized void markOccupiedNow() {
         this.occupiedSince = LocalDateTime.now();
-        this.state = TableState.OCCUPIED;
+        changeState(TableState.OCCUPIED);
     }
 
     public synchronized void markNeedsCleaning() {
-        this.state = TableState.NEEDS_CLEANING;
+        changeState(TableState.NEEDS_CLEANING);
         this.occupiedSince = null;
     }
 
     public synchronized void markFree() {
-        this.state = TableState.FREE;
+        changeState(TableState.FREE);
         this.currentReservation = null;
         this.assignedWaiter = null;
         this.occupiedSince = null;
@@ -100,7 +113,7 @@ public class Table {
         if (other.isMerged()) {
             this.mergedFrom.addAll(other.getMergedFrom());
         }
-        this.state = TableState.MERGED;
+        changeState(TableState.MERGED);
     }
 
     public synchronized void addMergedTables(Set<Integer> ids) {
@@ -108,13 +121,13 @@ public class Table {
         this.merged = true;
         this.mergedFrom.addAll(ids);
         this.mergedFrom.add(this.tableNumber);
-        this.state = TableState.MERGED;
+        changeState(TableState.MERGED);
     }
 
     public synchronized void unmergeAll() {
         this.merged = false;
         this.mergedFrom.clear();
-        if (this.state == TableState.MERGED) this.state = TableState.FREE;
+        if (this.state == TableState.MERGED) changeState(TableState.FREE);
     }
 
     public synchronized boolean isMerged() {
@@ -0,0 +1,5 @@
+package com.restaurantops.model;
+
+public interface TableStateListener {
+    void onStateChanged(Table table, TableState from, TableState to);
+}
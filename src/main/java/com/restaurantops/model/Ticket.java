@@ -0,0 +1,103 @@
+package com.restaurantops.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A table's multi-dish order placed as one unit. Each dish is still an
+ * {@link Order} (a "part") so tracking, journaling and billing work per
+ * dish, but the ticket reserves ingredients for every part in one pass,
+ * fires all parts to their stations together and is billed once the last
+ * part is cooked. Ticket membership is journaled, so parts cooked before a
+ * crash are still billed with the ticket after recovery.
+ */
+public class Ticket {
+    private static final AtomicInteger ID_GEN = new AtomicInteger(1);
+
+    private final int ticketId;
+    private final int tableNumber;
+    private final List<Order> parts = new ArrayList<>();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private volatile boolean sealed = false;
+    private volatile boolean reserved = false;
+
+    public Ticket(int tableNumber) {
+        this(ID_GEN.getAndIncrement(), tableNumber);
+    }
+
+    private Ticket(int ticketId, int tableNumber) {
+        this.ticketId = ticketId;
+        this.tableNumber = tableNumber;
+    }
+
+    /**
+     * Rebuilds a journaled ticket around its restored parts. Parts that
+     * aren't COMPLETED or REJECTED are still to be cooked; the ticket is
+     * billed when the last of them finishes. Later ids continue after the
+     * highest restored one.
+     */
+    public static Ticket restore(int ticketId, int tableNumber, List<Order> parts) {
+        Ticket t = new Ticket(ticketId, tableNumber);
+        int open = 0;
+        for (Order part : parts) {
+            part.setTicket(t);
+            t.parts.add(part);
+            if (part.getStatus() != OrderStatus.COMPLETED && part.getStatus() != OrderStatus.REJECTED) open++;
+        }
+        t.remaining.set(open);
+        t.sealed = true;
+        ID_GEN.accumulateAndGet(ticketId + 1, Math::max);
+        return t;
+    }
+
+    /** Adds a dish to the ticket; only allowed before it is placed. */
+    public Ticket add(MenuItem item, int quantity) {
+        if (sealed) throw new IllegalStateException("Ticket#" + ticketId + " already placed");
+        Order part = new Order(tableNumber, item, quantity);
+        part.setTicket(this);
+        parts.add(part);
+        return this;
+    }
+
+    /** Freezes the parts list when the ticket is placed. */
+    public List<Order> seal() {
+        if (parts.isEmpty()) throw new IllegalStateException("Ticket#" + ticketId + " has no items");
+        if (!sealed) {
+            remaining.set(parts.size());
+            sealed = true;
+        }
+        return getParts();
+    }
+
+    /** @return true if this call finished the last outstanding part, cooked or rejected */
+    public boolean partCompleted() {
+        return remaining.decrementAndGet() == 0;
+    }
+
+    public boolean isComplete() {
+        return sealed && remaining.get() <= 0;
+    }
+
+    /** Set once the ingredients for every part have been claimed. */
+    public boolean isReserved() { return reserved; }
+    public void markReserved() { this.reserved = true; }
+
+    public int getTicketId() { return ticketId; }
+    public int getTableNumber() { return tableNumber; }
+    public List<Order> getParts() { return List.copyOf(parts); }
+
+    public int getTotalQuantity() {
+        int n = 0;
+        for (Order o : parts) n += o.getQuantity();
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return "Ticket#" + ticketId +
+                " | Table " + tableNumber +
+                " | " + parts.size() + " items" +
+                " | Remaining: " + remaining.get();
+    }
+}
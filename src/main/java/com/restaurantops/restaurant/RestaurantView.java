@@ -6,6 +6,7 @@ import com.restaurantops.billing.payment.CashPayment;
 import com.restaurantops.billing.payment.PaymentMethod;
 import com.restaurantops.billing.payment.UpiPayment;
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.history.HistoryQuery;
 import com.restaurantops.inventory.InventoryService;
 import com.restaurantops.model.*;
 import com.restaurantops.service.*;
@@ -377,13 +378,12 @@ public class RestaurantView {
     }
 
     private void viewAllOrders() {
-        orderService.getAllOrders().forEach(System.out::println);
+        orderService.history(HistoryQuery.all()).forEach(System.out::println);
+        orderService.getActiveOrders().forEach(System.out::println);
     }
 
     private void viewActiveOrders() {
-        orderService.getAllOrders().stream()
-                .filter(o -> o.getStatus() == OrderStatus.ACCEPTED ||
-                        o.getStatus() == OrderStatus.IN_PROGRESS)
+        orderService.getOrdersByStatus(OrderStatus.ACCEPTED, OrderStatus.IN_PROGRESS)
                 .forEach(System.out::println);
     }
 
@@ -0,0 +1,30 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+
+/**
+ * Priority grows with time waited. An order's effective priority is
+ * {@code base + waited / step}, where base is its priority score plus its
+ * extra quantity; a large order gets a head start of {@code base} steps but
+ * a small order that has waited that long overtakes it. Comparing
+ * {@code placed - base * step} gives the same ordering at every instant.
+ */
+public class AgingPolicy extends KeyedPolicy {
+
+    private final long stepNanos;
+
+    public AgingPolicy(long stepNanos) {
+        this.stepNanos = Math.max(1, stepNanos);
+    }
+
+    @Override
+    protected long key(Order order) {
+        long base = order.getPriorityScore() + order.getQuantity() - 1L;
+        return order.getPlacedNanos() - base * stepNanos;
+    }
+
+    @Override
+    public String getName() {
+        return "AGING";
+    }
+}
@@ -0,0 +1,50 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/** Orders ranked by a fixed comparator (e.g. the original quantity-first rule). */
+public class ComparatorPolicy implements SchedulingPolicy {
+
+    private final String name;
+    private final PriorityQueue<Order> heap;
+
+    public ComparatorPolicy(String name, Comparator<Order> comparator) {
+        this.name = name;
+        this.heap = new PriorityQueue<>(comparator);
+    }
+
+    @Override
+    public void add(Order order) {
+        heap.add(order);
+    }
+
+    @Override
+    public Order peek() {
+        return heap.peek();
+    }
+
+    @Override
+    public Order poll() {
+        return heap.poll();
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public Collection<Order> orders() {
+        return new ArrayList<>(heap);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
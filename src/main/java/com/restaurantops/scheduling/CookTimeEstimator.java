@@ -0,0 +1,23 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
+
+/** Expected time to cook an order, used by shortest-cook-first scheduling. */
+@FunctionalInterface
+public interface CookTimeEstimator {
+
+    long expectedCookNanos(Order order);
+
+    /**
+     * Category the order will be cooked under, used by deadline scheduling.
+     * Orders waiting for dispatch haven't been routed yet, so the dispatch
+     * queue's estimator looks it up from the menu item.
+     */
+    default OrderCategory categoryOf(Order order) {
+        return order.getCategory() == null ? OrderCategory.UNKNOWN : order.getCategory();
+    }
+
+    /** Fallback when no station measurements exist: every unit costs the same. */
+    CookTimeEstimator BY_QUANTITY = order -> order.getQuantity();
+}
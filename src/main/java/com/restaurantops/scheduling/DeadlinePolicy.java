@@ -0,0 +1,46 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderCategory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Earliest deadline first. Each order is due a category-specific SLA after
+ * it was placed; drinks are promised sooner than mains.
+ */
+public class DeadlinePolicy extends KeyedPolicy {
+
+    private final Map<OrderCategory, Long> slaNanos = new EnumMap<>(OrderCategory.class);
+    private final CookTimeEstimator categories;
+
+    public DeadlinePolicy() {
+        this(CookTimeEstimator.BY_QUANTITY);
+    }
+
+    /** @param categories resolves each order's category; see {@link CookTimeEstimator#categoryOf} */
+    public DeadlinePolicy(CookTimeEstimator categories) {
+        this.categories = categories;
+        setSla(OrderCategory.BEVERAGE, 5, TimeUnit.MINUTES);
+        setSla(OrderCategory.DESSERT, 10, TimeUnit.MINUTES);
+        setSla(OrderCategory.GRILL, 15, TimeUnit.MINUTES);
+        setSla(OrderCategory.UNKNOWN, 15, TimeUnit.MINUTES);
+    }
+
+    public DeadlinePolicy setSla(OrderCategory category, long amount, TimeUnit unit) {
+        slaNanos.put(category, unit.toNanos(amount));
+        return this;
+    }
+
+    @Override
+    protected long key(Order order) {
+        return order.getPlacedNanos() + slaNanos.get(categories.categoryOf(order));
+    }
+
+    @Override
+    public String getName() {
+        return "DEADLINE";
+    }
+}
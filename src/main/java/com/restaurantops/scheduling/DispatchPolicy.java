@@ -0,0 +1,81 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+import com.restaurantops.service.OrderPriorityComparator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Built-in scheduling policies. Select one with
+ * {@code -Drestaurantops.dispatch.policy=<name>}; QUANTITY, the original
+ * rule, is the default.
+ */
+public enum DispatchPolicy {
+
+    /** First placed, first cooked. */
+    FIFO {
+        @Override
+        public SchedulingPolicy create(CookTimeEstimator estimator) {
+            return new KeyedPolicy() {
+                @Override
+                protected long key(Order order) {
+                    return order.getPlacedNanos();
+                }
+
+                @Override
+                public String getName() {
+                    return "FIFO";
+                }
+            };
+        }
+    },
+
+    /** The original rule: largest quantity first. Can starve small orders. */
+    QUANTITY {
+        @Override
+        public SchedulingPolicy create(CookTimeEstimator estimator) {
+            return new ComparatorPolicy("QUANTITY", new OrderPriorityComparator());
+        }
+    },
+
+    AGING {
+        @Override
+        public SchedulingPolicy create(CookTimeEstimator estimator) {
+            return new AgingPolicy(TimeUnit.SECONDS.toNanos(
+                    Long.getLong("restaurantops.dispatch.agingSeconds", 30)));
+        }
+    },
+
+    TABLE_FAIR {
+        @Override
+        public SchedulingPolicy create(CookTimeEstimator estimator) {
+            return new TableFairPolicy();
+        }
+    },
+
+    SHORTEST_COOK {
+        @Override
+        public SchedulingPolicy create(CookTimeEstimator estimator) {
+            return new ShortestCookFirstPolicy(estimator == null ? CookTimeEstimator.BY_QUANTITY : estimator);
+        }
+    },
+
+    DEADLINE {
+        @Override
+        public SchedulingPolicy create(CookTimeEstimator estimator) {
+            return new DeadlinePolicy(estimator == null ? CookTimeEstimator.BY_QUANTITY : estimator);
+        }
+    };
+
+    /** A fresh policy instance; each queue needs its own. */
+    public abstract SchedulingPolicy create(CookTimeEstimator estimator);
+
+    public static DispatchPolicy fromSystemProperty() {
+        String value = System.getProperty("restaurantops.dispatch.policy", QUANTITY.name());
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return QUANTITY;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Unbounded blocking queue of orders whose take order is decided by a
+ * pluggable {@link SchedulingPolicy}. The policy can be swapped while
+ * orders are waiting; they are carried over to the new policy. The total
+ * quantity waiting is kept alongside, for wait estimates in units.
+ */
+public class DispatchQueue extends AbstractQueue<Order> implements BlockingQueue<Order> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private SchedulingPolicy policy;
+    // Written under lock, read without it
+    private volatile int queuedUnits;
+
+    public DispatchQueue(SchedulingPolicy policy) {
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    public void setPolicy(SchedulingPolicy next) {
+        Objects.requireNonNull(next);
+        lock.lock();
+        try {
+            Order o;
+            while ((o = policy.poll()) != null) next.add(o);
+            policy = next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getPolicyName() {
+        lock.lock();
+        try {
+            return policy.getName();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ----------------------------
+    //  INSERT
+    // ----------------------------
+
+    @Override
+    public boolean offer(Order order) {
+        Objects.requireNonNull(order);
+        lock.lock();
+        try {
+            policy.add(order);
+            queuedUnits += order.getQuantity();
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Order order) {
+        offer(order);
+    }
+
+    /** Inserts a batch under one lock acquisition. */
+    public void putAll(Collection<Order> orders) {
+        lock.lock();
+        try {
+            int units = queuedUnits;
+            for (Order o : orders) {
+                policy.add(Objects.requireNonNull(o));
+                units += o.getQuantity();
+            }
+            queuedUnits = units;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Order order, long timeout, TimeUnit unit) {
+        return offer(order);
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    // ----------------------------
+    //  REMOVE
+    // ----------------------------
+
+    @Override
+    public Order take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Order o;
+            while ((o = policy.poll()) == null) notEmpty.await();
+            return removed(o);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Order poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Order o;
+            while ((o = policy.poll()) == null) {
+                if (nanos <= 0) return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return removed(o);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Order poll() {
+        lock.lock();
+        try {
+            return removed(policy.poll());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Order peek() {
+        lock.lock();
+        try {
+            return policy.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Order> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Order> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) throw new IllegalArgumentException();
+        lock.lock();
+        try {
+            int n = 0;
+            Order o;
+            while (n < maxElements && (o = policy.poll()) != null) {
+                c.add(removed(o));
+                n++;
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds lock
+    private Order removed(Order o) {
+        if (o != null) queuedUnits -= o.getQuantity();
+        return o;
+    }
+
+    // ----------------------------
+    //  INSPECTION
+    // ----------------------------
+
+    /** Total quantity of the waiting orders. */
+    public int queuedUnits() {
+        return queuedUnits;
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return policy.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Weakly consistent: iterates a copy of the waiting orders, in no particular order. */
+    @Override
+    public Iterator<Order> iterator() {
+        List<Order> copy;
+        lock.lock();
+        try {
+            copy = new ArrayList<>(policy.orders());
+        } finally {
+            lock.unlock();
+        }
+        Iterator<Order> it = copy.iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public Order next() {
+                return it.next();
+            }
+        };
+    }
+}
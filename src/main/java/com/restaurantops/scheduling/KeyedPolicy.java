@@ -0,0 +1,59 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Policy that ranks each order by a key fixed when it is added; lowest key
+ * runs first, ties in arrival order. Time-dependent rules (aging,
+ * deadlines) are expressed as a fixed key so the heap never needs
+ * re-sorting as the clock moves.
+ */
+public abstract class KeyedPolicy implements SchedulingPolicy {
+
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+    private long seq = 0;
+
+    protected abstract long key(Order order);
+
+    @Override
+    public void add(Order order) {
+        heap.add(new Entry(order, key(order), seq++));
+    }
+
+    @Override
+    public Order peek() {
+        Entry e = heap.peek();
+        return e == null ? null : e.order;
+    }
+
+    @Override
+    public Order poll() {
+        Entry e = heap.poll();
+        return e == null ? null : e.order;
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public Collection<Order> orders() {
+        List<Order> out = new ArrayList<>(heap.size());
+        for (Entry e : heap) out.add(e.order);
+        return out;
+    }
+
+    private record Entry(Order order, long key, long seq) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            int c = Long.compare(key, o.key);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+}
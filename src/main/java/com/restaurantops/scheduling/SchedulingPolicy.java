@@ -0,0 +1,31 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+
+import java.util.Collection;
+
+/**
+ * Decides which waiting order is cooked next. Implementations are not
+ * thread-safe; {@link DispatchQueue} serialises every call.
+ *
+ * Orders are ranked from when they were placed ({@link Order#getPlacedNanos()}),
+ * not when they reached this queue, so a ticket keeps its age as it moves
+ * from the dispatch queue to a station queue.
+ */
+public interface SchedulingPolicy {
+
+    void add(Order order);
+
+    /** Next order to run, or null if empty. */
+    Order peek();
+
+    /** Removes and returns the next order to run, or null if empty. */
+    Order poll();
+
+    int size();
+
+    /** Every waiting order, in no particular order. */
+    Collection<Order> orders();
+
+    String getName();
+}
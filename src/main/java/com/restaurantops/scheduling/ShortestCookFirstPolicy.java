@@ -0,0 +1,23 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+
+/** Shortest expected cook time first, from the stations' measured service times. */
+public class ShortestCookFirstPolicy extends KeyedPolicy {
+
+    private final CookTimeEstimator estimator;
+
+    public ShortestCookFirstPolicy(CookTimeEstimator estimator) {
+        this.estimator = estimator;
+    }
+
+    @Override
+    protected long key(Order order) {
+        return estimator.expectedCookNanos(order);
+    }
+
+    @Override
+    public String getName() {
+        return "SHORTEST_COOK";
+    }
+}
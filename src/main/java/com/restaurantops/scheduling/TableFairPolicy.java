@@ -0,0 +1,71 @@
+package com.restaurantops.scheduling;
+
+import com.restaurantops.model.Order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Round-robin across tables: each table with waiting orders gets one
+ * order cooked per turn, first-come first-served within the table, so a
+ * large party can't crowd out everyone else.
+ */
+public class TableFairPolicy implements SchedulingPolicy {
+
+    private final Map<Integer, ArrayDeque<Order>> byTable = new HashMap<>();
+    private final ArrayDeque<Integer> turns = new ArrayDeque<>();
+    private int size = 0;
+
+    @Override
+    public void add(Order order) {
+        ArrayDeque<Order> q = byTable.get(order.getTableNumber());
+        if (q == null) {
+            q = new ArrayDeque<>();
+            byTable.put(order.getTableNumber(), q);
+            turns.addLast(order.getTableNumber());
+        }
+        q.addLast(order);
+        size++;
+    }
+
+    @Override
+    public Order peek() {
+        Integer table = turns.peekFirst();
+        return table == null ? null : byTable.get(table).peekFirst();
+    }
+
+    @Override
+    public Order poll() {
+        Integer table = turns.pollFirst();
+        if (table == null) return null;
+
+        ArrayDeque<Order> q = byTable.get(table);
+        Order next = q.pollFirst();
+        if (q.isEmpty()) byTable.remove(table);
+        else turns.addLast(table);
+
+        size--;
+        return next;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Collection<Order> orders() {
+        List<Order> out = new ArrayList<>(size);
+        for (ArrayDeque<Order> q : byTable.values()) out.addAll(q);
+        return out;
+    }
+
+    @Override
+    public String getName() {
+        return "TABLE_FAIR";
+    }
+}
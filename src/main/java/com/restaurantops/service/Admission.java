@@ -0,0 +1,46 @@
+package com.restaurantops.service;
+
+/**
+ * Outcome of offering an order to the kitchen.
+ *
+ * ACCEPTED    - queued; the kitchen has room and the wait is short
+ * QUOTED      - queued, but the customer should expect the quoted wait
+ * REJECTED    - not queued; the kitchen or a station is at its queue limit,
+ *               so the same order may succeed after the quoted wait
+ * UNAVAILABLE - not queued; a dish can't be made from current stock, and
+ *               retrying won't help until it is restocked
+ */
+public record Admission(Outcome outcome, long estimatedWaitMillis, String reason) {
+
+    public enum Outcome {
+        ACCEPTED,
+        QUOTED,
+        REJECTED,
+        UNAVAILABLE
+    }
+
+    public static Admission accepted(long waitMillis) {
+        return new Admission(Outcome.ACCEPTED, waitMillis, null);
+    }
+
+    public static Admission quoted(long waitMillis) {
+        return new Admission(Outcome.QUOTED, waitMillis, null);
+    }
+
+    public static Admission rejected(long waitMillis, String reason) {
+        return new Admission(Outcome.REJECTED, waitMillis, reason);
+    }
+
+    public static Admission unavailable(String reason) {
+        return new Admission(Outcome.UNAVAILABLE, 0, reason);
+    }
+
+    public boolean isAccepted() {
+        return outcome == Outcome.ACCEPTED || outcome == Outcome.QUOTED;
+    }
+
+    /** Turned away for load only; worth offering again after the quoted wait. */
+    public boolean isRetryable() {
+        return outcome == Outcome.REJECTED;
+    }
+}
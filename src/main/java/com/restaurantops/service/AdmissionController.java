@@ -0,0 +1,123 @@
+package com.restaurantops.service;
+
+import com.restaurantops.inventory.MenuAvailability;
+import com.restaurantops.kitchen.KitchenStation;
+import com.restaurantops.model.MenuItem;
+import com.restaurantops.model.Order;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether new orders may enter the kitchen. Orders are turned away
+ * when stock can't cover the dish, or once the kitchen as a whole (dispatch queue plus every station queue) or
+ * the target station holds its limit of waiting orders; otherwise they are
+ * admitted with a wait estimated from queue depth and measured cook times.
+ *
+ * -Drestaurantops.admission.maxQueued=N          kitchen-wide waiting orders
+ * -Drestaurantops.admission.maxStationQueue=N    waiting orders per station
+ * -Drestaurantops.admission.quoteAboveMillis=N   quote waits longer than this
+ *
+ * The check is advisory under concurrency: two orders racing for the last
+ * slot may both get in, which only overshoots the bound by a few orders.
+ */
+public class AdmissionController {
+
+    private final BlockingQueue<Order> dispatchQueue;
+    private final KitchenRouterService router;
+    private final int maxQueued;
+    private final int maxStationQueue;
+    private final long quoteAboveMillis;
+    private MenuAvailability availability;
+
+    public AdmissionController(BlockingQueue<Order> dispatchQueue,
+                               KitchenRouterService router,
+                               int maxQueued,
+                               int maxStationQueue,
+                               long quoteAboveMillis) {
+        this.dispatchQueue = dispatchQueue;
+        this.router = router;
+        this.maxQueued = Math.max(1, maxQueued);
+        this.maxStationQueue = Math.max(1, maxStationQueue);
+        this.quoteAboveMillis = Math.max(0, quoteAboveMillis);
+    }
+
+    public static AdmissionController fromSystemProperties(BlockingQueue<Order> dispatchQueue,
+                                                           KitchenRouterService router) {
+        return new AdmissionController(dispatchQueue, router,
+                Integer.getInteger("restaurantops.admission.maxQueued", 200),
+                Integer.getInteger("restaurantops.admission.maxStationQueue", 60),
+                Long.getLong("restaurantops.admission.quoteAboveMillis", 3000L));
+    }
+
+    public void setAvailability(MenuAvailability availability) {
+        this.availability = availability;
+    }
+
+    public Admission evaluate(Order order) {
+        return decide(List.of(new Line(order.getItem(), order.getQuantity())));
+    }
+
+    /** Quote for an item that hasn't been ordered yet. */
+    public Admission evaluate(MenuItem item, int quantity) {
+        return decide(List.of(new Line(item, quantity)));
+    }
+
+    /**
+     * Evaluates orders that must be admitted together (a ticket). The quoted
+     * wait is that of the slowest part.
+     */
+    public Admission evaluate(List<Order> orders) {
+        return decide(orders.stream().map(o -> new Line(o.getItem(), o.getQuantity())).toList());
+    }
+
+    private Admission decide(List<Line> lines) {
+        int queued = dispatchQueue.size();
+        for (KitchenStation s : router.getAllStations()) queued += s.queueSize();
+
+        if (availability != null) {
+            Map<MenuItem, Integer> wanted = new IdentityHashMap<>();
+            for (Line line : lines) wanted.merge(line.item(), line.quantity(), Integer::sum);
+            for (Map.Entry<MenuItem, Integer> e : wanted.entrySet()) {
+                if (!availability.canMake(e.getKey(), e.getValue())) {
+                    return Admission.unavailable(e.getKey().getName() + " is unavailable");
+                }
+            }
+        }
+
+        long waitNanos = 0;
+        Map<KitchenStation, Integer> added = new IdentityHashMap<>();
+        for (Line line : lines) {
+            KitchenStation station = router.stationFor(line.item());
+            long wait = station.estimatedWaitNanos(line.quantity());
+            int pending = added.merge(station, 1, Integer::sum);
+            if (station.queueSize() + pending > maxStationQueue) {
+                return Admission.rejected(toMillis(wait), station.getName() + " is full");
+            }
+            waitNanos = Math.max(waitNanos, wait);
+        }
+
+        long waitMillis = toMillis(waitNanos);
+        if (queued + lines.size() > maxQueued) {
+            return Admission.rejected(waitMillis, "Kitchen is at capacity");
+        }
+        return waitMillis > quoteAboveMillis ? Admission.quoted(waitMillis) : Admission.accepted(waitMillis);
+    }
+
+    private record Line(MenuItem item, int quantity) {}
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public int getMaxStationQueue() {
+        return maxStationQueue;
+    }
+}
@@ -0,0 +1,104 @@
+package com.restaurantops.service;
+
+import com.restaurantops.model.Table;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Free tables bucketed by capacity and ordered by table number, kept in
+ * step with table state transitions. Seating is a best-fit lookup on the
+ * capacity buckets; within a bucket, the table that has been free longest
+ * is seated first. Claiming removes the table under the index lock, so two
+ * concurrent seatings can never be handed the same table.
+ *
+ * Tables are numbered along the floor, so consecutive numbers are
+ * physically adjacent; merges are planned on runs of consecutive free
+ * tables.
+ */
+final class FreeTableIndex {
+
+    private final NavigableMap<Integer, LinkedHashSet<Table>> byCapacity = new TreeMap<>();
+    private final NavigableMap<Integer, Table> byNumber = new TreeMap<>();
+
+    synchronized void add(Table t) {
+        if (byNumber.putIfAbsent(t.getTableNumber(), t) != null) return;
+        byCapacity.computeIfAbsent(t.getCapacity(), c -> new LinkedHashSet<>()).add(t);
+    }
+
+    /** @return false if the table wasn't indexed as free (e.g. already claimed) */
+    synchronized boolean remove(Table t) {
+        if (!byNumber.remove(t.getTableNumber(), t)) return false;
+        LinkedHashSet<Table> bucket = byCapacity.get(t.getCapacity());
+        bucket.remove(t);
+        if (bucket.isEmpty()) byCapacity.remove(t.getCapacity());
+        return true;
+    }
+
+    /** Smallest free table seating at least {@code partySize}, left in the index. */
+    synchronized Table bestFit(int partySize) {
+        Map.Entry<Integer, LinkedHashSet<Table>> e = byCapacity.ceilingEntry(partySize);
+        return e == null ? null : e.getValue().iterator().next();
+    }
+
+    /** Takes the best-fit table out of the index; null if none fits. */
+    synchronized Table claimBestFit(int partySize) {
+        Map.Entry<Integer, LinkedHashSet<Table>> e = byCapacity.ceilingEntry(partySize);
+        if (e == null) return null;
+        Iterator<Table> it = e.getValue().iterator();
+        Table t = it.next();
+        it.remove();
+        if (e.getValue().isEmpty()) byCapacity.remove(e.getKey());
+        byNumber.remove(t.getTableNumber());
+        return t;
+    }
+
+    /**
+     * Takes the fewest adjacent free tables that together seat
+     * {@code partySize}, preferring the fewest spare seats among equally
+     * short runs. Empty if no run of adjacent free tables is big enough.
+     */
+    synchronized List<Table> claimAdjacent(int partySize) {
+        List<Table> free = new ArrayList<>(byNumber.values());
+        int bestFrom = -1, bestTo = -1, bestSpare = Integer.MAX_VALUE;
+
+        // Sliding window over each run of consecutive table numbers
+        int from = 0, seats = 0;
+        for (int to = 0; to < free.size(); to++) {
+            if (to > from && free.get(to).getTableNumber() != free.get(to - 1).getTableNumber() + 1) {
+                from = to;
+                seats = 0;
+            }
+            seats += free.get(to).getCapacity();
+            while (seats - free.get(from).getCapacity() >= partySize) {
+                seats -= free.get(from++).getCapacity();
+            }
+            if (seats < partySize) continue;
+
+            int length = to - from, spare = seats - partySize;
+            if (bestFrom < 0 || length < bestTo - bestFrom || (length == bestTo - bestFrom && spare < bestSpare)) {
+                bestFrom = from;
+                bestTo = to;
+                bestSpare = spare;
+            }
+        }
+        if (bestFrom < 0) return List.of();
+
+        List<Table> run = new ArrayList<>(free.subList(bestFrom, bestTo + 1));
+        for (Table t : run) remove(t);
+        return run;
+    }
+
+    synchronized List<Table> snapshot() {
+        return new ArrayList<>(byNumber.values());
+    }
+
+    synchronized int size() {
+        return byNumber.size();
+    }
+}
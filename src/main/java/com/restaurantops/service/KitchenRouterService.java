@@ -4,30 +4,54 @@ import com.restaurantops.kitchen.stations.ColdBeverageStation;
 import com.restaurantops.kitchen.stations.GrillStation;
 import com.restaurantops.kitchen.stations.DessertStation;
 import com.restaurantops.kitchen.stations.HotBeverageStation;
+import com.restaurantops.core.BatchSettings;
+import com.restaurantops.core.ExecutionMode;
 import com.restaurantops.kitchen.KitchenStation;
+import com.restaurantops.kitchen.StationPool;
+import com.restaurantops.kitchen.StationStats;
 import com.restaurantops.model.MenuItem;
 import com.restaurantops.model.Order;
 import com.restaurantops.model.OrderCategory;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.Ticket;
+import com.restaurantops.scheduling.CookTimeEstimator;
+import com.restaurantops.scheduling.DispatchPolicy;
 import com.restaurantops.tracking.OrderTracker;
+import com.restaurantops.util.LogEvent;
 import com.restaurantops.util.LoggerService;
 import com.restaurantops.inventory.InventoryService;
 import com.restaurantops.billing.BillingService;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
-public class KitchenRouterService {
+public class KitchenRouterService implements CookTimeEstimator {
 
     private final Map<OrderCategory, KitchenStation> stations = new HashMap<>();
     private final HotBeverageStation hotBeverage;
     private final ColdBeverageStation coldBeverage;
+    private final InventoryService inventoryService;
+    private final OrderTracker tracker;
     private final LoggerService logger;
+    private final StationPool pool;
+    private final List<KitchenStation> allStations;
+
+    // Menu category name (lower case) -> station; rebuilt into a per-item array on menu changes
+    private final Map<String, KitchenStation> stationsByMenuCategory = new HashMap<>();
+    private final Map<Integer, String> routeOverrides = new HashMap<>();
+    private List<MenuItem> routedMenu = List.of();
+    private volatile RoutingTable routingTable = RoutingTable.EMPTY;
 
     public KitchenRouterService(InventoryService inventoryService,
                                 BillingService billingService,
                                 OrderTracker tracker,
                                 LoggerService logger) {
+        this.inventoryService = inventoryService;
+        this.tracker = tracker;
         this.logger = logger;
 
         GrillStation grill = new GrillStation(inventoryService, billingService, tracker, logger, 2);
@@ -38,6 +62,15 @@ public class KitchenRouterService {
         stations.put(OrderCategory.GRILL, grill);
         stations.put(OrderCategory.DESSERT, dessert);
         stations.put(OrderCategory.BEVERAGE, hotBeverage);
+
+        stationsByMenuCategory.put("grill", grill);
+        stationsByMenuCategory.put("dessert", dessert);
+        stationsByMenuCategory.put("hotbeverage", hotBeverage);
+        stationsByMenuCategory.put("coldbeverage", coldBeverage);
+
+        // Worker counts above are each station's minimum; the pool scales them up under load
+        allStations = List.of(grill, dessert, hotBeverage, coldBeverage);
+        pool = new StationPool(List.of(grill, dessert, hotBeverage, coldBeverage), logger);
     }
 
     public void startAllStations() {
@@ -52,6 +85,112 @@ public class KitchenRouterService {
         coldBeverage.stop();
     }
 
+    public void setPrepTimeEnabled(boolean enabled) {
+        stations.values().forEach(s -> s.setPrepTimeEnabled(enabled));
+        coldBeverage.setPrepTimeEnabled(enabled);
+    }
+
+    public void setExecutionMode(ExecutionMode mode) {
+        stations.values().forEach(s -> s.setExecutionMode(mode));
+        coldBeverage.setExecutionMode(mode);
+    }
+
+    public void setBatchSettings(BatchSettings settings) {
+        stations.values().forEach(s -> s.setBatchSettings(settings));
+        coldBeverage.setBatchSettings(settings);
+    }
+
+    public void setDispatchPolicy(DispatchPolicy policy) {
+        stations.values().forEach(s -> s.setDispatchPolicy(policy));
+        coldBeverage.setDispatchPolicy(policy);
+    }
+
+    // ----------------------------
+    //  ROUTING TABLE
+    // ----------------------------
+
+    /**
+     * Recomputes the id -> station table from {@code menu} and swaps it in.
+     * Called whenever the menu is loaded or changed.
+     */
+    public synchronized void rebuildRoutes(List<MenuItem> menu) {
+        routedMenu = List.copyOf(menu);
+
+        int maxId = -1;
+        for (MenuItem m : routedMenu) maxId = Math.max(maxId, m.getId());
+
+        KitchenStation[] table = new KitchenStation[maxId + 1];
+        OrderCategory[] categories = new OrderCategory[maxId + 1];
+        for (MenuItem m : routedMenu) {
+            if (m.getId() < 0) continue;
+            KitchenStation station = resolveStation(m);
+            table[m.getId()] = station;
+            categories[m.getId()] = categoryOf(station);
+        }
+
+        routingTable = new RoutingTable(table, categories);
+        logger.log("[ROUTER] Routing table rebuilt for " + routedMenu.size() + " menu items");
+    }
+
+    /**
+     * Pins a menu item to a station regardless of its category. {@code menuCategory}
+     * uses the menu's names (Grill, Dessert, HotBeverage, ColdBeverage); null clears it.
+     */
+    public synchronized void setRouteOverride(int menuItemId, String menuCategory) {
+        if (menuCategory == null) routeOverrides.remove(menuItemId);
+        else routeOverrides.put(menuItemId, menuCategory);
+        rebuildRoutes(routedMenu);
+    }
+
+    // Override, then the item's menu category, then the legacy name rules
+    private KitchenStation resolveStation(MenuItem item) {
+        String override = routeOverrides.get(item.getId());
+        if (override != null) {
+            KitchenStation s = stationsByMenuCategory.get(normalize(override));
+            if (s != null) return s;
+        }
+        if (item.getCategory() != null) {
+            KitchenStation s = stationsByMenuCategory.get(normalize(item.getCategory()));
+            if (s != null) return s;
+        }
+        return stationByName(item, categoryFor(item));
+    }
+
+    private static String normalize(String category) {
+        return category.toLowerCase().replace(" ", "").replace("_", "");
+    }
+
+    private OrderCategory categoryOf(KitchenStation station) {
+        if (station == hotBeverage || station == coldBeverage) return OrderCategory.BEVERAGE;
+        for (Map.Entry<OrderCategory, KitchenStation> e : stations.entrySet()) {
+            if (e.getValue() == station) return e.getKey();
+        }
+        return OrderCategory.UNKNOWN;
+    }
+
+    /** The station an item is routed to, without touching any order. */
+    public KitchenStation stationFor(MenuItem item) {
+        KitchenStation station = routingTable.stationFor(item.getId());
+        return station != null ? station : stationByName(item, categoryFor(item));
+    }
+
+    /** Expected cook time at the station the order will be routed to. */
+    @Override
+    public long expectedCookNanos(Order order) {
+        return stationFor(order).expectedCookNanos(order);
+    }
+
+    /** The category the order will be routed under, without routing it. */
+    @Override
+    public OrderCategory categoryOf(Order order) {
+        RoutingTable table = routingTable;
+        int id = order.getItem().getId();
+        if (table.stationFor(id) != null) return table.categoryFor(id);
+
+        OrderCategory cat = order.getCategory();
+        return cat == null || cat == OrderCategory.UNKNOWN ? categoryFor(order.getItem()) : cat;
+    }
+
     public OrderCategory categoryFor(MenuItem item) {
         String n = item.getName().toLowerCase();
         if (n.contains("pizza") || n.contains("burger") || n.contains("pasta") || n.contains("tikka") || n.contains("fish"))
@@ -70,25 +209,85 @@ public class KitchenRouterService {
     }
 
     public void route(Order order) {
+        KitchenStation station = stationFor(order);
+        logger.log(LogEvent.ORDER_ROUTED, order.getOrderId(), station.getName());
+        station.acceptOrder(order);
+    }
+
+    /** Routes a dispatcher batch, handing each station its share in one call. */
+    public void routeBatch(List<Order> orders) {
+        Map<KitchenStation, List<Order>> byStation = new IdentityHashMap<>();
+        for (Order o : orders) {
+            byStation.computeIfAbsent(stationFor(o), s -> new ArrayList<>()).add(o);
+        }
+        byStation.forEach(KitchenStation::acceptBatch);
+    }
+
+    /**
+     * Reserves the whole ticket in one inventory pass, accepts every part and
+     * fires them to their stations together. A shortfall on any ingredient
+     * rejects all parts.
+     */
+    public void routeTicket(Ticket ticket) {
+        List<Order> parts = ticket.getParts();
+        if (!inventoryService.reserveTicket(ticket)) {
+            for (Order o : parts) {
+                o.setStatus(OrderStatus.REJECTED);
+                tracker.notifyUpdate(o);
+            }
+            logger.log(LogEvent.TICKET_REJECTED, ticket.getTicketId());
+            return;
+        }
+        for (Order o : parts) {
+            o.setStatus(OrderStatus.ACCEPTED);
+            tracker.notifyUpdate(o);
+        }
+        routeBatch(parts);
+    }
+
+    private KitchenStation stationFor(Order order) {
+        RoutingTable table = routingTable;
+        int id = order.getItem().getId();
+        KitchenStation station = table.stationFor(id);
+        if (station != null) {
+            order.setCategory(table.categoryFor(id));
+            return station;
+        }
+
+        // Item not on the routed menu (e.g. restored from the journal): fall back to name rules
         OrderCategory cat = order.getCategory();
         if (cat == null || cat == OrderCategory.UNKNOWN) {
             cat = categoryFor(order.getItem());
             order.setCategory(cat);
         }
+        return stationByName(order.getItem(), cat);
+    }
 
+    private KitchenStation stationByName(MenuItem item, OrderCategory cat) {
         KitchenStation station = stations.getOrDefault(cat, stations.get(OrderCategory.GRILL));
 
         if (cat == OrderCategory.BEVERAGE) {
-            String n = order.getItem().getName().toLowerCase();
+            String n = item.getName().toLowerCase();
 
             if (n.contains("iced") || n.contains("smoothie") || n.contains("lemonade") || n.contains("juice") || n.contains("cold"))
                 station = coldBeverage;
             else
                 station = hotBeverage;
         }
+        return station;
+    }
 
-        logger.log("[ROUTER] Routed Order#" + order.getOrderId() + " -> " + station.getName());
-        station.acceptOrder(order);
+    public StationPool getStationPool() {
+        return pool;
+    }
+
+    public List<StationStats> getStationStats() {
+        return pool.getStats();
+    }
+
+    /** Every station, including the cold-beverage one not keyed by category. */
+    public List<KitchenStation> getAllStations() {
+        return allStations;
     }
 
     public Map<OrderCategory, KitchenStation> getStations() {
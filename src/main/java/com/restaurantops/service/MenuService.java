@@ -8,6 +8,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +20,7 @@ public class MenuService {
     private final List<MenuItem> items = new ArrayList<>();
     private final RecipeService recipeService;
     private final Map<String, Recipe> defaultRecipes = new HashMap<>();
+    private final List<Consumer<List<MenuItem>>> changeListeners = new CopyOnWriteArrayList<>();
 
     public MenuService(RecipeService recipeService) {
         this.recipeService = recipeService;
@@ -150,6 +153,24 @@ public class MenuService {
         return recipeService.getRecipeForDish(name);
     }
 
+    // --------------------
+    // CHANGE LISTENERS
+    // --------------------
+
+    /**
+     * Registers a listener that receives the full menu after every add, edit
+     * or remove. Listeners run under the menu lock, so they see changes in order.
+     */
+    public void addChangeListener(Consumer<List<MenuItem>> listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged() {
+        if (changeListeners.isEmpty()) return;
+        List<MenuItem> snapshot = List.copyOf(items);
+        for (Consumer<List<MenuItem>> l : changeListeners) l.accept(snapshot);
+    }
+
     // --------------------
     // CRUD
     // --------------------
@@ -166,6 +187,7 @@ public class MenuService {
         // ensure no duplicate id
         if (getById(item.getId()) != null) return false;
         items.add(item);
+        fireChanged();
         return true;
     }
 
@@ -174,6 +196,7 @@ public class MenuService {
         for (int i = 0; i < items.size(); i++) {
             if (items.get(i).getId() == updated.getId()) {
                 items.set(i, updated);
+                fireChanged();
                 return true;
             }
         }
@@ -181,6 +204,8 @@ public class MenuService {
     }
 
     public synchronized boolean removeMenuItem(int id) {
-        return items.removeIf(m -> m.getId() == id);
+        boolean removed = items.removeIf(m -> m.getId() == id);
+        if (removed) fireChanged();
+        return removed;
     }
 }
@@ -1,28 +1,41 @@
 package com.restaurantops.service;
 
 import com.restaurantops.core.RestaurantEngine;
+import com.restaurantops.history.ArchivedOrder;
+import com.restaurantops.history.HistoryQuery;
+import com.restaurantops.history.OrderArchive;
+import com.restaurantops.journal.Journal;
+import com.restaurantops.model.MenuItem;
 import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.model.Ticket;
 import com.restaurantops.model.Waiter;
+import com.restaurantops.util.LogEvent;
 import com.restaurantops.util.LoggerService;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.stream.Stream;
 
 public class OrderService {
 
-    private final PriorityBlockingQueue<Order> orderQueue;
-    private final List<Order> allOrders = Collections.synchronizedList(new ArrayList<>());
+    private final BlockingQueue<Order> orderQueue;
+    private final OrderStore store;
     private final LoggerService logger;
 
     private TableService tableService;
     private WaiterService waiterService;
+    private KitchenRouterService routerService;
+    private AdmissionController admission;
+    private Journal journal;
 
-    public OrderService(PriorityBlockingQueue<Order> orderQueue,
+    public OrderService(BlockingQueue<Order> orderQueue,
                         LoggerService logger) {
         this.orderQueue = orderQueue;
         this.logger = logger;
+        this.store = new OrderStore(OrderArchive.fromSystemProperties(logger));
     }
 
     public void setTableService(TableService tableService) {
@@ -33,24 +46,145 @@ public class OrderService {
         this.waiterService = waiterService;
     }
 
-    public void placeOrder(Order order) {
+    public void setRouterService(KitchenRouterService routerService) {
+        this.routerService = routerService;
+    }
+
+    public void setAdmissionController(AdmissionController admission) {
+        this.admission = admission;
+    }
+
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /** The outcome placing this item would get right now, without placing it. */
+    public Admission quote(MenuItem item, int quantity) {
+        if (admission == null) return Admission.accepted(0);
+        return admission.evaluate(item, quantity);
+    }
+
+    /**
+     * Places a single order unless admission control turns it away. A
+     * rejected order is marked REJECTED and never enters the kitchen.
+     */
+    public Admission placeOrder(Order order) {
+        Admission decision = admission == null ? Admission.accepted(0) : admission.evaluate(order);
+        if (!decision.isAccepted()) {
+            order.setStatus(OrderStatus.REJECTED);
+            logger.log(LogEvent.ORDER_THROTTLED, order.getOrderId(), decision.reason());
+            return decision;
+        }
+
         try {
-            allOrders.add(order);
+            store.add(order);
+            // Journal before queueing so the placement precedes any status change
+            if (journal != null) journal.orderPlaced(order);
             orderQueue.put(order);
-            logger.log("[ORDER] Placed Order#" + order.getOrderId());
+            logger.log(LogEvent.ORDER_PLACED, order.getOrderId());
             RestaurantEngine.getInstance().notifyNewOrder(order);
-            if (tableService != null && waiterService != null) {
-                tableService.getTable(order.getTableNumber()).ifPresent(t -> t.getAssignedWaiter().ifPresent(w -> {
-                    waiterService.updateLoad(w.getWaiterId(), order.getQuantity());
-                    waiterService.rebalanceWaiters();
-                }));
-            }
+            updateWaiterLoad(order.getTableNumber(), order.getQuantity());
         } catch (Exception e) {
             logger.log("[ORDER] ERROR placing order: " + e.getMessage());
         }
+        return decision;
+    }
+
+    /**
+     * Places a multi-item ticket as one unit. Each part is stored and
+     * journaled like a single order, but the ticket skips the dispatch
+     * queue: the router reserves all of it in one pass and fires the parts
+     * to their stations together. Without a router the parts are queued
+     * individually and reserved one by one.
+     */
+    public Admission placeTicket(Ticket ticket) {
+        List<Order> parts = ticket.seal();
+        Admission decision = admission == null ? Admission.accepted(0) : admission.evaluate(parts);
+        if (!decision.isAccepted()) {
+            for (Order o : parts) o.setStatus(OrderStatus.REJECTED);
+            logger.log(LogEvent.ORDER_THROTTLED, ticket.getTicketId(), decision.reason());
+            return decision;
+        }
+
+        try {
+            for (Order o : parts) {
+                store.add(o);
+                if (journal != null) journal.orderPlaced(o);
+            }
+            if (journal != null) journal.ticketPlaced(ticket);
+            logger.log(LogEvent.TICKET_PLACED, ticket.getTicketId(), parts.size());
+
+            if (routerService != null) {
+                routerService.routeTicket(ticket);
+            } else {
+                for (Order o : parts) orderQueue.put(o);
+            }
+            RestaurantEngine.getInstance().notifyNewOrder(parts.get(0));
+            updateWaiterLoad(ticket.getTableNumber(), ticket.getTotalQuantity());
+        } catch (Exception e) {
+            logger.log("[ORDER] ERROR placing ticket: " + e.getMessage());
+        }
+        return decision;
+    }
+
+    private void updateWaiterLoad(int tableNumber, int quantity) {
+        if (tableService == null || waiterService == null) return;
+        tableService.getTable(tableNumber).ifPresent(t -> t.getAssignedWaiter().ifPresent(w -> {
+            waiterService.updateLoad(w.getWaiterId(), quantity);
+            waiterService.rebalanceWaiters();
+        }));
+    }
+
+    /**
+     * Re-adds an order recovered from the journal. Orders that hadn't
+     * finished go back on the dispatch queue to be cooked again.
+     */
+    public void restoreOrder(Order order) {
+        store.add(order);
+        if (OrderStore.isActive(order.getStatus())) orderQueue.offer(order);
+    }
+
+    /** Orders still being worked on, ordered by id. */
+    public List<Order> getActiveOrders() {
+        return store.active();
+    }
+
+    /** Completed and rejected orders matching the query, streamed from the archive. */
+    public Stream<ArchivedOrder> history(HistoryQuery query) {
+        return store.archive().stream(query);
+    }
+
+    /** Loads history persisted by {@link OrderArchive#persist} before any order is restored. */
+    public void loadArchive(Path file, OrderArchive.Mark mark) throws IOException {
+        store.loadArchive(file, mark);
+    }
+
+    public OrderArchive getArchive() {
+        return store.archive();
+    }
+
+    public Order getOrder(int orderId) {
+        return store.get(orderId);
+    }
+
+    public List<Order> getOrdersForTable(int tableNumber) {
+        return store.byTable(tableNumber);
+    }
+
+    /** The table's orders still being worked on; its finished ones are in {@link #getArchive()}. */
+    public List<Order> getActiveOrdersForTable(int tableNumber) {
+        return store.activeByTable(tableNumber);
+    }
+
+    public List<Order> getOrdersByStatus(OrderStatus... statuses) {
+        return store.byStatus(statuses);
+    }
+
+    public int getActiveOrderCount() {
+        return store.activeCount();
     }
 
-    public List<Order> getAllOrders() {
-        return allOrders;
+    public OrderStore getStore() {
+        return store;
     }
 }
@@ -0,0 +1,195 @@
+package com.restaurantops.service;
+
+import com.restaurantops.history.ArchivedOrder;
+import com.restaurantops.history.HistoryQuery;
+import com.restaurantops.history.OrderArchive;
+import com.restaurantops.model.Order;
+import com.restaurantops.model.OrderStatus;
+import com.restaurantops.tracking.OrderListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Indexed store of placed orders, in two tiers.
+ *
+ * - Active orders (not yet completed or rejected) are held as full Order
+ *   objects with O(1) lookup by id and indexes by table and by status
+ * - Once an order reaches a final status it is compacted into the
+ *   {@link OrderArchive} and dropped from the indexes; lookups fall back
+ *   to the archive and hand out detached copies
+ * - Active-order and per-status counts are maintained on every status
+ *   change and cover both tiers
+ *
+ * Status indexes are kept current by registering the store as a
+ * synchronous listener on the OrderTracker.
+ */
+public class OrderStore implements OrderListener {
+
+    private final Map<Integer, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableMap<Integer, Order>> byTable = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, NavigableMap<Integer, Order>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final AtomicIntegerArray statusCounts = new AtomicIntegerArray(OrderStatus.values().length);
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final OrderArchive archive;
+
+    public OrderStore() {
+        this(new OrderArchive());
+    }
+
+    public OrderStore(OrderArchive archive) {
+        this.archive = archive;
+        for (OrderStatus s : OrderStatus.values()) {
+            if (isActive(s)) byStatus.put(s, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    public static boolean isActive(OrderStatus status) {
+        return status != OrderStatus.COMPLETED && status != OrderStatus.REJECTED;
+    }
+
+    // ----------------------------
+    //  WRITES
+    // ----------------------------
+
+    /** Reads persisted history back into the (still empty) archive and counts it. */
+    public void loadArchive(Path file, OrderArchive.Mark mark) throws IOException {
+        archive.load(file, mark);
+        archive.stream().forEach(a -> statusCounts.incrementAndGet(a.status().ordinal()));
+    }
+
+    public void add(Order order) {
+        OrderStatus status = order.getStatus();
+        if (!isActive(status)) {
+            // Restored already finished: straight to the archive
+            if (!byId.containsKey(order.getOrderId()) && archive.append(order)) {
+                statusCounts.incrementAndGet(status.ordinal());
+            }
+            return;
+        }
+
+        Entry e = new Entry(order);
+
+        // Hold the entry so a status update can't be applied before it is indexed
+        synchronized (e) {
+            if (archive.contains(order.getOrderId())) return;
+            if (byId.putIfAbsent(order.getOrderId(), e) != null) return;
+            byStatus.get(e.indexedStatus).put(order.getOrderId(), order);
+            byTable.computeIfAbsent(order.getTableNumber(), t -> new ConcurrentSkipListMap<>())
+                    .put(order.getOrderId(), order);
+            statusCounts.incrementAndGet(e.indexedStatus.ordinal());
+            activeCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onOrderUpdated(Order order) {
+        Entry e = byId.get(order.getOrderId());
+        if (e == null) return;
+
+        synchronized (e) {
+            OrderStatus now = order.getStatus();
+            OrderStatus before = e.indexedStatus;
+            if (now == before || e.archived) return;
+
+            byStatus.get(before).remove(order.getOrderId());
+            statusCounts.decrementAndGet(before.ordinal());
+            statusCounts.incrementAndGet(now.ordinal());
+            e.indexedStatus = now;
+
+            if (isActive(now)) {
+                byStatus.get(now).put(order.getOrderId(), order);
+                return;
+            }
+
+            // Final status: compact into the archive, then drop the object
+            archive.append(order);
+            e.archived = true;
+            byId.remove(order.getOrderId(), e);
+            NavigableMap<Integer, Order> table = byTable.get(order.getTableNumber());
+            if (table != null) table.remove(order.getOrderId());
+            activeCount.decrementAndGet();
+        }
+    }
+
+    // ----------------------------
+    //  READS
+    // ----------------------------
+
+    /** The live order if it is active, otherwise a detached copy from the archive. */
+    public Order get(int orderId) {
+        Entry e = byId.get(orderId);
+        if (e != null) return e.order;
+        ArchivedOrder a = archive.get(orderId);
+        return a == null ? null : a.toOrder();
+    }
+
+    /** The table's orders, archived and active, ordered by id. Costs only that table's rows. */
+    public List<Order> byTable(int tableNumber) {
+        List<Order> out = new ArrayList<>();
+        archive.streamTable(tableNumber, 0).forEach(a -> out.add(a.toOrder()));
+        out.addAll(activeByTable(tableNumber));
+        out.sort((a, b) -> Integer.compare(a.getOrderId(), b.getOrderId()));
+        return out;
+    }
+
+    /** The table's orders not yet completed or rejected, ordered by id. */
+    public List<Order> activeByTable(int tableNumber) {
+        NavigableMap<Integer, Order> m = byTable.get(tableNumber);
+        return m == null ? List.of() : new ArrayList<>(m.values());
+    }
+
+    public List<Order> byStatus(OrderStatus... statuses) {
+        List<Order> out = new ArrayList<>();
+        for (OrderStatus s : statuses) {
+            if (isActive(s)) out.addAll(byStatus.get(s).values());
+            else archive.stream(HistoryQuery.all().status(s)).forEach(a -> out.add(a.toOrder()));
+        }
+        if (statuses.length > 1) out.sort((a, b) -> Integer.compare(a.getOrderId(), b.getOrderId()));
+        return out;
+    }
+
+    public int countByStatus(OrderStatus status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    public int activeCount() {
+        return activeCount.get();
+    }
+
+    public int size() {
+        return byId.size() + archive.size();
+    }
+
+    /** Orders not yet completed or rejected, ordered by id. */
+    public List<Order> active() {
+        List<Order> out = new ArrayList<>(byId.size());
+        for (Entry e : byId.values()) out.add(e.order);
+        out.sort((a, b) -> Integer.compare(a.getOrderId(), b.getOrderId()));
+        return out;
+    }
+
+    public OrderArchive archive() {
+        return archive;
+    }
+
+    private static final class Entry {
+        final Order order;
+        OrderStatus indexedStatus;
+        boolean archived;
+
+        Entry(Order order) {
+            this.order = order;
+            this.indexedStatus = order.getStatus();
+        }
+    }
+}
@@ -1,15 +1,45 @@
 package com.restaurantops.service;
 
+import com.restaurantops.journal.Journal;
 import com.restaurantops.model.Reservation;
+import com.restaurantops.tracking.DashboardMetrics;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Reservations indexed per table by start time. Bookings on one table never
+ * overlap, so their end times rise with their start times. To check a new
+ * booking, it is enough to look at the one booking with the latest start at
+ * or before the new end: an O(log n) lookup under that table's lock only.
+ * Expiry pops from a min-heap on end time instead of rescanning every
+ * booking. Cancelled bookings stay in the heap until their end passes and
+ * are skipped then.
+ */
 public class ReservationService {
 
     private final Map<Integer, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableMap<LocalDateTime, Reservation>> byTable = new ConcurrentHashMap<>();
+    private final PriorityQueue<Reservation> byEnd =
+            new PriorityQueue<>(Comparator.comparing(Reservation::getEnd));
+    private DashboardMetrics metrics;
+    private Journal journal;
+
+    public void setMetrics(DashboardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
 
     public Collection<Reservation> getAllReservations() {
         return reservations.values();
@@ -19,35 +49,82 @@ public class ReservationService {
         return reservations.get(reservationId);
     }
 
-    public synchronized Reservation reserveTable(int tableNumber,
-                                                 LocalDateTime start,
-                                                 LocalDateTime end) {
+    /** Bookings for one table, earliest first. */
+    public List<Reservation> getReservationsForTable(int tableNumber) {
+        NavigableMap<LocalDateTime, Reservation> bookings = byTable.get(tableNumber);
+        if (bookings == null) return List.of();
+        synchronized (bookings) {
+            return new ArrayList<>(bookings.values());
+        }
+    }
+
+    public Reservation reserveTable(int tableNumber,
+                                    LocalDateTime start,
+                                    LocalDateTime end) {
+
+        NavigableMap<LocalDateTime, Reservation> bookings = bookingsFor(tableNumber);
+        Reservation r;
+        synchronized (bookings) {
+            Map.Entry<LocalDateTime, Reservation> before = bookings.floorEntry(end);
+            if (before != null && before.getValue().overlaps(start, end)) return null;
 
-        for (Reservation r : reservations.values()) {
-            if (r.getTableNumber() == tableNumber &&
-                    r.overlaps(start, end)) {
-                return null;
-            }
+            r = new Reservation(tableNumber, start, end);
+            bookings.put(start, r);
+            reservations.put(r.getReservationId(), r);
         }
+        scheduleExpiry(r);
 
-        Reservation r = new Reservation(tableNumber, start, end);
-        reservations.put(r.getReservationId(), r);
+        if (metrics != null) metrics.onReservationAdded(r);
+        if (journal != null) journal.reservationAdded(r);
         return r;
     }
 
+    public void restoreReservation(Reservation r) {
+        NavigableMap<LocalDateTime, Reservation> bookings = bookingsFor(r.getTableNumber());
+        synchronized (bookings) {
+            if (reservations.putIfAbsent(r.getReservationId(), r) != null) return;
+            bookings.put(r.getStart(), r);
+        }
+        scheduleExpiry(r);
+        if (metrics != null) metrics.onReservationAdded(r);
+    }
+
     public Reservation getById(int id) {
         return reservations.get(id);
     }
 
+    /** Drops the booking from both indexes under its table's lock, as {@link #reserveTable} adds it. */
     public boolean cancel(int reservationId) {
-        reservations.remove(reservationId);
-        return false;
+        Reservation removed = reservations.get(reservationId);
+        if (removed == null) return false;
+
+        NavigableMap<LocalDateTime, Reservation> bookings = bookingsFor(removed.getTableNumber());
+        synchronized (bookings) {
+            if (!reservations.remove(reservationId, removed)) return false;
+            bookings.remove(removed.getStart(), removed);
+        }
+        if (metrics != null) metrics.onReservationRemoved(removed);
+        if (journal != null) journal.reservationRemoved(reservationId);
+        return true;
     }
 
+    /** Cancels every booking that has ended; only the expired ones are touched. */
+    public void clearPastReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> due = new ArrayList<>();
+        synchronized (byEnd) {
+            while (!byEnd.isEmpty() && byEnd.peek().getEnd().isBefore(now)) due.add(byEnd.poll());
+        }
+        for (Reservation r : due) cancel(r.getReservationId());
+    }
 
+    private NavigableMap<LocalDateTime, Reservation> bookingsFor(int tableNumber) {
+        return byTable.computeIfAbsent(tableNumber, t -> new TreeMap<>());
+    }
 
-    public synchronized void clearPastReservations() {
-        LocalDateTime now = LocalDateTime.now();
-        reservations.values().removeIf(r -> r.getEnd().isBefore(now));
+    private void scheduleExpiry(Reservation r) {
+        synchronized (byEnd) {
+            byEnd.add(r);
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.restaurantops.service;
+
+import com.restaurantops.kitchen.KitchenStation;
+import com.restaurantops.model.OrderCategory;
+
+/**
+ * Immutable menu-item-id to station lookup. Built once per menu change
+ * and swapped in whole, so routing an order is two array reads with no
+ * string work and no locking.
+ */
+final class RoutingTable {
+
+    static final RoutingTable EMPTY = new RoutingTable(new KitchenStation[0], new OrderCategory[0]);
+
+    private final KitchenStation[] stations;
+    private final OrderCategory[] categories;
+
+    RoutingTable(KitchenStation[] stations, OrderCategory[] categories) {
+        this.stations = stations;
+        this.categories = categories;
+    }
+
+    /** Station for the menu item, or null if the id isn't on the menu this table was built from. */
+    KitchenStation stationFor(int menuItemId) {
+        return menuItemId >= 0 && menuItemId < stations.length ? stations[menuItemId] : null;
+    }
+
+    OrderCategory categoryFor(int menuItemId) {
+        return menuItemId >= 0 && menuItemId < categories.length ? categories[menuItemId] : null;
+    }
+
+    int size() {
+        int n = 0;
+        for (KitchenStation s : stations) if (s != null) n++;
+        return n;
+    }
+}
@@ -3,22 +3,90 @@ package com.restaurantops.service;
 import com.restaurantops.model.SupplierOrder;
 import com.restaurantops.util.LoggerService;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.DelayQueue;
+import java.util.function.Consumer;
 
+/**
+ * Supplier orders in flight, delivered through a delay queue. An order may
+ * cover several ingredients. At most one order per ingredient is
+ * outstanding at a time; repeat requests while one is on the way are
+ * dropped.
+ */
 public class SupplierService {
 
+    private static final long MIN_LEAD_MILLIS = 2000;
+    private static final long LEAD_JITTER_MILLIS = 3000;
+
     private final DelayQueue<SupplierOrder> queue = new DelayQueue<>();
+    private final Map<String, SupplierOrder> inFlight = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> deliveryListeners = new CopyOnWriteArrayList<>();
     private final LoggerService logger;
 
     public SupplierService(LoggerService logger) {
         this.logger = logger;
     }
 
-    public void placeOrder(String ingredient, int quantity) {
-        long delay = 2000 + (long) (Math.random() * 3000);
-        SupplierOrder order = new SupplierOrder(ingredient, quantity, delay);
+    /** Notified with the ingredient after each delivery has been stocked. */
+    public void addDeliveryListener(Consumer<String> listener) {
+        deliveryListeners.add(listener);
+    }
+
+    /** @return false if an order for this ingredient is already on the way */
+    public boolean placeOrder(String ingredient, int quantity) {
+        return !placeOrder(Map.of(ingredient, quantity)).isEmpty();
+    }
+
+    /**
+     * Places one consolidated order for every line whose ingredient isn't
+     * already on order.
+     *
+     * @return the lines actually ordered, empty if none were
+     */
+    public Map<String, Integer> placeOrder(Map<String, Integer> lines) {
+        long delay = MIN_LEAD_MILLIS + (long) (Math.random() * LEAD_JITTER_MILLIS);
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        lines.forEach((ingredient, qty) -> {
+            if (qty > 0 && !inFlight.containsKey(ingredient)) accepted.put(ingredient, qty);
+        });
+        if (accepted.isEmpty()) return accepted;
+
+        SupplierOrder order = new SupplierOrder(accepted, delay);
+        // Claim each ingredient; lines another thread ordered first drop out
+        accepted.keySet().removeIf(ingredient -> inFlight.putIfAbsent(ingredient, order) != null);
+        if (accepted.size() < order.getLines().size()) {
+            order.getLines().keySet().forEach(ingredient -> inFlight.remove(ingredient, order));
+            return accepted.isEmpty() ? accepted : placeOrder(accepted);
+        }
+
         queue.put(order);
-        logger.log("[SUPPLIER] Order placed: " + quantity + " x " + ingredient + " (arrives in " + delay + "ms)");
+        logger.log("[SUPPLIER] Order placed: " + order + " (arrives in " + delay + "ms)");
+        return accepted;
+    }
+
+    public boolean isOnOrder(String ingredient) {
+        return inFlight.containsKey(ingredient);
+    }
+
+    /** Closes out a delivered order; called once its stock is on the shelf. */
+    public void completeDelivery(SupplierOrder order) {
+        for (String ingredient : order.getLines().keySet()) {
+            inFlight.remove(ingredient, order);
+            for (Consumer<String> l : deliveryListeners) l.accept(ingredient);
+        }
+    }
+
+    /** Longest time an order can take to arrive. */
+    public long getMaxLeadTimeMillis() {
+        return MIN_LEAD_MILLIS + LEAD_JITTER_MILLIS;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
     }
 
     public DelayQueue<SupplierOrder> getQueue() {
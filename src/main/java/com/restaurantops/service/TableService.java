@@ -1,18 +1,33 @@
 package com.restaurantops.service;
 
+import com.restaurantops.journal.Journal;
 import com.restaurantops.model.*;
+import com.restaurantops.tracking.DashboardMetrics;
 import com.restaurantops.util.LoggerService;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Tables, their seating and merging. Free tables are tracked in a
+ * {@link FreeTableIndex} updated from every state transition, so seating a
+ * party is a best-fit lookup rather than a scan, and claims are atomic
+ * without holding the service-wide monitor.
+ *
+ * Every path that seats or reserves a FREE table claims it from the index
+ * first and gives up if the claim fails, so a table another seating has
+ * claimed is never taken twice.
+ */
 public class TableService {
 
     private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+    private final FreeTableIndex freeTables = new FreeTableIndex();
     private final ReservationService reservationService;
     private final WaiterService waiterService;
     private final LoggerService logger;
+    private DashboardMetrics metrics;
+    private Journal journal;
 
     public TableService(ReservationService reservationService,
                         WaiterService waiterService,
@@ -22,13 +37,38 @@ public class TableService {
         this.logger = logger;
     }
 
+    public void setMetrics(DashboardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    private void onTableStateChanged(Table table, TableState from, TableState to) {
+        if (to == TableState.FREE) freeTables.add(table);
+        else if (from == TableState.FREE) freeTables.remove(table);
+        if (metrics != null) metrics.onTableStateChanged(from, to);
+        if (journal != null) journal.tableState(table, to);
+    }
+
     public synchronized boolean addTable(int tableNumber, int capacity) {
         if (tables.containsKey(tableNumber)) return false;
-        tables.put(tableNumber, new Table(tableNumber, capacity));
+        Table table = new Table(tableNumber, capacity);
+        table.setStateListener(this::onTableStateChanged);
+        tables.put(tableNumber, table);
+        freeTables.add(table);
+        if (journal != null) journal.tableState(table, TableState.FREE);
         logger.log("[TABLES] Added table " + tableNumber + " cap=" + capacity);
         return true;
     }
 
+    /** Re-creates a journaled table if needed and puts it back in its recorded state. */
+    public synchronized void restoreTable(int tableNumber, int capacity, TableState state) {
+        if (!tables.containsKey(tableNumber)) addTable(tableNumber, capacity);
+        tables.get(tableNumber).setState(state);
+    }
+
     public synchronized boolean addTable(int tableNumber) {
         return addTable(tableNumber, 4);
     }
@@ -36,7 +76,8 @@ public class TableService {
     public synchronized boolean removeTable(int tableNumber) {
         Table t = tables.get(tableNumber);
         if (t == null) return false;
-        if (t.getState() != TableState.FREE) return false;
+        // A free table a seating has already claimed is no longer in the index
+        if (t.getState() != TableState.FREE || !freeTables.remove(t)) return false;
         tables.remove(tableNumber);
         logger.log("[TABLES] Removed table " + tableNumber);
         return true;
@@ -50,57 +91,80 @@ public class TableService {
         return Collections.unmodifiableCollection(tables.values());
     }
 
+    /**
+     * Books a specific table. A free table is claimed and marked RESERVED;
+     * a table that is in use only gets the booking, so its state is left alone.
+     */
     public synchronized Reservation reserveTable(int tableNumber, String customerName, LocalDateTime start, LocalDateTime end) {
         Table t = tables.get(tableNumber);
         if (t == null) return null;
+        boolean claimed = claimIfFree(t);
+        if (!claimed && t.getState() == TableState.FREE) return null;
+
         Reservation r = reservationService.reserveTable(tableNumber, start, end);
-        if (r == null) return null;
-        t.setReservation(r);
+        if (r == null) {
+            if (claimed) unclaim(t);
+            return null;
+        }
+        if (claimed) t.setReservation(r);
         logger.log("[TABLES] Reserved table " + tableNumber);
         return r;
     }
 
-    public synchronized Reservation reserveTableForParty(int partySize, String customerName, LocalDateTime start, LocalDateTime end) {
-        int tableNumber = assignTableForPartySize(partySize);
-        if (tableNumber == -1) {
-            int mergedBase = mergeTablesForParty(partySize);
-            if (mergedBase == -1) return null;
-            tableNumber = mergedBase;
+    /**
+     * Reserves the best-fit free table, or failing that the fewest adjacent
+     * free tables merged under the lowest-numbered one. A table whose
+     * bookings clash with the slot stays claimed while the next candidate is
+     * tried, so it isn't offered again, and is put back at the end.
+     */
+    public Reservation reserveTableForParty(int partySize, String customerName, LocalDateTime start, LocalDateTime end) {
+        List<Table> rejected = new ArrayList<>();
+        try {
+            while (true) {
+                Table best = freeTables.claimBestFit(partySize);
+                List<Table> claimed = best != null ? List.of(best) : freeTables.claimAdjacent(partySize);
+                if (claimed.isEmpty()) return null;
+
+                int tableNumber = claimed.get(0).getTableNumber();
+                Reservation r = reservationService.reserveTable(tableNumber, start, end);
+                if (r == null) {
+                    rejected.addAll(claimed);
+                    continue;
+                }
+                if (claimed.size() > 1) mergeTables(claimed);
+                claimed.get(0).setReservation(r);
+                logger.log("[TABLES] Reserved table " + tableNumber + " for party size " + partySize);
+                return r;
+            }
+        } finally {
+            for (Table t : rejected) unclaim(t);
         }
-        Reservation r = reservationService.reserveTable(tableNumber, start, end);
-        if (r == null) return null;
-        Table t = tables.get(tableNumber);
-        if (t != null) t.setReservation(r);
-        logger.log("[TABLES] Reserved table " + tableNumber + " for party size " + partySize);
-        return r;
     }
 
-    public synchronized int assignTableForPartySize(int partySize) {
-        Optional<Table> best = tables.values().stream()
-                .filter(t -> t.getState() == TableState.FREE && !t.isMerged())
-                .sorted(Comparator.comparingInt(Table::getCapacity))
-                .filter(t -> t.getCapacity() >= partySize)
-                .findFirst();
-        return best.map(Table::getTableNumber).orElse(-1);
+    /** Smallest free table that seats the party, or -1. Doesn't claim it. */
+    public int assignTableForPartySize(int partySize) {
+        Table best = freeTables.bestFit(partySize);
+        return best == null ? -1 : best.getTableNumber();
     }
 
-    private synchronized int mergeTablesForParty(int partySize) {
-        List<Table> free = new ArrayList<>();
-        for (Table t : tables.values()) {
-            if (t.getState() == TableState.FREE && !t.isMerged()) free.add(t);
+    // Takes a FREE table out of the index; false if it isn't free or another seating holds it
+    private boolean claimIfFree(Table t) {
+        return t.getState() == TableState.FREE && freeTables.remove(t);
+    }
+
+    // Puts a claimed table back if nothing moved it out of FREE meanwhile
+    private void unclaim(Table t) {
+        synchronized (t) {
+            if (t.getState() == TableState.FREE && tables.get(t.getTableNumber()) == t) freeTables.add(t);
         }
-        free.sort(Comparator.comparingInt(Table::getCapacity));
-        int total = 0;
-        int base = -1;
+    }
+
+    // Tables are claimed and adjacent, lowest number first; that one becomes the base
+    private void mergeTables(List<Table> run) {
+        Table baseTable = run.get(0);
+        int base = baseTable.getTableNumber();
         Set<Integer> mergedIds = new TreeSet<>();
-        for (Table t : free) {
-            if (base == -1) base = t.getTableNumber();
-            mergedIds.add(t.getTableNumber());
-            total += t.getCapacity();
-            if (total >= partySize) break;
-        }
-        if (total < partySize || base == -1) return -1;
-        Table baseTable = tables.get(base);
+        for (Table t : run) mergedIds.add(t.getTableNumber());
         baseTable.addMergedTables(mergedIds);
         baseTable.setState(TableState.RESERVED);
         for (Integer id : mergedIds) {
@@ -112,7 +176,6 @@ public class TableService {
             }
         }
         logger.log("[TABLES] Merged tables " + mergedIds + " -> base " + base);
-        return base;
     }
 
     public synchronized boolean occupyReservedTable(int reservationId) {
@@ -122,6 +185,7 @@ public class TableService {
         Table table = tables.get(tableNumber);
         if (table == null) return false;
         if (table.getState() == TableState.OCCUPIED) return false;
+        if (table.getState() == TableState.FREE && !claimIfFree(table)) return false;
         table.markOccupiedNow();
         reservationService.cancel(reservationId);
         if (table.getAssignedWaiter().isEmpty()) {
@@ -136,24 +200,22 @@ public class TableService {
         return true;
     }
 
-    public synchronized Integer occupyAnyFreeTable() {
-        for (Table t : tables.values()) {
-            if (t.getState() == TableState.FREE && !t.isMerged()) {
-                t.markOccupiedNow();
-                int tableNumber = t.getTableNumber();
-                if (t.getAssignedWaiter().isEmpty()) {
-                    Waiter w = waiterService.assignNextAvailableWaiter();
-                    if (w != null) {
-                        t.assignWaiter(w);
-                        w.assignTable(tableNumber);
-                        waiterService.updateLoad(w.getWaiterId(), 1);
-                    }
-                }
-                logger.log("[TABLES] Occupied free table " + tableNumber);
-                return tableNumber;
+    /** Seats a walk-in at the smallest free table; null if none is free. */
+    public Integer occupyAnyFreeTable() {
+        Table t = freeTables.claimBestFit(1);
+        if (t == null) return null;
+        t.markOccupiedNow();
+        int tableNumber = t.getTableNumber();
+        if (t.getAssignedWaiter().isEmpty()) {
+            Waiter w = waiterService.assignNextAvailableWaiter();
+            if (w != null) {
+                t.assignWaiter(w);
+                w.assignTable(tableNumber);
+                waiterService.updateLoad(w.getWaiterId(), 1);
             }
         }
-        return null;
+        logger.log("[TABLES] Occupied free table " + tableNumber);
+        return tableNumber;
     }
 
     public synchronized boolean occupyTable(int tableNumber) {
@@ -165,6 +227,7 @@ public class TableService {
             Reservation r = res.get();
             if (now.isBefore(r.getStart()) || now.isAfter(r.getEnd())) return false;
         }
+        if (t.getState() == TableState.FREE && !claimIfFree(t)) return false;
         if (t.getAssignedWaiter().isEmpty()) {
             Waiter w = waiterService.findAvailableWaiter();
             if (w != null) {
@@ -235,6 +298,7 @@ public class TableService {
     }
 
     public List<Table> findTablesByState(TableState state) {
+        if (state == TableState.FREE) return freeTables.snapshot();
         List<Table> out = new ArrayList<>();
         for (Table t : tables.values()) {
             if (t.getState() == state) out.add(t);
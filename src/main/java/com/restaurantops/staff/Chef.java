@@ -1,8 +1,30 @@
 package com.restaurantops.staff;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class Chef extends Staff {
 
+    // Stations this chef can cover besides the one they're assigned to
+    private final Set<String> crossTrained = ConcurrentHashMap.newKeySet();
+
     public Chef(int staffId, String name) {
         super(staffId, name, "CHEF");
     }
+
+    public void crossTrain(String stationName) {
+        crossTrained.add(stationName);
+    }
+
+    public void removeCrossTraining(String stationName) {
+        crossTrained.remove(stationName);
+    }
+
+    public boolean isTrainedFor(String stationName) {
+        return crossTrained.contains(stationName);
+    }
+
+    public Set<String> getCrossTraining() {
+        return Set.copyOf(crossTrained);
+    }
 }
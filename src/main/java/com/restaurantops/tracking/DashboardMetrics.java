@@ -0,0 +1,111 @@
+package com.restaurantops.tracking;
+
+import com.restaurantops.model.Reservation;
+import com.restaurantops.model.TableState;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Running counters for the restaurant dashboard. Services push table,
+ * inventory, billing and reservation events in as they happen, so reading
+ * any figure is O(1) no matter how much data the day has produced.
+ * The active-order count is already maintained by the order store and is
+ * bound in rather than duplicated.
+ */
+public class DashboardMetrics {
+
+    private final AtomicInteger occupiedTables = new AtomicInteger();
+    private final AtomicInteger lowStockItems = new AtomicInteger();
+    private final DoubleAdder paidRevenue = new DoubleAdder();
+    private final LongAdder reordersPlaced = new LongAdder();
+    private final LongAdder reorderLatencyNanos = new LongAdder();
+    private final AtomicLong maxReorderLatencyNanos = new AtomicLong();
+    private final Map<LocalDate, AtomicInteger> reservationsByDay = new ConcurrentHashMap<>();
+    private volatile IntSupplier activeOrders = () -> 0;
+
+    public void bindActiveOrders(IntSupplier activeOrders) {
+        this.activeOrders = activeOrders;
+    }
+
+    // ----------------------------
+    //  EVENTS
+    // ----------------------------
+
+    public void onTableStateChanged(TableState from, TableState to) {
+        if (from == to) return;
+        if (from == TableState.OCCUPIED) occupiedTables.decrementAndGet();
+        if (to == TableState.OCCUPIED) occupiedTables.incrementAndGet();
+    }
+
+    public void onLowStockChanged(boolean nowLow) {
+        if (nowLow) lowStockItems.incrementAndGet();
+        else lowStockItems.decrementAndGet();
+    }
+
+    /** A supplier order was placed {@code latencyNanos} after its low-stock crossing. */
+    public void onReorderPlaced(long latencyNanos) {
+        reordersPlaced.increment();
+        reorderLatencyNanos.add(latencyNanos);
+        maxReorderLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    public void onBillPaid(double amount) {
+        paidRevenue.add(amount);
+    }
+
+    public void onReservationAdded(Reservation r) {
+        reservationsByDay.computeIfAbsent(r.getStart().toLocalDate(), d -> new AtomicInteger())
+                .incrementAndGet();
+    }
+
+    public void onReservationRemoved(Reservation r) {
+        AtomicInteger count = reservationsByDay.get(r.getStart().toLocalDate());
+        if (count != null) count.decrementAndGet();
+    }
+
+    // ----------------------------
+    //  READS
+    // ----------------------------
+
+    public int getActiveOrders() {
+        return activeOrders.getAsInt();
+    }
+
+    public int getOccupiedTables() {
+        return occupiedTables.get();
+    }
+
+    public int getLowStockItems() {
+        return lowStockItems.get();
+    }
+
+    public long getReordersPlaced() {
+        return reordersPlaced.sum();
+    }
+
+    public double getAvgReorderLatencyMillis() {
+        long n = reordersPlaced.sum();
+        return n == 0 ? 0 : reorderLatencyNanos.sum() / (double) n / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxReorderLatencyMillis() {
+        return maxReorderLatencyNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getPaidRevenue() {
+        return paidRevenue.sum();
+    }
+
+    public int getReservationsOn(LocalDate day) {
+        AtomicInteger count = reservationsByDay.get(day);
+        return count == null ? 0 : count.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.restaurantops.tracking;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivery statistics for one listener. Lag is measured from the moment an
+ * update was published to the moment the listener returned from handling
+ * the batch that contained it.
+ */
+public class ListenerMetrics {
+
+    private final String listenerName;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+
+    ListenerMetrics(String listenerName) {
+        this.listenerName = listenerName;
+    }
+
+    void recordBatch(int size, long oldestPublishedNanos, long finishedNanos) {
+        batches.incrementAndGet();
+        delivered.addAndGet(size);
+        long lag = finishedNanos - oldestPublishedNanos;
+        lastLagNanos = lag;
+        if (lag > maxLagNanos) maxLagNanos = lag;
+    }
+
+    void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    public String getListenerName() { return listenerName; }
+    public long getBatches() { return batches.get(); }
+    public long getDelivered() { return delivered.get(); }
+    public long getFailures() { return failures.get(); }
+    public long getLastLagMillis() { return TimeUnit.NANOSECONDS.toMillis(lastLagNanos); }
+    public long getMaxLagMillis() { return TimeUnit.NANOSECONDS.toMillis(maxLagNanos); }
+
+    @Override
+    public String toString() {
+        return listenerName +
+                " | batches=" + getBatches() +
+                " | delivered=" + getDelivered() +
+                " | lag=" + getLastLagMillis() + "ms" +
+                " | maxLag=" + getMaxLagMillis() + "ms" +
+                " | failures=" + getFailures();
+    }
+}
@@ -2,6 +2,19 @@ package com.restaurantops.tracking;
 
 import com.restaurantops.model.Order;
 
+import java.util.List;
+
 public interface OrderListener {
     void onOrderUpdated(Order order);
+
+    /**
+     * Batch delivery from the tracker's dispatcher. Each order appears at
+     * most once, carrying its latest status. Listeners that repaint whole
+     * views should override this and refresh once per batch.
+     */
+    default void onOrdersUpdated(List<Order> orders) {
+        for (Order o : orders) {
+            onOrderUpdated(o);
+        }
+    }
 }
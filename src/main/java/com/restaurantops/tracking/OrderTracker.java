@@ -2,24 +2,223 @@ package com.restaurantops.tracking;
 
 import com.restaurantops.model.Order;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
-public class OrderTracker {
+/**
+ * Asynchronous order event bus. Station workers publish into a bounded
+ * mailbox per listener and return immediately; each listener has its own
+ * delivery thread that drains its mailbox, coalesces updates per order so
+ * a listener that fell behind only sees each order's latest status, and
+ * hands it one batch per drain. A slow listener therefore only delays
+ * itself. If a mailbox is full, updates spill into that listener's
+ * per-order overflow map instead of blocking the publisher, so memory
+ * stays bounded by the number of distinct orders in flight and no final
+ * status is lost.
+ *
+ * Delivery threads run between {@link #start()} and {@link #close()};
+ * updates published while stopped wait in the mailboxes.
+ */
+public class OrderTracker implements AutoCloseable {
 
-    private final List<OrderListener> listeners = new CopyOnWriteArrayList<>();
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    private static final int MAX_BATCH = 512;
 
-    public void addListener(OrderListener l) {
-        listeners.add(l);
+    private final List<OrderListener> syncListeners = new CopyOnWriteArrayList<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final int queueCapacity;
+    private boolean running = false;
+
+    public OrderTracker() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public OrderTracker(int queueCapacity) {
+        this.queueCapacity = Math.max(1, queueCapacity);
     }
 
-    public void removeListener(OrderListener l) {
-        listeners.remove(l);
+    public synchronized void addListener(OrderListener l) {
+        Subscription s = new Subscription(l, queueCapacity);
+        subscriptions.add(s);
+        if (running) s.start();
+    }
+
+    public synchronized void removeListener(OrderListener l) {
+        for (Subscription s : subscriptions) {
+            if (s.listener == l) {
+                subscriptions.remove(s);
+                s.stop();
+            }
+        }
+        syncListeners.remove(l);
+    }
+
+    /**
+     * Registers a listener that runs on the publishing thread before the
+     * update is queued. Reserved for cheap in-memory bookkeeping such as
+     * order indexes; anything slower belongs in {@link #addListener}.
+     */
+    public void addSyncListener(OrderListener l) {
+        syncListeners.add(l);
+    }
+
+    /** Starts a delivery thread per listener; no-op if already running. */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        for (Subscription s : subscriptions) s.start();
+    }
+
+    /** Stops the delivery threads; pending updates stay queued until the next {@link #start()}. */
+    @Override
+    public synchronized void close() {
+        if (!running) return;
+        running = false;
+        for (Subscription s : subscriptions) s.stop();
     }
 
     public void notifyUpdate(Order order) {
-        for (OrderListener l : listeners) {
+        for (OrderListener l : syncListeners) {
             l.onOrderUpdated(order);
         }
+        if (subscriptions.isEmpty()) return;
+
+        Update u = new Update(order, System.nanoTime());
+        for (Subscription s : subscriptions) {
+            s.offer(u);
+        }
+    }
+
+    public List<ListenerMetrics> getListenerMetrics() {
+        List<ListenerMetrics> out = new ArrayList<>();
+        for (Subscription s : subscriptions) out.add(s.metrics);
+        return out;
+    }
+
+    /** Updates waiting in the fullest listener mailbox. */
+    public int pendingUpdates() {
+        int max = 0;
+        for (Subscription s : subscriptions) max = Math.max(max, s.pending());
+        return max;
+    }
+
+    private record Update(Order order, long publishedNanos) { }
+
+    // ----------------------------
+    //  DELIVERY
+    // ----------------------------
+
+    private static final class Subscription implements Runnable {
+        final OrderListener listener;
+        final ListenerMetrics metrics;
+        private final BlockingQueue<Update> queue;
+        private final Map<Integer, Update> overflow = new ConcurrentHashMap<>();
+        private Thread worker;
+        // Set by stop() until the worker has exited; a timed-out stop keeps the old worker
+        private volatile boolean stopping;
+
+        Subscription(OrderListener listener, int queueCapacity) {
+            this.listener = listener;
+            this.metrics = new ListenerMetrics(listener.getClass().getName());
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void offer(Update u) {
+            if (!queue.offer(u)) {
+                overflow.merge(u.order.getOrderId(), u, (older, newer) -> older);
+            }
+        }
+
+        int pending() {
+            return queue.size() + overflow.size();
+        }
+
+        synchronized void start() {
+            if (worker != null && !stopping) return;
+            if (worker != null) {
+                // A stop timed out mid-callback; wait for it so two threads never deliver
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            stopping = false;
+            worker = new Thread(this, "OrderTracker-" + metrics.getListenerName());
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        synchronized void stop() {
+            if (worker == null) return;
+            stopping = true;
+            worker.interrupt();
+            try {
+                // Let an in-progress batch finish
+                worker.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!worker.isAlive()) worker = null;
+        }
+
+        @Override
+        public void run() {
+            List<Update> drained = new ArrayList<>(MAX_BATCH);
+            Map<Integer, Update> coalesced = new LinkedHashMap<>();
+
+            try {
+                while (!stopping && !Thread.currentThread().isInterrupted()) {
+                    Update first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first != null) {
+                        drained.add(first);
+                        queue.drainTo(drained, MAX_BATCH - 1);
+                    }
+                    if (drained.isEmpty() && overflow.isEmpty()) continue;
+
+                    // Keep the first publish time per order so lag reflects the oldest wait
+                    for (Update u : drained) {
+                        coalesced.putIfAbsent(u.order.getOrderId(), u);
+                    }
+                    if (!overflow.isEmpty()) {
+                        for (Integer id : overflow.keySet()) {
+                            Update u = overflow.remove(id);
+                            if (u != null) coalesced.merge(id, u, (a, b) -> a.publishedNanos <= b.publishedNanos ? a : b);
+                        }
+                    }
+
+                    deliver(coalesced);
+
+                    drained.clear();
+                    coalesced.clear();
+                }
+            } catch (InterruptedException ignored) {
+                // Delivery stopped
+            }
+        }
+
+        private void deliver(Map<Integer, Update> coalesced) {
+            List<Order> batch = new ArrayList<>(coalesced.size());
+            long oldest = Long.MAX_VALUE;
+            for (Update u : coalesced.values()) {
+                batch.add(u.order);
+                if (u.publishedNanos < oldest) oldest = u.publishedNanos;
+            }
+
+            try {
+                listener.onOrdersUpdated(List.copyOf(batch));
+            } catch (RuntimeException e) {
+                metrics.recordFailure();
+            }
+            metrics.recordBatch(batch.size(), oldest, System.nanoTime());
+        }
     }
 }
@@ -0,0 +1,18 @@
+package com.restaurantops.util;
+
+public enum LogCategory {
+    ENGINE,
+    ORDER,
+    DISPATCH,
+    ROUTER,
+    STATION,
+    CHEF,
+    INVENTORY,
+    SUPPLIER,
+    DELIVERY,
+    BILLING,
+    TABLES,
+    STAFF,
+    JOURNAL,
+    OTHER
+}
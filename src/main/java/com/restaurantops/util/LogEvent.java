@@ -0,0 +1,181 @@
+package com.restaurantops.util;
+
+/**
+ * Structured hot-path log events. Producers record only the event, the
+ * order id and a few primitive/constant arguments; the text is rendered
+ * when the log is read.
+ */
+public enum LogEvent {
+
+    /** Free-text message; the label holds the whole text. */
+    MESSAGE(LogCategory.OTHER) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append(label);
+        }
+    },
+
+    ORDER_PLACED(LogCategory.ORDER) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[ORDER] Placed Order#").append(orderId);
+        }
+    },
+
+    /** orderId = order or ticket id, label = reason */
+    ORDER_THROTTLED(LogCategory.ORDER) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[ORDER] Turned away #").append(orderId).append(": ").append(label);
+        }
+    },
+
+    ORDER_DISPATCHED(LogCategory.DISPATCH) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[DISPATCH] Order#").append(orderId).append(" dispatched");
+        }
+    },
+
+    /** label = station name */
+    ORDER_ROUTED(LogCategory.ROUTER) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[ROUTER] Routed Order#").append(orderId).append(" -> ").append(label);
+        }
+    },
+
+    /** orderId = first order in the batch, arg = batch size */
+    BATCH_DISPATCHED(LogCategory.DISPATCH) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[DISPATCH] Batch of ").append(arg).append(" from Order#").append(orderId).append(" dispatched");
+        }
+    },
+
+    /** orderId = first order in the batch, label = station name, detail = chef name, arg = batch size */
+    STATION_BATCH_ACCEPTED(LogCategory.STATION) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append('[').append(label).append("][").append(detail).append("] Accepted ").append(arg)
+                    .append(" orders from Order#").append(orderId);
+        }
+    },
+
+    /** label = station name, detail = chef name */
+    STATION_ACCEPTED(LogCategory.STATION) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append('[').append(label).append("][").append(detail).append("] Accepted Order#").append(orderId);
+        }
+    },
+
+    /** label = station name */
+    STATION_REJECTED(LogCategory.STATION) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append('[').append(label).append("] Rejected Order#").append(orderId);
+        }
+    },
+
+    /** label = station name */
+    STATION_COMPLETED(LogCategory.STATION) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append('[').append(label).append("] Completed Order#").append(orderId);
+        }
+    },
+
+    /** orderId = ticket id, arg = number of items */
+    TICKET_PLACED(LogCategory.ORDER) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[ORDER] Placed Ticket#").append(orderId).append(" with ").append(arg).append(" items");
+        }
+    },
+
+    /** orderId = ticket id */
+    TICKET_REJECTED(LogCategory.ROUTER) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[ROUTER] Rejected Ticket#").append(orderId).append(": not enough stock");
+        }
+    },
+
+    /** orderId = ticket id, label = station that finished the last item */
+    TICKET_COMPLETED(LogCategory.STATION) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append('[').append(label).append("] Completed Ticket#").append(orderId);
+        }
+    },
+
+    /** arg = table number */
+    ORDER_BILLED(LogCategory.BILLING) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[BILLING] Added Order#").append(orderId).append(" to table ").append(arg);
+        }
+    },
+
+    /** orderId = table number, arg = orders billed together */
+    ORDERS_BILLED(LogCategory.BILLING) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[BILLING] Added ").append(arg).append(" orders to table ").append(orderId);
+        }
+    },
+
+    /** orderId = ticket id, arg = table number */
+    TICKET_BILLED(LogCategory.BILLING) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[BILLING] Added Ticket#").append(orderId).append(" to table ").append(arg);
+        }
+    },
+
+    /** label = ingredient, detail = dish (may be null), arg = quantity */
+    INGREDIENT_RESERVED(LogCategory.INVENTORY) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[INVENTORY] Reserved ").append(arg).append(" x ").append(label);
+            if (detail != null) sb.append(" for ").append(detail);
+        }
+    },
+
+    /** label = ingredient */
+    INGREDIENT_MISSING(LogCategory.INVENTORY) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[INVENTORY] Missing ingredient: ").append(label);
+        }
+    },
+
+    /** label = ingredient */
+    INGREDIENT_EXPIRED(LogCategory.INVENTORY) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[INVENTORY] Ingredient expired: ").append(label);
+        }
+    },
+
+    /** label = ingredient, detail = dish */
+    INGREDIENT_SHORT(LogCategory.INVENTORY) {
+        @Override
+        void format(StringBuilder sb, int orderId, String label, String detail, long arg) {
+            sb.append("[INVENTORY] Not enough ").append(label).append(" for ").append(detail);
+        }
+    };
+
+    private final LogCategory category;
+
+    LogEvent(LogCategory category) {
+        this.category = category;
+    }
+
+    public LogCategory getCategory() {
+        return category;
+    }
+
+    abstract void format(StringBuilder sb, int orderId, String label, String detail, long arg);
+}
@@ -1,30 +1,202 @@
 package com.restaurantops.util;
 
-import java.time.LocalDateTime;
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Bounded, lock-free log. Producers claim a sequence number and fill a
+ * preallocated slot with primitives and constant references; nothing is
+ * formatted or allocated until {@link #getLogs()} or {@link #logsSince}
+ * reads the buffer. Once the ring is full the oldest entries are
+ * overwritten and counted as dropped. Readers that poll keep the sequence
+ * returned by {@code logsSince} and only ever format new entries.
+ *
+ * Capacity defaults to {@value #DEFAULT_CAPACITY} entries and can be set
+ * with the {@code restaurantops.log.capacity} system property.
+ */
 public class LoggerService {
 
-    private final List<String> logs = new LinkedList<>();
-    private final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("HH:mm:ss");
+    public static final int DEFAULT_CAPACITY = 8192;
 
-    public synchronized void log(String msg) {
-        String entry = "[" + LocalDateTime.now().format(fmt) + "] " + msg;
+    private static final long WRITING = -1L;
 
-        // PREVIOUS (incorrect): newest first
-        // logs.add(0, entry);
+    private static final Map<String, LogCategory> TAGS = new HashMap<>();
+    static {
+        for (LogCategory c : LogCategory.values()) TAGS.put(c.name(), c);
+        TAGS.put("ASSIGN", LogCategory.STAFF);
+        TAGS.put("WAITERS", LogCategory.STAFF);
+        TAGS.put("IDLE", LogCategory.ENGINE);
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long clearedUpTo = 0;
+
+    private final DateTimeFormatter fmt =
+            DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
 
-        // FIXED: append to bottom (normal order)
-        logs.add(entry);
+    public LoggerService() {
+        this(Integer.getInteger("restaurantops.log.capacity", DEFAULT_CAPACITY));
     }
 
-    public synchronized List<String> getLogs() {
-        return new LinkedList<>(logs);
+    public LoggerService(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new Slot[size];
+        for (int i = 0; i < size; i++) slots[i] = new Slot();
+        mask = size - 1;
+    }
+
+    // ----------------------------
+    //  PRODUCERS
+    // ----------------------------
+
+    public void log(String msg) {
+        record(LogEvent.MESSAGE, 0, msg, null, 0);
+    }
+
+    public void log(LogEvent event, int orderId) {
+        record(event, orderId, null, null, 0);
+    }
+
+    public void log(LogEvent event, int orderId, String label) {
+        record(event, orderId, label, null, 0);
+    }
+
+    public void log(LogEvent event, int orderId, String label, String detail) {
+        record(event, orderId, label, detail, 0);
+    }
+
+    public void log(LogEvent event, int orderId, long arg) {
+        record(event, orderId, null, null, arg);
+    }
+
+    public void log(LogEvent event, int orderId, String label, String detail, long arg) {
+        record(event, orderId, label, detail, arg);
+    }
+
+    public void log(LogEvent event, String label, String detail, long arg) {
+        record(event, 0, label, detail, arg);
+    }
+
+    private void record(LogEvent event, int orderId, String label, String detail, long arg) {
+        long seq = cursor.getAndIncrement();
+        if (seq >= slots.length && seq - slots.length >= clearedUpTo) dropped.increment();
+
+        Slot s = slots[(int) (seq & mask)];
+        s.sequence = WRITING;
+        VarHandle.storeStoreFence();
+        s.timestamp = System.currentTimeMillis();
+        s.event = event;
+        s.orderId = orderId;
+        s.label = label;
+        s.detail = detail;
+        s.arg = arg;
+        s.sequence = seq;
     }
 
-    public synchronized void clear() {
-        logs.clear();
+    // ----------------------------
+    //  READERS
+    // ----------------------------
+
+    public List<String> getLogs() {
+        List<Entry> entries = logsSince(0).entries();
+        List<String> out = new ArrayList<>(entries.size());
+        for (Entry e : entries) out.add(e.text());
+        return out;
+    }
+
+    /**
+     * Entries from {@code sequence} on, oldest first. Pass the returned
+     * {@link Page#next()} to the following call to read only what was
+     * logged in between. Reading stops at an entry still being written, so
+     * nothing is skipped; entries overwritten or cleared before they could
+     * be read are counted in {@link Page#missed()}.
+     */
+    public Page logsSince(long sequence) {
+        long end = cursor.get();
+        long start = Math.max(sequence, Math.max(clearedUpTo, end - slots.length));
+
+        List<Entry> out = new ArrayList<>((int) Math.max(0, end - start));
+        StringBuilder sb = new StringBuilder(96);
+
+        long seq = start;
+        for (; seq < end; seq++) {
+            Slot s = slots[(int) (seq & mask)];
+            long found = s.sequence;
+            if (found != seq) {
+                // A slot still waiting on its writer ends the page; it'll be read next time
+                if (found < seq && cursor.get() - seq < slots.length) break;
+                continue;
+            }
+
+            long timestamp = s.timestamp;
+            LogEvent event = s.event;
+            int orderId = s.orderId;
+            String label = s.label;
+            String detail = s.detail;
+            long arg = s.arg;
+
+            VarHandle.loadLoadFence();
+            if (s.sequence != seq) continue; // overwritten while reading
+
+            sb.setLength(0);
+            sb.append('[');
+            fmt.formatTo(Instant.ofEpochMilli(timestamp), sb);
+            sb.append("] ");
+            event.format(sb, orderId, label, detail, arg);
+            out.add(new Entry(seq, timestamp, categoryOf(event, label), sb.toString()));
+        }
+        return new Page(out, seq, Math.max(0, start - sequence));
+    }
+
+    // Free-text messages carry their category as a "[TAG]" prefix; stations tag with their own name
+    private static LogCategory categoryOf(LogEvent event, String label) {
+        if (event != LogEvent.MESSAGE) return event.getCategory();
+        if (label == null || !label.startsWith("[")) return LogCategory.OTHER;
+        int close = label.indexOf(']');
+        if (close < 0) return LogCategory.OTHER;
+        String tag = label.substring(1, close);
+        LogCategory c = TAGS.get(tag);
+        if (c != null) return c;
+        return tag.endsWith("Station") ? LogCategory.STATION : LogCategory.OTHER;
+    }
+
+    public void clear() {
+        clearedUpTo = cursor.get();
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /** Entries overwritten before they were cleared. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** One rendered log line and its position in the log. */
+    public record Entry(long sequence, long timestamp, LogCategory category, String text) {}
+
+    /** Result of {@link #logsSince}: the entries, where to resume, and how many were lost. */
+    public record Page(List<Entry> entries, long next, long missed) {}
+
+    private static final class Slot {
+        volatile long sequence = WRITING;
+        long timestamp;
+        LogEvent event;
+        int orderId;
+        String label;
+        String detail;
+        long arg;
     }
 }
@@ -0,0 +1,36 @@
+package com.restaurantops.util;
+
+/**
+ * Millisecond clock refreshed by a daemon thread every {@value #TICK_MILLIS} ms.
+ * Hot paths that only need tick resolution, such as the expiry check made
+ * per ingredient per order, read a volatile field instead of the system clock.
+ */
+public final class TickClock {
+
+    public static final long TICK_MILLIS = 10;
+
+    private static volatile long now = System.currentTimeMillis();
+
+    static {
+        Thread ticker = new Thread(TickClock::tick, "Clock-Tick");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    private TickClock() {}
+
+    public static long millis() {
+        return now;
+    }
+
+    private static void tick() {
+        while (true) {
+            now = System.currentTimeMillis();
+            try {
+                Thread.sleep(TICK_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}